@@ -0,0 +1,57 @@
+package com.pakal.cloud.benchmark;
+
+import com.pakal.cloud.config.SharedSecurityConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import java.time.Duration;
+
+/**
+ * Autenticación HTTP Basic con los mismos beans de SharedSecurityConfig: BCrypt en cada petición
+ * (caché de credenciales desactivada), acierto en la caché y contraseña errónea, que nunca se cachea.
+ */
+@State(Scope.Benchmark)
+public class AuthenticationBenchmark {
+
+    private AuthenticationProvider bcrypt;
+    private AuthenticationProvider cached;
+
+    @Setup
+    public void setUp() {
+        SharedSecurityConfig config = new SharedSecurityConfig();
+        UserDetailsService users = config.userDetailsService();
+        bcrypt = config.authenticationProvider(users, new SimpleMeterRegistry(), false, Duration.ofMinutes(2), 1000);
+        cached = config.authenticationProvider(users, new SimpleMeterRegistry(), true, Duration.ofMinutes(2), 1000);
+        cached.authenticate(credentials("password"));
+    }
+
+    @Benchmark
+    public Authentication bcrypt() {
+        return bcrypt.authenticate(credentials("password"));
+    }
+
+    @Benchmark
+    public Authentication cachedCredentials() {
+        return cached.authenticate(credentials("password"));
+    }
+
+    @Benchmark
+    public Object wrongPassword() {
+        try {
+            return cached.authenticate(credentials("wrong"));
+        } catch (BadCredentialsException e) {
+            return e;
+        }
+    }
+
+    private static Authentication credentials(String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated("user", password);
+    }
+}
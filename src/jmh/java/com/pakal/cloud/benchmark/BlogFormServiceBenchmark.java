@@ -0,0 +1,114 @@
+package com.pakal.cloud.benchmark;
+
+import com.pakal.cloud.FormApiApplication;
+import com.pakal.cloud.dto.BlogFormDTO;
+import com.pakal.cloud.model.BlogForm;
+import com.pakal.cloud.service.BlogFormService;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * BlogFormService con su contexto de Spring (cachés, proxies, repositorios) sobre un MongoDB en
+ * memoria: mide el coste de la aplicación, no el de la red ni el de un mongod real.
+ * Con cache=off las cachés de Caffeine caducan al instante y cada lectura llega a MongoDB.
+ */
+@State(Scope.Benchmark)
+public class BlogFormServiceBenchmark {
+
+    private static final int SEEDED_FORMS = 1000;
+
+    @Param({"on", "off"})
+    public String cache;
+
+    private MongoServer mongo;
+    private ConfigurableApplicationContext context;
+    private BlogFormService service;
+    private final List<String> ids = new ArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void start() {
+        mongo = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = mongo.bind();
+        String ttl = "on".equals(cache) ? "60s" : "0s";
+        context = new SpringApplicationBuilder(FormApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.data.mongodb.uri=mongodb://" + address.getHostString() + ":" + address.getPort() + "/blog_form_benchmark",
+                        "--blog-form.indexes.ensure-on-startup=false",
+                        "--blog-form.search.backfill-on-startup=false",
+                        "--blog-form.stats.reconcile-on-startup=false",
+                        "--blog-form.cache.by-id.ttl=" + ttl,
+                        "--blog-form.cache.pages.ttl=" + ttl,
+                        "--logging.level.root=WARN");
+        service = context.getBean(BlogFormService.class);
+        for (int i = 0; i < SEEDED_FORMS; i++) {
+            ids.add(service.create(form("seed" + i)).getId());
+        }
+        // Con cache=on las lecturas por id se miden con la caché ya caliente
+        ids.forEach(service::findById);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+        mongo.shutdownNow();
+    }
+
+    @Benchmark
+    public BlogForm create() {
+        return service.create(form("bench" + sequence.incrementAndGet()));
+    }
+
+    @Benchmark
+    public BlogForm findById() {
+        return service.findById(randomId());
+    }
+
+    // Primera página del listado: la más repetida y la que entra en la caché de páginas
+    @Benchmark
+    public Page<BlogForm> findFirstPage() {
+        return service.findAll(0, 10, "createdAt", "DESC");
+    }
+
+    @Benchmark
+    public BlogForm update() {
+        BlogFormDTO dto = form("update" + sequence.incrementAndGet());
+        return service.update(randomId(), dto, null);
+    }
+
+    @Benchmark
+    public BlogForm patch() {
+        BlogFormDTO dto = new BlogFormDTO();
+        dto.setDescription("patched " + sequence.incrementAndGet());
+        return service.patch(randomId(), dto, null);
+    }
+
+    private String randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    private static BlogFormDTO form(String name) {
+        BlogFormDTO dto = new BlogFormDTO();
+        dto.setEmail(name + "@example.com");
+        dto.setFullName("Benchmark " + name);
+        dto.setDescription("JMH");
+        dto.setCountry("MX");
+        return dto;
+    }
+}
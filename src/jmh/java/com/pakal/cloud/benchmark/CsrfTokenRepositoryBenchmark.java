@@ -0,0 +1,72 @@
+package com.pakal.cloud.benchmark;
+
+import com.pakal.cloud.repository.CustomCsrfTokenRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.security.web.csrf.CsrfToken;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Almacén de tokens CSRF en memoria con varios hilos a la vez: emisión (que al llegar al límite
+ * descarta los más antiguos), validación y una mezcla de ambas como la de la API (una emisión por
+ * cada varias peticiones que validan).
+ */
+@State(Scope.Benchmark)
+public class CsrfTokenRepositoryBenchmark {
+
+    private static final int LIVE_TOKENS = 10_000;
+
+    private CustomCsrfTokenRepository repository;
+    private String[] tokens;
+
+    @Setup
+    public void setUp() {
+        repository = new CustomCsrfTokenRepository(Duration.ofMinutes(1), 100_000, Duration.ofSeconds(10));
+        tokens = new String[LIVE_TOKENS];
+        for (int i = 0; i < LIVE_TOKENS; i++) {
+            tokens[i] = repository.generateToken().getToken();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        repository.close();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public CsrfToken generate() {
+        return repository.generateToken();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public CsrfToken load() {
+        return repository.loadToken(randomToken());
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public CsrfToken mixedGenerate() {
+        return repository.generateToken();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public CsrfToken mixedLoad() {
+        return repository.loadToken(randomToken());
+    }
+
+    private String randomToken() {
+        return tokens[ThreadLocalRandom.current().nextInt(LIVE_TOKENS)];
+    }
+}
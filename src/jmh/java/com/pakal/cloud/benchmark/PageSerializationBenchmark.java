@@ -0,0 +1,54 @@
+package com.pakal.cloud.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pakal.cloud.model.BlogForm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Serialización JSON de una página del listado con la misma configuración de Jackson que usa Spring Boot
+@State(Scope.Benchmark)
+public class PageSerializationBenchmark {
+
+    @Param({"10", "100"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private Page<BlogForm> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<BlogForm> content = new ArrayList<>(size);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < size; i++) {
+            BlogForm form = new BlogForm();
+            form.setId(Integer.toHexString(0x10000000 + i) + "0000000000000000");
+            form.setEmail("user" + i + "@example.com");
+            form.setFullName("Benchmark User " + i);
+            form.setDescription("A description long enough to look like a real blog form entry " + i);
+            form.setCountry("MX");
+            form.setCreatedAt(now.minusMinutes(i));
+            form.setUpdatedAt(now.minusMinutes(i));
+            form.setVersion((long) i);
+            content.add(form);
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "createdAt")), 10_000);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,169 @@
+package com.pakal.cloud.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.pakal.cloud.FormApiApplication;
+import com.pakal.cloud.dto.BlogFormDTO;
+import com.pakal.cloud.service.BlogFormService;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Peticiones HTTP reales contra la aplicación (Tomcat, seguridad, caché) con el log apagado y con
+ * el detalle de dev (DEBUG de la aplicación y todas las peticiones) escrito en un fichero, directamente
+ * desde el hilo de la petición (sync) o a través de la cola asíncrona de logback-spring.xml (async).
+ */
+@State(Scope.Benchmark)
+public class RequestLoggingBenchmark {
+
+    private static final int SEEDED_FORMS = 200;
+    private static final Pattern CSRF_TOKEN = Pattern.compile("\"csrfToken\":\"([^\"]+)\"");
+
+    @Param({"off", "sync", "async"})
+    public String logging;
+
+    private MongoServer mongo;
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private String authorization;
+    private String csrfToken;
+    private final List<String> ids = new ArrayList<>();
+
+    @Setup
+    public void start() throws IOException, InterruptedException {
+        mongo = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = mongo.bind();
+        boolean enabled = !"off".equals(logging);
+        context = new SpringApplicationBuilder(FormApiApplication.class)
+                .run("--server.port=0",
+                        "--spring.data.mongodb.uri=mongodb://" + address.getHostString() + ":" + address.getPort() + "/blog_form_benchmark",
+                        "--blog-form.indexes.ensure-on-startup=false",
+                        "--blog-form.search.backfill-on-startup=false",
+                        "--blog-form.stats.reconcile-on-startup=false",
+                        "--blog-form.csrf.ttl=1h",
+                        "--blog-form.logging.requests.sample-rate=" + (enabled ? "1.0" : "0"),
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.pakal.cloud=" + (enabled ? "DEBUG" : "WARN"));
+        if (enabled) {
+            logToFile("async".equals(logging));
+        }
+
+        BlogFormService service = context.getBean(BlogFormService.class);
+        for (int i = 0; i < SEEDED_FORMS; i++) {
+            ids.add(service.create(form("seed" + i)).getId());
+        }
+        client = HttpClient.newHttpClient();
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        authorization = "Basic " + Base64.getEncoder().encodeToString("user:password".getBytes(StandardCharsets.UTF_8));
+        Matcher matcher = CSRF_TOKEN.matcher(get("/api/csrf"));
+        if (!matcher.find()) {
+            throw new IllegalStateException("No CSRF token in /api/csrf");
+        }
+        csrfToken = matcher.group(1);
+    }
+
+    @TearDown
+    public void stop() {
+        context.close();
+        mongo.shutdownNow();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String findById() throws IOException, InterruptedException {
+        return get("/api/blog-forms/" + ids.get(ThreadLocalRandom.current().nextInt(ids.size())));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String findFirstPage() throws IOException, InterruptedException {
+        return get("/api/blog-forms?page=0&size=10");
+    }
+
+    private String get(String path) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", authorization);
+        if (csrfToken != null) {
+            request.header("X-XSRF-TOKEN", csrfToken);
+        }
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(path + " returned " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    // Sustituye la consola por un fichero, con o sin la misma cola que configura logback-spring.xml
+    private void logToFile(boolean async) throws IOException {
+        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        Logger root = loggerContext.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+
+        Path file = Path.of("target", "jmh-logs", "requests-" + logging + ".log");
+        Files.createDirectories(file.getParent());
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss} [%thread] %-5level %logger{36} - %msg%n");
+        encoder.start();
+        FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(loggerContext);
+        fileAppender.setName("FILE");
+        fileAppender.setFile(file.toString());
+        fileAppender.setAppend(false);
+        fileAppender.setEncoder(encoder);
+        fileAppender.start();
+
+        Appender<ILoggingEvent> appender = fileAppender;
+        if (async) {
+            AsyncAppender asyncAppender = new AsyncAppender();
+            asyncAppender.setContext(loggerContext);
+            asyncAppender.setName("ASYNC_FILE");
+            asyncAppender.setQueueSize(8192);
+            asyncAppender.setNeverBlock(true);
+            asyncAppender.addAppender(fileAppender);
+            asyncAppender.start();
+            appender = asyncAppender;
+        }
+        root.addAppender(appender);
+    }
+
+    private static BlogFormDTO form(String name) {
+        BlogFormDTO dto = new BlogFormDTO();
+        dto.setEmail(name + "@example.com");
+        dto.setFullName("Benchmark " + name);
+        dto.setDescription("JMH");
+        dto.setCountry("MX");
+        return dto;
+    }
+}
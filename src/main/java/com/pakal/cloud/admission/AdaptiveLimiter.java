@@ -0,0 +1,151 @@
+package com.pakal.cloud.admission;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Límite de peticiones concurrentes de un tipo de operación, ajustado con AIMD según la latencia de
+ * MongoDB: un comando más lento que el umbral, o una petición que agota su deadline, lo reduce un
+ * 10%; si MongoDB responde rápido y el límite se está usando entero, crece en uno cada "límite"
+ * peticiones. Como en TCP, se reduce como mucho una vez por ventana: lo que empezó antes de la
+ * última reducción ya no lo vuelve a reducir. Sin umbral el límite es fijo. Por encima del límite
+ * se espera en una cola acotada.
+ */
+public class AdaptiveLimiter {
+
+    private static final double BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueued;
+    private final long latencyThresholdNanos;
+
+    // Los hilos que esperan (de plataforma o virtuales) se bloquean en el lock, no en un monitor
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private double limit;
+    private int inFlight;
+    private int queued;
+    private long lastBackoff = System.nanoTime();
+
+    public AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit, int maxQueued, Duration latencyThreshold) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueued = maxQueued;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    // true si la petición entra; sin hueco espera como mucho maxWait, siempre que quepa en la cola
+    public boolean acquire(Duration maxWait) throws InterruptedException {
+        lock.lock();
+        try {
+            if (inFlight < (int) limit) {
+                inFlight++;
+                return true;
+            }
+            if (maxWait.isZero() || queued >= maxQueued) {
+                return false;
+            }
+            queued++;
+            try {
+                long remaining = maxWait.toNanos();
+                while (inFlight >= (int) limit) {
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+                inFlight++;
+                return true;
+            } finally {
+                queued--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Un comando de MongoDB de este tipo; startedAt en nanoTime
+    public void observe(long startedAt, long latencyNanos, boolean timedOut) {
+        if (latencyThresholdNanos == 0 || !timedOut && latencyNanos <= latencyThresholdNanos) {
+            return;
+        }
+        lock.lock();
+        try {
+            backoff(startedAt);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // admittedAt en nanoTime; overloaded: la petición agotó su deadline o MongoDB no respondió
+    public void release(long admittedAt, boolean overloaded) {
+        lock.lock();
+        try {
+            int before = (int) limit;
+            boolean saturated = inFlight >= before;
+            inFlight--;
+            if (latencyThresholdNanos > 0) {
+                if (overloaded) {
+                    backoff(admittedAt);
+                } else if (saturated && admittedAt - lastBackoff > 0) {
+                    // Límite lleno y ninguna reducción mientras se atendía: hay margen para crecer
+                    limit = Math.min(maxLimit, limit + 1 / limit);
+                }
+            }
+            if ((int) limit > before) {
+                released.signalAll();
+            } else {
+                released.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void backoff(long startedAt) {
+        if (startedAt - lastBackoff > 0) {
+            limit = Math.max(minLimit, limit * BACKOFF);
+            lastBackoff = System.nanoTime();
+        }
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("limit=%d [%d..%d], threshold=%d ms", getLimit(), minLimit, maxLimit,
+                TimeUnit.NANOSECONDS.toMillis(latencyThresholdNanos));
+    }
+}
@@ -0,0 +1,316 @@
+package com.pakal.cloud.admission;
+
+import com.mongodb.ContextProvider;
+import com.mongodb.MongoExecutionTimeoutException;
+import com.mongodb.MongoSocketReadTimeoutException;
+import com.mongodb.RequestContext;
+import com.mongodb.client.SynchronousContextProvider;
+import com.mongodb.event.CommandEvent;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+import com.mongodb.reactivestreams.client.ReactiveContextProvider;
+import com.pakal.cloud.errors.ErrorResponses;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Subscriber;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.CoreSubscriber;
+import reactor.util.context.Context;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compartimentos (bulkheads) de las peticiones que llegan a MongoDB: lecturas, escrituras y
+ * exportaciones tienen cada una su límite de concurrencia adaptativo, así que una exportación
+ * lenta no deja sin conexiones a los GET por id. Lo que no cabe se rechaza enseguida con 503 y
+ * Retry-After en vez de acumular hilos de Tomcat esperando a un MongoDB lento. Los límites se
+ * ajustan con la latencia de los comandos que ve el driver ({@link #latencyListener()}), no con la
+ * duración de la petición, que también incluye CPU propia. Cada comando cuenta para el
+ * compartimento de la petición admitida que lo lanzó ({@link #contextProvider()}); los de tareas de
+ * fondo (índices, backfill, reconciliación, change stream) no ajustan ningún límite. Cada petición
+ * admitida recibe un deadline que las lecturas envían al driver como maxTimeMS.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "blog-form.admission.enabled", matchIfMissing = true)
+public class AdmissionControl {
+
+    private static final String API_PATH = "/api/blog-forms";
+
+    // getMore queda fuera: los cursores de exportación esperan al cliente que los consume
+    private static final Set<String> OBSERVED_COMMANDS = Set.of(
+            "find", "aggregate", "count", "distinct", "insert", "update", "delete", "findAndModify");
+
+    // Operación admitida de la petición en curso: en el hilo (servlet) o en el contexto de Reactor
+    private static final ThreadLocal<Operation> CURRENT = new ThreadLocal<>();
+    private static final String CONTEXT_KEY = Operation.class.getName();
+
+    public enum Operation {
+        READ, WRITE, EXPORT;
+
+        // Clave de configuración y etiqueta de las métricas: reads, writes, exports
+        public String key() {
+            return name().toLowerCase(Locale.ROOT) + "s";
+        }
+    }
+
+    private final Map<Operation, Bulkhead> bulkheads = new EnumMap<>(Operation.class);
+    private final Duration queueTimeout;
+    private final Duration retryAfter;
+
+    public AdmissionControl(
+            MeterRegistry registry,
+            Environment environment,
+            @Value("${blog-form.admission.queue-timeout:50ms}") Duration queueTimeout,
+            @Value("${blog-form.admission.retry-after:1s}") Duration retryAfter) {
+        this.queueTimeout = queueTimeout;
+        this.retryAfter = retryAfter;
+        for (Operation operation : Operation.values()) {
+            String prefix = "blog-form.admission." + operation.key() + ".";
+            int maxLimit = environment.getProperty(prefix + "max-limit", Integer.class, 50);
+            AdaptiveLimiter limiter = new AdaptiveLimiter(
+                    environment.getProperty(prefix + "initial-limit", Integer.class, maxLimit),
+                    environment.getProperty(prefix + "min-limit", Integer.class, 1),
+                    maxLimit,
+                    environment.getProperty(prefix + "max-queued", Integer.class, 0),
+                    environment.getProperty(prefix + "latency-threshold", Duration.class, Duration.ZERO));
+            Duration deadline = environment.getProperty(prefix + "deadline", Duration.class, Duration.ZERO);
+            bulkheads.put(operation, new Bulkhead(operation, limiter, deadline, registry));
+            log.info("Admission control for {}: {}, deadline {}", operation.key(), limiter, deadline);
+        }
+    }
+
+    // null si la ruta no consulta MongoDB por petición (CSRF, actuator, SSE de eventos)
+    public static Operation classify(String method, String path) {
+        if (!path.startsWith(API_PATH) || path.equals(API_PATH + "/events") || "OPTIONS".equals(method)) {
+            return null;
+        }
+        if (path.equals(API_PATH + "/export")) {
+            return Operation.EXPORT;
+        }
+        return "GET".equals(method) || "HEAD".equals(method) ? Operation.READ : Operation.WRITE;
+    }
+
+    // Modelo bloqueante: espera hasta queue-timeout si la cola del compartimento tiene hueco
+    public Permit admit(Operation operation) {
+        try {
+            return bulkheads.get(operation).admit(queueTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    // Modelo reactivo: sin cola, el hilo del servidor no puede bloquearse esperando un hueco
+    public Permit tryAdmit(Operation operation) {
+        try {
+            return bulkheads.get(operation).admit(Duration.ZERO);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    // AdmissionFilter: mientras dura la petición admitida, en el hilo que la atiende
+    static void setCurrent(Operation operation) {
+        CURRENT.set(operation);
+    }
+
+    static void clearCurrent() {
+        CURRENT.remove();
+    }
+
+    // ReactiveAdmissionFilter: en el contexto de la cadena de la petición
+    static Context context(Operation operation) {
+        return Context.of(CONTEXT_KEY, operation);
+    }
+
+    // Se registran en el cliente de MongoDB desde MongoConfig
+    public ContextProvider contextProvider() {
+        return new AdmittedOperationProvider();
+    }
+
+    public CommandListener latencyListener() {
+        return new CommandListener() {
+            @Override
+            public void commandSucceeded(CommandSucceededEvent event) {
+                observe(event, event.getElapsedTime(TimeUnit.NANOSECONDS), false);
+            }
+
+            @Override
+            public void commandFailed(CommandFailedEvent event) {
+                Throwable error = event.getThrowable();
+                observe(event, event.getElapsedTime(TimeUnit.NANOSECONDS),
+                        error instanceof MongoExecutionTimeoutException || error instanceof MongoSocketReadTimeoutException);
+            }
+        };
+    }
+
+    // Solo los comandos de una petición admitida, en el compartimento de esa petición
+    private void observe(CommandEvent event, long elapsed, boolean timedOut) {
+        Operation operation = operation(event.getRequestContext());
+        if (operation != null && OBSERVED_COMMANDS.contains(event.getCommandName())) {
+            bulkheads.get(operation).limiter.observe(System.nanoTime() - elapsed, elapsed, timedOut);
+        }
+    }
+
+    static Operation operation(RequestContext context) {
+        return context == null ? null : context.getOrDefault(CONTEXT_KEY, null);
+    }
+
+    // Respuesta a una petición sin hueco en su compartimento, la misma en los dos filtros
+    public ResponseEntity<String> rejection() {
+        return ErrorResponses.serviceUnavailable(retryAfter, ErrorResponses.REJECTED_MESSAGE);
+    }
+
+    // Una petición admitida; release con el estado HTTP de la respuesta
+    public static final class Permit {
+
+        private final AdaptiveLimiter limiter;
+        private final long admittedAt;
+        private final long deadline;
+
+        private Permit(AdaptiveLimiter limiter, Duration deadline) {
+            this.limiter = limiter;
+            this.admittedAt = System.nanoTime();
+            this.deadline = deadline.isZero() ? 0 : admittedAt + deadline.toNanos();
+        }
+
+        public boolean hasDeadline() {
+            return deadline != 0;
+        }
+
+        // En nanoTime, como lo espera QueryDeadline
+        public long getDeadline() {
+            return deadline;
+        }
+
+        // 503 y 504 los produce un MongoDB que no responde a tiempo: cuentan como sobrecarga
+        public void release(int status) {
+            limiter.release(admittedAt, status == 503 || status == 504);
+        }
+    }
+
+    // El cliente bloqueante pide el contexto en el hilo que lanza la operación; el reactivo, con el
+    // suscriptor, que trae el contexto de Reactor de la petición. Sin operación no hay contexto
+    private static final class AdmittedOperationProvider implements SynchronousContextProvider, ReactiveContextProvider {
+
+        @Override
+        public RequestContext getContext() {
+            return of(CURRENT.get());
+        }
+
+        @Override
+        public RequestContext getContext(Subscriber<?> subscriber) {
+            return subscriber instanceof CoreSubscriber<?> core ? of(core.currentContext().getOrDefault(CONTEXT_KEY, null)) : null;
+        }
+
+        private static RequestContext of(Operation operation) {
+            return operation == null ? null : new OperationContext(operation);
+        }
+    }
+
+    // RequestContext mínimo con la operación admitida
+    static final class OperationContext implements RequestContext {
+
+        private final Map<Object, Object> values = new HashMap<>(2);
+
+        OperationContext(Operation operation) {
+            values.put(CONTEXT_KEY, operation);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(Object key) {
+            return (T) values.get(key);
+        }
+
+        @Override
+        public boolean hasKey(Object key) {
+            return values.containsKey(key);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return values.isEmpty();
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            values.put(key, value);
+        }
+
+        @Override
+        public void delete(Object key) {
+            values.remove(key);
+        }
+
+        @Override
+        public int size() {
+            return values.size();
+        }
+
+        @Override
+        public Stream<Map.Entry<Object, Object>> stream() {
+            return values.entrySet().stream();
+        }
+    }
+
+    private static final class Bulkhead {
+
+        private final AdaptiveLimiter limiter;
+        private final Duration deadline;
+        private final Counter rejected;
+        private final Timer queueWait;
+
+        Bulkhead(Operation operation, AdaptiveLimiter limiter, Duration deadline, MeterRegistry registry) {
+            this.limiter = limiter;
+            this.deadline = deadline;
+            String tag = operation.key();
+            Gauge.builder("blog.form.admission.limit", limiter, AdaptiveLimiter::getLimit)
+                    .description("Current concurrency limit of the bulkhead")
+                    .tag("operation", tag)
+                    .register(registry);
+            Gauge.builder("blog.form.admission.in.flight", limiter, AdaptiveLimiter::getInFlight)
+                    .description("Admitted requests currently running")
+                    .tag("operation", tag)
+                    .register(registry);
+            Gauge.builder("blog.form.admission.queued", limiter, AdaptiveLimiter::getQueued)
+                    .description("Requests waiting for a free slot")
+                    .tag("operation", tag)
+                    .register(registry);
+            this.rejected = Counter.builder("blog.form.admission.rejected")
+                    .description("Requests shed with 503 because the bulkhead was full")
+                    .tag("operation", tag)
+                    .register(registry);
+            this.queueWait = Timer.builder("blog.form.admission.queue.wait")
+                    .description("Time admitted requests waited for a slot")
+                    .tag("operation", tag)
+                    .register(registry);
+        }
+
+        Permit admit(Duration maxWait) throws InterruptedException {
+            long begin = System.nanoTime();
+            if (!limiter.acquire(maxWait)) {
+                rejected.increment();
+                return null;
+            }
+            queueWait.record(Duration.ofNanos(System.nanoTime() - begin));
+            return new Permit(limiter, deadline);
+        }
+    }
+}
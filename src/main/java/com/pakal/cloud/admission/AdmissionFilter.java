@@ -0,0 +1,63 @@
+package com.pakal.cloud.admission;
+
+import com.pakal.cloud.repository.QueryDeadline;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+
+/**
+ * Admisión de las peticiones a /api/blog-forms. Va justo después de Spring Security: las peticiones
+ * sin credenciales no ocupan hueco en los compartimentos.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "blog-form.admission.enabled", matchIfMissing = true)
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    private final AdmissionControl admissionControl;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AdmissionControl.Operation operation = AdmissionControl.classify(request.getMethod(), request.getRequestURI());
+        if (operation == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        AdmissionControl.Permit permit = admissionControl.admit(operation);
+        if (permit == null) {
+            ResponseEntity<String> rejection = admissionControl.rejection();
+            response.setStatus(rejection.getStatusCode().value());
+            rejection.getHeaders().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+            response.getWriter().write(rejection.getBody());
+            return;
+        }
+        // La operación identifica los comandos de esta petición en el listener de latencia
+        AdmissionControl.setCurrent(operation);
+        if (permit.hasDeadline()) {
+            QueryDeadline.set(permit.getDeadline());
+        }
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+        } finally {
+            QueryDeadline.clear();
+            AdmissionControl.clearCurrent();
+            permit.release(failed ? HttpStatus.INTERNAL_SERVER_ERROR.value() : response.getStatus());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.pakal.cloud.admission;
+
+import com.pakal.cloud.repository.QueryDeadline;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Misma admisión que AdmissionFilter, sin cola de espera; la operación y el deadline viajan en el contexto de Reactor
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnProperty(name = "blog-form.admission.enabled", matchIfMissing = true)
+public class ReactiveAdmissionFilter implements WebFilter {
+
+    private final AdmissionControl admissionControl;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        AdmissionControl.Operation operation = AdmissionControl.classify(
+                exchange.getRequest().getMethod().name(), exchange.getRequest().getPath().value());
+        if (operation == null) {
+            return chain.filter(exchange);
+        }
+        AdmissionControl.Permit permit = admissionControl.tryAdmit(operation);
+        if (permit == null) {
+            ResponseEntity<String> rejection = admissionControl.rejection();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(rejection.getStatusCode());
+            response.getHeaders().addAll(rejection.getHeaders());
+            DataBuffer body = response.bufferFactory().wrap(rejection.getBody().getBytes(StandardCharsets.UTF_8));
+            return response.writeWith(Mono.just(body));
+        }
+        // El estado se lee al confirmar la respuesta, como en ReactiveRequestLoggingFilter
+        AtomicInteger status = new AtomicInteger();
+        exchange.getResponse().beforeCommit(() -> {
+            HttpStatusCode code = exchange.getResponse().getStatusCode();
+            status.set(code == null ? 200 : code.value());
+            return Mono.empty();
+        });
+        Mono<Void> admitted = chain.filter(exchange)
+                .doFinally(signal -> permit.release(status.get() != 0 ? status.get() : signal == SignalType.ON_ERROR ? 500 : 200))
+                .contextWrite(AdmissionControl.context(operation));
+        return permit.hasDeadline() ? admitted.contextWrite(QueryDeadline.context(permit.getDeadline())) : admitted;
+    }
+}
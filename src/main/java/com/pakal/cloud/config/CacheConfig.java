@@ -0,0 +1,46 @@
+package com.pakal.cloud.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.time.Duration;
+
+/**
+ * Cachés locales (Caffeine) de lectura. Cada réplica tiene la suya: las escrituras las invalidan
+ * en la instancia que las recibe y, con change streams, BlogFormChangeStreamWatcher las invalida en
+ * el resto. Sin replica set las demás réplicas solo las ven al caducar, por eso los TTL son cortos.
+ * Las estadísticas se publican en /actuator/metrics (cache.gets, cache.puts, cache.evictions, cache.size).
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String BLOG_FORMS = "blogForms";
+    public static final String BLOG_FORM_PAGES = "blogFormPages";
+    // Solo se cachean las primeras páginas de cada listado, que son las que más se repiten
+    public static final int HOT_PAGES = 3;
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${blog-form.cache.by-id.ttl:60s}") Duration byIdTtl,
+            @Value("${blog-form.cache.by-id.max-size:10000}") long byIdMaxSize,
+            @Value("${blog-form.cache.pages.ttl:10s}") Duration pagesTtl,
+            @Value("${blog-form.cache.pages.max-size:500}") long pagesMaxSize) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(BLOG_FORMS, Caffeine.newBuilder()
+                .expireAfterWrite(byIdTtl)
+                .maximumSize(byIdMaxSize)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(BLOG_FORM_PAGES, Caffeine.newBuilder()
+                .expireAfterWrite(pagesTtl)
+                .maximumSize(pagesMaxSize)
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
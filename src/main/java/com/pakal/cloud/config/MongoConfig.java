@@ -0,0 +1,88 @@
+package com.pakal.cloud.config;
+
+import com.pakal.cloud.admission.AdmissionControl;
+import com.pakal.cloud.monitoring.MongoCommandMetrics;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.mongo.MongoClientFactory;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tamaño del pool de conexiones a MongoDB (cliente bloqueante y reactivo). Con hilos virtuales
+ * puede haber miles de peticiones esperando una conexión: la espera se acota con max-wait para
+ * fallar rápido en vez de acumularlas durante los 2 minutos por defecto del driver.
+ * <p>
+ * Cada modelo mantiene un solo pool caliente: el servlet excluye el cliente reactivo
+ * (application.yml) y el reactivo crea el bloqueante sin mínimo de conexiones.
+ */
+@Configuration
+public class MongoConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer connectionPoolCustomizer(
+            @Value("${blog-form.mongo.pool.max-size:100}") int maxSize,
+            @Value("${blog-form.mongo.pool.min-size:0}") int minSize,
+            @Value("${blog-form.mongo.pool.max-connecting:2}") int maxConnecting,
+            @Value("${blog-form.mongo.pool.max-wait:2m}") Duration maxWait) {
+        return settings -> settings.applyToConnectionPoolSettings(pool -> pool
+                .maxSize(maxSize)
+                .minSize(minSize)
+                .maxConnecting(maxConnecting)
+                .maxWaitTime(maxWait.toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    // Techo de las operaciones que no llevan maxTimeMS (escrituras): con los 30 s del URI un MongoDB
+    // lento retenía cada hilo medio minuto. Tienen prioridad sobre los *TimeoutMS del URI
+    @Bean
+    public MongoClientSettingsBuilderCustomizer timeoutCustomizer(
+            @Value("${blog-form.mongo.connect-timeout:10s}") Duration connectTimeout,
+            @Value("${blog-form.mongo.socket-timeout:0s}") Duration socketTimeout,
+            @Value("${blog-form.mongo.server-selection-timeout:30s}") Duration serverSelectionTimeout) {
+        return settings -> settings
+                .applyToSocketSettings(socket -> socket
+                        .connectTimeout((int) connectTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                        .readTimeout((int) socketTimeout.toMillis(), TimeUnit.MILLISECONDS))
+                .applyToClusterSettings(cluster -> cluster
+                        .serverSelectionTimeout(serverSelectionTimeout.toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    // Documentos por comando y log de comandos lentos; la latencia y el pool los mide Spring Boot
+    @Bean
+    public MongoClientSettingsBuilderCustomizer commandMetricsCustomizer(MeterRegistry registry,
+            @Value("${blog-form.mongo.slow-query-threshold:100ms}") Duration slowQueryThreshold) {
+        return settings -> settings.addCommandListener(new MongoCommandMetrics(registry, slowQueryThreshold));
+    }
+
+    // Latencia de los comandos para los límites adaptativos del control de admisión, si está activo;
+    // el contexto de cada comando indica la petición admitida que lo lanzó
+    @Bean
+    public MongoClientSettingsBuilderCustomizer admissionLatencyCustomizer(ObjectProvider<AdmissionControl> admissionControl) {
+        return settings -> admissionControl.ifAvailable(admission -> settings
+                .contextProvider(admission.contextProvider())
+                .addCommandListener(admission.latencyListener()));
+    }
+
+    // Perfil reactive: el cliente bloqueante, con los mismos ajustes (URI, timeouts, métricas,
+    // admisión) pero sin conexiones ociosas; sustituye al de MongoAutoConfiguration
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public MongoClient blockingMongoClient(ObjectProvider<MongoClientSettingsBuilderCustomizer> builderCustomizers,
+            MongoClientSettings settings,
+            @Value("${blog-form.mongo.blocking-pool.max-size:10}") int maxSize) {
+        List<MongoClientSettingsBuilderCustomizer> customizers = new ArrayList<>(builderCustomizers.orderedStream().toList());
+        customizers.add(builder -> builder.applyToConnectionPoolSettings(pool -> pool
+                .minSize(0)
+                .maxSize(maxSize)));
+        return new MongoClientFactory(customizers).createMongoClient(settings);
+    }
+}
@@ -0,0 +1,67 @@
+package com.pakal.cloud.config;
+
+import com.pakal.cloud.repository.HeaderCsrfTokenRepository;
+import com.pakal.cloud.repository.ReactiveCsrfTokenRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.ReactiveAuthenticationManagerAdapter;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.csrf.ServerCsrfTokenRequestAttributeHandler;
+import org.springframework.security.web.server.util.matcher.NegatedServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.OrServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
+import org.springframework.web.cors.reactive.CorsConfigurationSource;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+
+// Pila reactiva (perfil "reactive"): mismas reglas que SecurityConfig sobre WebFlux
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSecurityConfig {
+
+        @Bean
+        public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                        HeaderCsrfTokenRepository csrfTokenRepository) {
+                http
+                                .cors(Customizer.withDefaults())
+                                // CSRF en todas las peticiones salvo las rutas públicas y el scrape de Prometheus, igual que en servlet
+                                .csrf(csrf -> csrf
+                                                .csrfTokenRepository(new ReactiveCsrfTokenRepository(csrfTokenRepository))
+                                                .csrfTokenRequestHandler(new ServerCsrfTokenRequestAttributeHandler())
+                                                .requireCsrfProtectionMatcher(new NegatedServerWebExchangeMatcher(
+                                                                new OrServerWebExchangeMatcher(
+                                                                                ServerWebExchangeMatchers.pathMatchers("/api/csrf",
+                                                                                                "/actuator/health", "/actuator/prometheus"),
+                                                                                // Flujo SSE de solo lectura: EventSource no envía cabeceras propias
+                                                                                ServerWebExchangeMatchers.pathMatchers(HttpMethod.GET,
+                                                                                                "/api/blog-forms/events")))))
+                                .authorizeExchange(auth -> auth
+                                                .pathMatchers("/actuator/health").permitAll()
+                                                .pathMatchers(HttpMethod.GET, "/api/**").authenticated()
+                                                .anyExchange().authenticated())
+                                .httpBasic(Customizer.withDefaults());
+
+                return http.build();
+        }
+
+        // Reutiliza el proveedor con caché de credenciales; BCrypt corre en boundedElastic, fuera del event loop
+        @Bean
+        public ReactiveAuthenticationManager reactiveAuthenticationManager(AuthenticationProvider authenticationProvider) {
+                return new ReactiveAuthenticationManagerAdapter(new ProviderManager(authenticationProvider));
+        }
+
+        @Bean
+        public CorsConfigurationSource reactiveCorsConfigurationSource() {
+                UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+                source.registerCorsConfiguration("/**", SecurityConfig.corsConfiguration());
+                return source;
+        }
+}
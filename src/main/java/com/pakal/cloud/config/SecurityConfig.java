@@ -6,26 +6,24 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.csrf.CsrfTokenRepository;
 import org.springframework.security.web.csrf.CsrfTokenRequestAttributeHandler;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 import org.springframework.security.config.Customizer;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
-import com.pakal.cloud.repository.CustomCsrfTokenRepository;
 
 import java.util.Arrays;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.provisioning.InMemoryUserDetailsManager;
-import org.springframework.security.core.userdetails.User;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 
+// Pila servlet; los usuarios, la autenticación y el almacén CSRF están en SharedSecurityConfig
 @Configuration
 @EnableWebSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class SecurityConfig {
 
         @Value("${API_USERNAME:user}") // Leer variable de entorno
@@ -35,7 +33,7 @@ public class SecurityConfig {
         private String password;
 
         @Bean
-        public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+        public SecurityFilterChain filterChain(HttpSecurity http, CsrfTokenRepository csrfTokenRepository) throws Exception {
                 http
 
                                 // ✅ Habilitar CORS en Spring Security
@@ -43,11 +41,15 @@ public class SecurityConfig {
 
                                 // Configuración CSRF
                                 .csrf(csrf -> csrf
-                                                .csrfTokenRepository(new CustomCsrfTokenRepository())
+                                                .csrfTokenRepository(csrfTokenRepository)
                                                 .csrfTokenRequestHandler(new CsrfTokenRequestAttributeHandler())
                                                 .requireCsrfProtectionMatcher(request -> true)
                                                 .ignoringRequestMatchers("/api/csrf", "/actuator/health",
-                                                                "/swagger-ui/**", "/v3/api-docs/**"))
+                                                                "/actuator/prometheus",
+                                                                "/swagger-ui/**", "/v3/api-docs/**")
+                                                // EventSource no envía cabeceras propias y reconecta solo; el flujo es de solo lectura
+                                                .ignoringRequestMatchers(AntPathRequestMatcher.antMatcher(HttpMethod.GET,
+                                                                "/api/blog-forms/events")))
                                 // Configuración de autorización
                                 .authorizeHttpRequests(auth -> auth
                                                 // Permitir acceso público a las rutas de Swagger y Actuator
@@ -74,6 +76,13 @@ public class SecurityConfig {
 
         @Bean
         public CorsConfigurationSource corsConfigurationSource() {
+                UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+                source.registerCorsConfiguration("/**", corsConfiguration());
+                return source;
+        }
+
+        // También la usa ReactiveSecurityConfig
+        static CorsConfiguration corsConfiguration() {
                 CorsConfiguration configuration = new CorsConfiguration();
                 configuration.setAllowedOrigins(Arrays.asList(
                            "http://localhost:8082",
@@ -87,34 +96,19 @@ public class SecurityConfig {
                                 "Content-Type",
                                 "Authorization",
                                 "X-XSRF-TOKEN",
+                                "If-Match",
+                                "If-None-Match",
+                                "If-Modified-Since",
                                 "Access-Control-Allow-Headers",
                                 "Access-Control-Allow-Origin",
                                 "Accept"));
                 configuration.setExposedHeaders(Arrays.asList(
                                 "X-XSRF-TOKEN",
                                 "Set-Cookie",
+                                "ETag",
+                                "Last-Modified",
                                 "Access-Control-Allow-Origin"));
                 configuration.setAllowCredentials(true);
-
-                UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
-                source.registerCorsConfiguration("/**", configuration);
-                return source;
-        }
-
-        @Bean
-        public UserDetailsService userDetailsService() {
-
-                UserDetails user = User.builder()
-                                .username("user")
-                                .password(passwordEncoder().encode("password"))
-                                .roles("USER")
-                                .build();
-
-                return new InMemoryUserDetailsManager(user);
-        }
-
-        @Bean
-        public PasswordEncoder passwordEncoder() {
-                return new BCryptPasswordEncoder();
+                return configuration;
         }
-}
\ No newline at end of file
+}
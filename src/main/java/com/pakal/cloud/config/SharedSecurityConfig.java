@@ -0,0 +1,77 @@
+package com.pakal.cloud.config;
+
+import com.pakal.cloud.repository.CustomCsrfTokenRepository;
+import com.pakal.cloud.repository.SignedCsrfTokenRepository;
+import com.pakal.cloud.security.CachingAuthenticationProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import java.time.Duration;
+
+// Usuarios, autenticación y almacén de tokens CSRF comunes a SecurityConfig y ReactiveSecurityConfig
+@Configuration
+public class SharedSecurityConfig {
+
+        // Tokens en memoria con tamaño máximo y limpieza periódica de los caducados (una sola réplica)
+        @Bean
+        @ConditionalOnProperty(name = "blog-form.csrf.mode", havingValue = "memory", matchIfMissing = true)
+        public CustomCsrfTokenRepository csrfTokenRepository(
+                        @Value("${blog-form.csrf.ttl:1m}") Duration ttl,
+                        @Value("${blog-form.csrf.max-tokens:100000}") int maxTokens,
+                        @Value("${blog-form.csrf.sweep-interval:10s}") Duration sweepInterval) {
+                return new CustomCsrfTokenRepository(ttl, maxTokens, sweepInterval);
+        }
+
+        // Tokens firmados sin estado: válidos en cualquier réplica que comparta el secreto
+        @Bean
+        @ConditionalOnProperty(name = "blog-form.csrf.mode", havingValue = "signed")
+        public SignedCsrfTokenRepository signedCsrfTokenRepository(
+                        @Value("${blog-form.csrf.ttl:1m}") Duration ttl,
+                        @Value("${blog-form.csrf.signing-secret:}") String signingSecret) {
+                return new SignedCsrfTokenRepository(signingSecret, ttl);
+        }
+
+        @Bean
+        public UserDetailsService userDetailsService() {
+
+                UserDetails user = User.builder()
+                                .username("user")
+                                .password(passwordEncoder().encode("password"))
+                                .roles("USER")
+                                .build();
+
+                return new InMemoryUserDetailsManager(user);
+        }
+
+        // BCrypt solo la primera vez; las credenciales ya verificadas se recuerdan durante un TTL corto
+        @Bean
+        public AuthenticationProvider authenticationProvider(
+                        UserDetailsService userDetailsService,
+                        MeterRegistry meterRegistry,
+                        @Value("${blog-form.security.credential-cache.enabled:true}") boolean cacheEnabled,
+                        @Value("${blog-form.security.credential-cache.ttl:2m}") Duration ttl,
+                        @Value("${blog-form.security.credential-cache.max-size:1000}") long maxSize) {
+                DaoAuthenticationProvider bcryptProvider = new DaoAuthenticationProvider();
+                bcryptProvider.setUserDetailsService(userDetailsService);
+                bcryptProvider.setPasswordEncoder(passwordEncoder());
+                if (!cacheEnabled) {
+                        return bcryptProvider;
+                }
+                return new CachingAuthenticationProvider(bcryptProvider, ttl, maxSize).bindTo(meterRegistry);
+        }
+
+        @Bean
+        public PasswordEncoder passwordEncoder() {
+                return new BCryptPasswordEncoder();
+        }
+}
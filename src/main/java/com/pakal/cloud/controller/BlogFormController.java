@@ -1,19 +1,43 @@
 package com.pakal.cloud.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pakal.cloud.dto.BlogFormDTO;
+import com.pakal.cloud.dto.BlogFormFilter;
+import com.pakal.cloud.dto.BlogFormStats;
+import com.pakal.cloud.dto.BlogFormSummary;
+import com.pakal.cloud.dto.BulkIngestResult;
+import com.pakal.cloud.dto.CursorPage;
+import com.pakal.cloud.errors.InvalidRequestException;
 import com.pakal.cloud.model.BlogForm;
+import com.pakal.cloud.service.BlogFormBulkReader;
+import com.pakal.cloud.service.BlogFormBulkService;
+import com.pakal.cloud.service.BlogFormEventService;
+import com.pakal.cloud.service.BlogFormExportService;
 import com.pakal.cloud.service.BlogFormService;
+import com.pakal.cloud.service.BlogFormStatsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 
@@ -27,10 +51,19 @@ import java.time.LocalDateTime;
 @RestController
 @RequestMapping("/api/blog-forms")
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Tag(name = "Blog Form API", description = "Operations for blog form management")
 public class BlogFormController {
     
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+
     private final BlogFormService service;
+    private final BlogFormBulkService bulkService;
+    private final BlogFormExportService exportService;
+    private final BlogFormStatsService statsService;
+    private final BlogFormEventService eventService;
+    private final BlogFormEventWriter eventWriter;
+    private final ObjectMapper objectMapper;
     
     @PostMapping
     @Operation(summary = "Create a blog form", description = "Creates a new blog form entry")
@@ -41,17 +74,59 @@ public class BlogFormController {
         @ApiResponse(responseCode = "403", description = "Forbidden")
     })
     public ResponseEntity<BlogForm> create(@Valid @RequestBody BlogFormDTO dto) {
-        return new ResponseEntity<>(service.create(dto), HttpStatus.CREATED);
+        BlogForm form = service.create(dto);
+        return BlogFormETags.validators(ResponseEntity.status(HttpStatus.CREATED), form).body(form);
+    }
+    
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Create blog forms in bulk from a JSON array",
+            description = "Validates every item and inserts the valid ones in batches; returns a result per item")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Items processed, see per-item status"),
+        @ApiResponse(responseCode = "400", description = "Malformed body or invalid batch size"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    public ResponseEntity<BulkIngestResult> bulkCreate(
+            HttpServletRequest request,
+            @RequestParam(defaultValue = "false") boolean ordered,
+            @RequestParam(required = false) Integer batchSize) throws IOException {
+        return ResponseEntity.ok(bulkService.ingest(
+                BlogFormBulkReader.jsonArray(request.getInputStream(), objectMapper), ordered, batchSize));
+    }
+
+    @PostMapping(value = "/bulk", consumes = NDJSON_VALUE)
+    @Operation(summary = "Create blog forms in bulk from an NDJSON stream",
+            description = "One BlogFormDTO per line; same processing and response as the JSON array variant")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Items processed, see per-item status"),
+        @ApiResponse(responseCode = "400", description = "Invalid batch size"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    public ResponseEntity<BulkIngestResult> bulkCreateNdjson(
+            HttpServletRequest request,
+            @RequestParam(defaultValue = "false") boolean ordered,
+            @RequestParam(required = false) Integer batchSize) throws IOException {
+        return ResponseEntity.ok(bulkService.ingest(
+                BlogFormBulkReader.ndjson(request.getInputStream(), objectMapper), ordered, batchSize));
     }
     
     @GetMapping
-    @Operation(summary = "Get all blog forms with pagination")
+    @Operation(summary = "Get all blog forms with pagination",
+            description = "Offset pagination returns a Page with totals; pagination=cursor (or a cursor token) returns a slice with nextCursor and no count query. "
+                    + "fields=summary (id, fullName, country, createdAt) or a comma-separated field list returns only those fields")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Successfully retrieved blog forms"),
+        @ApiResponse(responseCode = "304", description = "The page matches the If-None-Match ETag"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor, sort field, direction or fields"),
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
         @ApiResponse(responseCode = "403", description = "Forbidden")
     })
-    public ResponseEntity<Page<BlogForm>> findAll(
+    public ResponseEntity<?> findAll(
+            @RequestParam(defaultValue = "offset") String pagination,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String fields,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
@@ -61,40 +136,154 @@ public class BlogFormController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
         
-        if (country != null || fullName != null || startDate != null || endDate != null) {
-            return ResponseEntity.ok(service.findByFilters(country, fullName, startDate, endDate, page, size, sortBy, direction));
+        BlogFormFilter filter = new BlogFormFilter(country, fullName, startDate, endDate);
+
+        if (cursor != null || "cursor".equalsIgnoreCase(pagination)) {
+            if (!"createdAt".equals(sortBy)) {
+                throw new InvalidRequestException("Cursor pagination is only supported when sorting by createdAt");
+            }
+            if (fields != null) {
+                CursorPage<BlogFormSummary> slice = service.findSummariesByCursor(filter, fields, cursor, size, direction);
+                return ResponseEntity.ok().eTag(BlogFormETags.of(slice)).body(slice);
+            }
+            CursorPage<BlogForm> slice = service.findByCursor(filter, cursor, size, direction);
+            return ResponseEntity.ok().eTag(BlogFormETags.of(slice)).body(slice);
         }
-        
-        return ResponseEntity.ok(service.findAll(page, size, sortBy, direction));
+
+        if (fields != null) {
+            Page<BlogFormSummary> result = service.findSummaries(filter, fields, page, size, sortBy, direction);
+            return ResponseEntity.ok().eTag(BlogFormETags.of(result)).body(result);
+        }
+
+        // Con If-None-Match, Spring responde 304 sin serializar la página si el ETag coincide
+        Page<BlogForm> result = filter.isEmpty()
+                ? service.findAll(page, size, sortBy, direction)
+                : service.findByFilters(filter, page, size, sortBy, direction);
+        return ResponseEntity.ok().eTag(BlogFormETags.of(result)).body(result);
+    }
+    
+    @GetMapping("/export")
+    @Operation(summary = "Export blog forms as NDJSON or CSV",
+            description = "Streams every form matching the listing filters from a MongoDB cursor straight to the response")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Export streamed"),
+        @ApiResponse(responseCode = "400", description = "Invalid format or direction"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    public void export(
+            HttpServletResponse response,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "DESC") String direction,
+            @RequestParam(required = false) String country,
+            @RequestParam(required = false) String fullName,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) throws IOException {
+
+        BlogFormExportService.Format exportFormat = BlogFormExportService.parseFormat(format);
+        Sort.Direction sortDirection = BlogFormExportService.parseDirection(direction);
+        boolean csv = exportFormat == BlogFormExportService.Format.CSV;
+        response.setContentType(csv ? "text/csv;charset=UTF-8" : NDJSON_VALUE + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"blog-forms." + (csv ? "csv" : "ndjson") + "\"");
+        exportService.export(new BlogFormFilter(country, fullName, startDate, endDate), sortDirection, exportFormat,
+                response.getOutputStream());
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Count blog forms by country and/or day",
+            description = "Reads the per country and day rollups maintained on create, delete and restore; groupBy is country, day or country,day")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved stats"),
+        @ApiResponse(responseCode = "400", description = "Invalid groupBy or date range"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    public ResponseEntity<BlogFormStats> stats(
+            @RequestParam(defaultValue = "country") String groupBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String country) {
+        return ResponseEntity.ok(statsService.find(groupBy, from, to, country));
+    }
+
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream blog form changes (Server-Sent Events)",
+            description = "Pushes created, updated, deleted and restored events, optionally for one country. Reconnecting with "
+                    + "Last-Event-ID (or lastEventId) replays the missed events; a reset event means they are no longer available")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Event stream opened"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public SseEmitter events(
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(required = false) String lastEventId,
+            @RequestParam(required = false) String country) {
+        return eventWriter.open(eventService.stream(lastEventIdHeader != null ? lastEventIdHeader : lastEventId, country));
     }
     
     @GetMapping("/{id}")
-    @Operation(summary = "Get a blog form by ID")
+    @Operation(summary = "Get a blog form by ID",
+            description = "Supports If-None-Match and If-Modified-Since; they are checked against version and updatedAt before the document is read")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Successfully retrieved blog form"),
+        @ApiResponse(responseCode = "304", description = "Not modified since the given ETag or date"),
         @ApiResponse(responseCode = "404", description = "Blog form not found"),
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
         @ApiResponse(responseCode = "403", description = "Forbidden")
     })
-    public ResponseEntity<BlogForm> findById(@PathVariable String id) {
-        return ResponseEntity.ok(service.findById(id));
+    public ResponseEntity<BlogForm> findById(@PathVariable String id, WebRequest request) {
+        if (BlogFormETags.isConditional(request.getHeader(HttpHeaders.IF_NONE_MATCH), request.getHeader(HttpHeaders.IF_MODIFIED_SINCE))) {
+            BlogForm validators = service.findValidators(id);
+            Instant lastModified = BlogFormETags.lastModified(validators);
+            if (request.checkNotModified(BlogFormETags.of(validators), lastModified == null ? -1 : lastModified.toEpochMilli())) {
+                return BlogFormETags.validators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), validators).build();
+            }
+        }
+        BlogForm form = service.findById(id);
+        return BlogFormETags.validators(ResponseEntity.ok(), form).body(form);
     }
     
     @PutMapping("/{id}")
-    @Operation(summary = "Update a blog form")
+    @Operation(summary = "Update a blog form",
+            description = "Replaces every field; with If-Match the update only applies to that version (ETag)")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Blog form updated successfully"),
         @ApiResponse(responseCode = "400", description = "Invalid input data"),
         @ApiResponse(responseCode = "404", description = "Blog form not found"),
+        @ApiResponse(responseCode = "409", description = "Another blog form already uses the email"),
+        @ApiResponse(responseCode = "412", description = "The blog form changed since the If-Match version"),
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
         @ApiResponse(responseCode = "403", description = "Forbidden")
     })
-    public ResponseEntity<BlogForm> update(@PathVariable String id, @Valid @RequestBody BlogFormDTO dto) {
-        return ResponseEntity.ok(service.update(id, dto));
+    public ResponseEntity<BlogForm> update(@PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody BlogFormDTO dto) {
+        BlogForm form = service.update(id, dto, BlogFormETags.expectedVersion(ifMatch));
+        return BlogFormETags.validators(ResponseEntity.ok(), form).body(form);
+    }
+
+    @PatchMapping("/{id}")
+    @Operation(summary = "Partially update a blog form",
+            description = "Writes only the fields present in the body in a single operation; with If-Match the update only applies to that version (ETag)")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Blog form updated successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid input data or empty body"),
+        @ApiResponse(responseCode = "404", description = "Blog form not found"),
+        @ApiResponse(responseCode = "409", description = "Another blog form already uses the email"),
+        @ApiResponse(responseCode = "412", description = "The blog form changed since the If-Match version"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    public ResponseEntity<BlogForm> patch(@PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Validated(BlogFormDTO.Patch.class) @RequestBody BlogFormDTO dto) {
+        BlogForm form = service.patch(id, dto, BlogFormETags.expectedVersion(ifMatch));
+        return BlogFormETags.validators(ResponseEntity.ok(), form).body(form);
     }
     
     @DeleteMapping("/{id}")
-    @Operation(summary = "Delete a blog form")
+    @Operation(summary = "Delete a blog form", description = "Soft delete: the form is hidden at once and purged after the retention period")
     @ApiResponses({
         @ApiResponse(responseCode = "204", description = "Blog form deleted successfully"),
         @ApiResponse(responseCode = "404", description = "Blog form not found"),
@@ -105,5 +294,19 @@ public class BlogFormController {
         service.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    @PostMapping("/{id}/restore")
+    @Operation(summary = "Restore a deleted blog form",
+            description = "Undoes a delete while the document is still within the retention period")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Blog form restored"),
+        @ApiResponse(responseCode = "404", description = "No deleted blog form with this ID (never existed or already purged)"),
+        @ApiResponse(responseCode = "409", description = "Another live blog form already uses the email"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    public ResponseEntity<BlogForm> restore(@PathVariable String id) {
+        return ResponseEntity.ok(service.restore(id));
+    }
     
 }
\ No newline at end of file
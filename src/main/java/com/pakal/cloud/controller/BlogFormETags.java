@@ -0,0 +1,83 @@
+package com.pakal.cloud.controller;
+
+import com.pakal.cloud.dto.CursorPage;
+import com.pakal.cloud.errors.InvalidRequestException;
+import com.pakal.cloud.errors.PreconditionFailedException;
+import com.pakal.cloud.model.BlogForm;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+
+// Validadores HTTP: ETag fuerte a partir de la versión (o de las versiones de un listado) y
+// Last-Modified a partir de updatedAt; compartidos por los controladores servlet y reactivo
+final class BlogFormETags {
+
+    private BlogFormETags() {
+    }
+
+    static String of(BlogForm form) {
+        return "\"" + (form.getVersion() == null ? 0 : form.getVersion()) + "\"";
+    }
+
+    // Un listado cambia si cambia cualquiera de sus elementos, su orden o los totales
+    static String of(Page<?> page) {
+        return ofListing(page.getContent(), page.getTotalElements());
+    }
+
+    static String of(CursorPage<?> page) {
+        return ofListing(page.getContent(), page.getNextCursor());
+    }
+
+    // Una vista proyectada no siempre trae la versión: se usan sus propios valores
+    private static String ofListing(List<?> content, Object totals) {
+        StringBuilder validators = new StringBuilder().append(totals);
+        for (Object element : content) {
+            validators.append(';');
+            if (element instanceof BlogForm form) {
+                validators.append(form.getId()).append(':').append(form.getVersion());
+            } else {
+                validators.append(element);
+            }
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(validators.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    // updatedAt se guarda con la zona del servidor, igual que lo convierte Spring Data
+    static Instant lastModified(BlogForm form) {
+        return form.getUpdatedAt() == null ? null : form.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    static <B extends ResponseEntity.HeadersBuilder<B>> B validators(B builder, BlogForm form) {
+        builder.eTag(of(form));
+        Instant lastModified = lastModified(form);
+        return lastModified == null ? builder : builder.lastModified(lastModified);
+    }
+
+    static boolean isConditional(String ifNoneMatch, String ifModifiedSince) {
+        return ifNoneMatch != null || ifModifiedSince != null;
+    }
+
+    // Versión exigida por If-Match; null si no hay condición ("*" solo exige que exista)
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        // If-Match usa comparación fuerte: una etiqueta débil nunca coincide
+        if (tag.startsWith("W/")) {
+            throw new PreconditionFailedException("If-Match requires a strong ETag");
+        }
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            throw new InvalidRequestException("If-Match must be a single quoted ETag");
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match " + tag + " does not match any version of this blog form");
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.pakal.cloud.controller;
+
+import com.pakal.cloud.dto.BlogFormEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
+/**
+ * Escribe los eventos SSE del stack servlet. SseEmitter.send bloquea mientras el cliente no lee,
+ * así que las escrituras usan un pool propio y acotado (writer-threads) en lugar de boundedElastic,
+ * compartido con el resto de la aplicación. Un envío que tarda más de send-timeout cierra esa
+ * conexión: el cliente se reconecta con Last-Event-ID y recibe lo que se perdió.
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class BlogFormEventWriter {
+
+    private final Scheduler scheduler;
+    private final Duration sendTimeout;
+
+    public BlogFormEventWriter(
+            @Value("${blog-form.events.writer-threads:16}") int writerThreads,
+            @Value("${blog-form.events.send-timeout:10s}") Duration sendTimeout) {
+        this.scheduler = Schedulers.newBoundedElastic(writerThreads, Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "blog-form-events");
+        this.sendTimeout = sendTimeout;
+    }
+
+    // Sin timeout del contenedor: el flujo se cierra solo tras blog-form.events.timeout
+    public SseEmitter open(Flux<ServerSentEvent<BlogFormEvent>> events) {
+        SseEmitter emitter = new SseEmitter(0L);
+        // Un envío a la vez por cliente; el timeout corre en el mismo pool para no bloquear los
+        // hilos de Reactor mientras completeWithError espera al envío atascado
+        Disposable subscription = events
+                .concatMap(event -> Mono.fromRunnable(() -> send(emitter, event))
+                        .subscribeOn(scheduler)
+                        .timeout(sendTimeout, scheduler))
+                .subscribe(null, error -> {
+                    log.debug("Closing blog form event stream: {}", error.toString());
+                    emitter.completeWithError(error);
+                }, emitter::complete);
+        emitter.onCompletion(subscription::dispose);
+        emitter.onError(error -> subscription.dispose());
+        return emitter;
+    }
+
+    private static void send(SseEmitter emitter, ServerSentEvent<BlogFormEvent> event) {
+        SseEmitter.SseEventBuilder builder = SseEmitter.event();
+        if (event.id() != null) {
+            builder.id(event.id());
+        }
+        if (event.event() != null) {
+            builder.name(event.event());
+        }
+        if (event.comment() != null) {
+            builder.comment(event.comment());
+        }
+        if (event.retry() != null) {
+            builder.reconnectTime(event.retry().toMillis());
+        }
+        if (event.data() != null) {
+            builder.data(event.data(), MediaType.APPLICATION_JSON);
+        }
+        try {
+            emitter.send(builder);
+        } catch (IOException e) {
+            // Cliente desconectado: el error cancela la suscripción
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduler.dispose();
+    }
+}
@@ -2,6 +2,7 @@ package com.pakal.cloud.controller;
 
 import jakarta.servlet.http.HttpServletRequest;  // Para manejar las solicitudes HTTP
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;  // Para el mapeo de solicitudes GET
 import org.springframework.web.bind.annotation.RequestMapping;  // Para definir la ruta base del controlador
@@ -13,6 +14,7 @@ import java.util.Map;  // Para manejar los datos de la respuesta
 @CrossOrigin(origins = {"http://localhost:8082", "https://java-mongo.onrender.com", "http://localhost:8083/swagger-ui/index.html", "http://localhost:8083/swagger-ui.html"})  // Permitir solicitudes desde estos orígenes
 @RestController
 @RequestMapping("/api")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class CsrfController {
     @GetMapping("/csrf")
     public Map<String, String> getCsrfToken(HttpServletRequest request) {
@@ -0,0 +1,266 @@
+package com.pakal.cloud.controller;
+
+import com.pakal.cloud.dto.BlogFormDTO;
+import com.pakal.cloud.dto.BlogFormEvent;
+import com.pakal.cloud.dto.BlogFormFilter;
+import com.pakal.cloud.dto.BlogFormStats;
+import com.pakal.cloud.errors.InvalidRequestException;
+import com.pakal.cloud.model.BlogForm;
+import com.pakal.cloud.service.BlogFormEventService;
+import com.pakal.cloud.service.BlogFormExportService;
+import com.pakal.cloud.service.ReactiveBlogFormService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Misma API que BlogFormController sobre WebFlux (perfil "reactive"): ningún hilo queda bloqueado
+ * esperando a MongoDB. La carga masiva y la exportación CSV solo existen en la variante servlet.
+ */
+@CrossOrigin(origins = {
+    "http://localhost:8082",
+    "https://java-mongo.onrender.com",
+    "http://localhost:8083",
+    "http://localhost:5173",
+    "https://astonishing-lamington-2bfbd2.netlify.app"})
+@RestController
+@RequestMapping("/api/blog-forms")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Tag(name = "Blog Form API", description = "Operations for blog form management")
+public class ReactiveBlogFormController {
+
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+
+    private final ReactiveBlogFormService service;
+    private final BlogFormEventService eventService;
+
+    @PostMapping
+    @Operation(summary = "Create a blog form", description = "Creates a new blog form entry")
+    @ApiResponses({
+        @ApiResponse(responseCode = "201", description = "Blog form created successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid input data"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    public Mono<ResponseEntity<BlogForm>> create(@Valid @RequestBody BlogFormDTO dto) {
+        return service.create(dto).map(form -> BlogFormETags.validators(ResponseEntity.status(HttpStatus.CREATED), form).body(form));
+    }
+
+    @GetMapping
+    @Operation(summary = "Get all blog forms with pagination",
+            description = "Offset pagination returns a Page with totals; pagination=cursor (or a cursor token) returns a slice with nextCursor and no count query. "
+                    + "fields=summary (id, fullName, country, createdAt) or a comma-separated field list returns only those fields")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved blog forms"),
+        @ApiResponse(responseCode = "304", description = "The page matches the If-None-Match ETag"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor, sort field, direction or fields"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    public Mono<? extends ResponseEntity<?>> findAll(
+            @RequestParam(defaultValue = "offset") String pagination,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "DESC") String direction,
+            @RequestParam(required = false) String country,
+            @RequestParam(required = false) String fullName,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+
+        BlogFormFilter filter = new BlogFormFilter(country, fullName, startDate, endDate);
+
+        if (cursor != null || "cursor".equalsIgnoreCase(pagination)) {
+            if (!"createdAt".equals(sortBy)) {
+                throw new InvalidRequestException("Cursor pagination is only supported when sorting by createdAt");
+            }
+            if (fields != null) {
+                return service.findSummariesByCursor(filter, fields, cursor, size, direction)
+                        .map(slice -> ResponseEntity.ok().eTag(BlogFormETags.of(slice)).body(slice));
+            }
+            return service.findByCursor(filter, cursor, size, direction)
+                    .map(slice -> ResponseEntity.ok().eTag(BlogFormETags.of(slice)).body(slice));
+        }
+
+        if (fields != null) {
+            return service.findSummaries(filter, fields, page, size, sortBy, direction)
+                    .map(result -> ResponseEntity.ok().eTag(BlogFormETags.of(result)).body(result));
+        }
+
+        return service.findByFilters(filter, page, size, sortBy, direction)
+                .map(result -> ResponseEntity.ok().eTag(BlogFormETags.of(result)).body(result));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export blog forms as NDJSON",
+            description = "Streams every form matching the listing filters; the MongoDB cursor is read as the client consumes the response")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Export streamed"),
+        @ApiResponse(responseCode = "400", description = "Invalid format or direction"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    public ResponseEntity<Flux<BlogForm>> export(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "DESC") String direction,
+            @RequestParam(required = false) String country,
+            @RequestParam(required = false) String fullName,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+
+        if (BlogFormExportService.parseFormat(format) != BlogFormExportService.Format.NDJSON) {
+            throw new InvalidRequestException("Only ndjson export is available in reactive mode");
+        }
+        Sort.Direction sortDirection = BlogFormExportService.parseDirection(direction);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, NDJSON_VALUE)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"blog-forms.ndjson\"")
+                .body(service.export(new BlogFormFilter(country, fullName, startDate, endDate), sortDirection));
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Count blog forms by country and/or day",
+            description = "Reads the per country and day rollups maintained on create, delete and restore; groupBy is country, day or country,day")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved stats"),
+        @ApiResponse(responseCode = "400", description = "Invalid groupBy or date range"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    public Mono<ResponseEntity<BlogFormStats>> stats(
+            @RequestParam(defaultValue = "country") String groupBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String country) {
+        return service.stats(groupBy, from, to, country).map(ResponseEntity::ok);
+    }
+
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream blog form changes (Server-Sent Events)",
+            description = "Pushes created, updated, deleted and restored events, optionally for one country. Reconnecting with "
+                    + "Last-Event-ID (or lastEventId) replays the missed events; a reset event means they are no longer available")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Event stream opened"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public Flux<ServerSentEvent<BlogFormEvent>> events(
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(required = false) String lastEventId,
+            @RequestParam(required = false) String country) {
+        return eventService.stream(lastEventIdHeader != null ? lastEventIdHeader : lastEventId, country);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get a blog form by ID",
+            description = "Supports If-None-Match and If-Modified-Since; they are checked against version and updatedAt before the document is read")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved blog form"),
+        @ApiResponse(responseCode = "304", description = "Not modified since the given ETag or date"),
+        @ApiResponse(responseCode = "404", description = "Blog form not found"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    public Mono<ResponseEntity<BlogForm>> findById(@PathVariable String id, ServerWebExchange exchange) {
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        Mono<ResponseEntity<BlogForm>> full = service.findById(id)
+                .map(form -> BlogFormETags.validators(ResponseEntity.ok(), form).body(form));
+        if (!BlogFormETags.isConditional(headers.getFirst(HttpHeaders.IF_NONE_MATCH), headers.getFirst(HttpHeaders.IF_MODIFIED_SINCE))) {
+            return full;
+        }
+        return service.findValidators(id).flatMap(validators -> {
+            Instant lastModified = BlogFormETags.lastModified(validators);
+            boolean notModified = lastModified == null
+                    ? exchange.checkNotModified(BlogFormETags.of(validators))
+                    : exchange.checkNotModified(BlogFormETags.of(validators), lastModified);
+            return notModified
+                    ? Mono.just(BlogFormETags.validators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), validators).<BlogForm>build())
+                    : full;
+        });
+    }
+
+    @PutMapping("/{id}")
+    @Operation(summary = "Update a blog form",
+            description = "Replaces every field; with If-Match the update only applies to that version (ETag)")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Blog form updated successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid input data"),
+        @ApiResponse(responseCode = "404", description = "Blog form not found"),
+        @ApiResponse(responseCode = "409", description = "Another blog form already uses the email"),
+        @ApiResponse(responseCode = "412", description = "The blog form changed since the If-Match version"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    public Mono<ResponseEntity<BlogForm>> update(@PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody BlogFormDTO dto) {
+        return service.update(id, dto, BlogFormETags.expectedVersion(ifMatch))
+                .map(form -> BlogFormETags.validators(ResponseEntity.ok(), form).body(form));
+    }
+
+    @PatchMapping("/{id}")
+    @Operation(summary = "Partially update a blog form",
+            description = "Writes only the fields present in the body in a single operation; with If-Match the update only applies to that version (ETag)")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Blog form updated successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid input data or empty body"),
+        @ApiResponse(responseCode = "404", description = "Blog form not found"),
+        @ApiResponse(responseCode = "409", description = "Another blog form already uses the email"),
+        @ApiResponse(responseCode = "412", description = "The blog form changed since the If-Match version"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    public Mono<ResponseEntity<BlogForm>> patch(@PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Validated(BlogFormDTO.Patch.class) @RequestBody BlogFormDTO dto) {
+        return service.patch(id, dto, BlogFormETags.expectedVersion(ifMatch))
+                .map(form -> BlogFormETags.validators(ResponseEntity.ok(), form).body(form));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete a blog form", description = "Soft delete: the form is hidden at once and purged after the retention period")
+    @ApiResponses({
+        @ApiResponse(responseCode = "204", description = "Blog form deleted successfully"),
+        @ApiResponse(responseCode = "404", description = "Blog form not found"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    public Mono<ResponseEntity<Void>> delete(@PathVariable String id) {
+        return service.delete(id).then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    @PostMapping("/{id}/restore")
+    @Operation(summary = "Restore a deleted blog form",
+            description = "Undoes a delete while the document is still within the retention period")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Blog form restored"),
+        @ApiResponse(responseCode = "404", description = "No deleted blog form with this ID (never existed or already purged)"),
+        @ApiResponse(responseCode = "409", description = "Another live blog form already uses the email"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    public Mono<ResponseEntity<BlogForm>> restore(@PathVariable String id) {
+        return service.restore(id).map(ResponseEntity::ok);
+    }
+}
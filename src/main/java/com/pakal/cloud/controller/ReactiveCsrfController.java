@@ -0,0 +1,31 @@
+package com.pakal.cloud.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.security.web.server.csrf.CsrfToken;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import java.util.HashMap;
+import java.util.Map;
+
+// Misma respuesta que CsrfController; en WebFlux el token llega como Mono en los atributos del exchange
+@CrossOrigin(origins = {"http://localhost:8082", "https://java-mongo.onrender.com", "http://localhost:8083/swagger-ui/index.html", "http://localhost:8083/swagger-ui.html"})
+@RestController
+@RequestMapping("/api")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCsrfController {
+    @GetMapping("/csrf")
+    public Mono<Map<String, String>> getCsrfToken(ServerWebExchange exchange) {
+        Mono<CsrfToken> csrfToken = exchange.getAttribute(CsrfToken.class.getName());
+        return csrfToken.map(token -> {
+            Map<String, String> response = new HashMap<>();
+            response.put("csrfToken", token.getToken());
+            response.put("headerName", token.getHeaderName());
+            response.put("parameterName", token.getParameterName());
+            return response;
+        });
+    }
+}
@@ -0,0 +1,56 @@
+package com.pakal.cloud.dto;
+
+import com.pakal.cloud.errors.InvalidRequestException;
+import com.pakal.cloud.model.BlogForm;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posición de continuación para la paginación por cursor: el par (createdAt, id)
+ * del último elemento entregado, serializado como token opaco en Base64 URL-safe.
+ */
+@Getter
+@RequiredArgsConstructor
+public class BlogFormCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime createdAt;
+    private final ObjectId id;
+
+    public static BlogFormCursor of(BlogForm form) {
+        return new BlogFormCursor(form.getCreatedAt(), new ObjectId(form.getId()));
+    }
+
+    public static BlogFormCursor of(BlogFormSummary summary) {
+        return new BlogFormCursor(summary.getCreatedAt(), new ObjectId(summary.getId()));
+    }
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id.toHexString();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static BlogFormCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidRequestException("Invalid cursor");
+            }
+            LocalDateTime createdAt = LocalDateTime.parse(raw.substring(0, separator));
+            String id = raw.substring(separator + 1);
+            if (!ObjectId.isValid(id)) {
+                throw new InvalidRequestException("Invalid cursor");
+            }
+            return new BlogFormCursor(createdAt, new ObjectId(id));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+}
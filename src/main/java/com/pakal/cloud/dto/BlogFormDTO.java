@@ -4,18 +4,23 @@ package com.pakal.cloud.dto;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import jakarta.validation.groups.Default;
 import lombok.Data;
 
 @Data
 public class BlogFormDTO {
-    @Email(message = "Invalid email format")
+
+    // Validación de PATCH: los campos son opcionales, pero los que llegan deben ser válidos
+    public interface Patch {}
+
+    @Email(message = "Invalid email format", groups = {Default.class, Patch.class})
     private String email;
     
     @NotBlank(message = "Full name is required")
-    @Size(min = 3, max = 100, message = "Full name must be between 3 and 100 characters")
+    @Size(min = 3, max = 100, message = "Full name must be between 3 and 100 characters", groups = {Default.class, Patch.class})
     private String fullName;
     
-    @Size(max = 500, message = "Description cannot exceed 500 characters")
+    @Size(max = 500, message = "Description cannot exceed 500 characters", groups = {Default.class, Patch.class})
     private String description;
     
     private String country;
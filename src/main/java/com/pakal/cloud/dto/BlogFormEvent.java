@@ -0,0 +1,37 @@
+package com.pakal.cloud.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.pakal.cloud.model.BlogForm;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Cambio de un formulario publicado en GET /api/blog-forms/events. Las bajas solo traen id y país.
+ * RESET indica que el Last-Event-ID recibido ya no está en la ventana de reenvío: hay que recargar
+ * el listado.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BlogFormEvent {
+
+    public enum Type { CREATED, UPDATED, DELETED, RESTORED, RESET }
+
+    private Type type;
+    private String id;
+    private String country;
+    private BlogForm form;
+    private LocalDateTime at;
+
+    public static BlogFormEvent of(Type type, BlogForm form) {
+        return new BlogFormEvent(type, form.getId(), form.getCountry(),
+                type == Type.DELETED ? null : form, LocalDateTime.now());
+    }
+
+    public static BlogFormEvent reset() {
+        return new BlogFormEvent(Type.RESET, null, null, null, LocalDateTime.now());
+    }
+}
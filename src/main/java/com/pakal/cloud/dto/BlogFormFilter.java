@@ -0,0 +1,28 @@
+package com.pakal.cloud.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Criterios de búsqueda combinables para el listado de formularios.
+ * Los campos nulos o vacíos no se aplican.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlogFormFilter {
+    private String country;
+    private String fullName;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+
+    public boolean isEmpty() {
+        return !hasText(country) && !hasText(fullName) && startDate == null && endDate == null;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isEmpty();
+    }
+}
@@ -0,0 +1,31 @@
+package com.pakal.cloud.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * Conteo de formularios vivos agrupado por país, por día de alta o por ambos. Cada bucket solo
+ * trae los campos por los que se agrupó.
+ */
+@Data
+@AllArgsConstructor
+public class BlogFormStats {
+
+    private List<String> groupBy;
+    private long total;
+    private List<Bucket> buckets;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Bucket {
+        private String country;
+        // yyyy-MM-dd
+        private String day;
+        private long count;
+    }
+}
@@ -0,0 +1,23 @@
+package com.pakal.cloud.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * Vista parcial de un formulario para los listados con fields=. Spring Data la construye
+ * directamente desde el documento proyectado, así que solo llegan de MongoDB (y solo se
+ * serializan) los campos pedidos; description y los campos de búsqueda no se decodifican.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BlogFormSummary {
+    private String id;
+    private String email;
+    private String fullName;
+    private String description;
+    private String country;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long version;
+}
@@ -0,0 +1,45 @@
+package com.pakal.cloud.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de una carga masiva: totales por estado y el detalle de cada elemento
+ * en el mismo orden en que llegaron.
+ */
+@Data
+public class BulkIngestResult {
+
+    public enum Status { CREATED, CONFLICT, INVALID, FAILED, SKIPPED }
+
+    private int received;
+    private int created;
+    private int conflicts;
+    private int invalid;
+    private int failed;
+    private int skipped;
+    private List<ItemResult> items = new ArrayList<>();
+
+    public void add(ItemResult item) {
+        items.add(item);
+        received++;
+        switch (item.getStatus()) {
+            case CREATED -> created++;
+            case CONFLICT -> conflicts++;
+            case INVALID -> invalid++;
+            case FAILED -> failed++;
+            case SKIPPED -> skipped++;
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class ItemResult {
+        private int index;
+        private Status status;
+        private String id;
+        private String message;
+    }
+}
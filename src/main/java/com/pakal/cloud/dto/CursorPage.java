@@ -0,0 +1,18 @@
+package com.pakal.cloud.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.List;
+
+/**
+ * Respuesta de la paginación por cursor (keyset): no incluye total de elementos
+ * ni número de página, solo el token para pedir la siguiente porción.
+ */
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
@@ -0,0 +1,51 @@
+package com.pakal.cloud.errors;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Estado, cabeceras y cuerpo de las respuestas de error. Los usan GlobalErrorHandler y los filtros
+ * de admisión de los dos modelos web, así un mismo error responde igual en servlet y en WebFlux.
+ */
+public final class ErrorResponses {
+
+    public static final String UNAVAILABLE_MESSAGE = "Service temporarily unavailable, retry later";
+    public static final String REJECTED_MESSAGE = "Too many concurrent requests, retry later";
+    public static final String UNREADABLE_MESSAGE = "Failed to read HTTP message";
+
+    private ErrorResponses() {
+    }
+
+    public static ResponseEntity<String> badRequest(String message) {
+        return text(HttpStatus.BAD_REQUEST, message);
+    }
+
+    // Errores de validación: campo -> mensaje
+    public static ResponseEntity<Map<String, String>> badRequest(BindingResult bindingResult) {
+        Map<String, String> errors = new HashMap<>();
+        bindingResult.getFieldErrors().forEach(error -> errors.put(error.getField(), error.getDefaultMessage()));
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errors);
+    }
+
+    public static ResponseEntity<String> preconditionFailed(String message) {
+        return text(HttpStatus.PRECONDITION_FAILED, message);
+    }
+
+    // Retry-After en segundos enteros, como exige la cabecera, y nunca 0
+    public static ResponseEntity<String> serviceUnavailable(Duration retryAfter, String message) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfter.toSeconds())))
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(message);
+    }
+
+    private static ResponseEntity<String> text(HttpStatus status, String message) {
+        return ResponseEntity.status(status).contentType(MediaType.TEXT_PLAIN).body(message);
+    }
+}
@@ -1,19 +1,80 @@
 package com.pakal.cloud.errors;
 
+import com.mongodb.MongoExecutionTimeoutException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
-
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+import java.time.Duration;
+import java.util.Map;
 
 @ControllerAdvice
 public class GlobalErrorHandler {
 
+    @Value("${blog-form.admission.retry-after:1s}")
+    private Duration retryAfter;
+
     @ExceptionHandler(ResourceConflictException.class)
     public ResponseEntity<String> handleResourceConflict(ResourceConflictException ex) {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<String> handlePreconditionFailed(PreconditionFailedException ex) {
+        return ErrorResponses.preconditionFailed(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<String> handleInvalidRequest(InvalidRequestException ex) {
+        return ErrorResponses.badRequest(ex.getMessage());
+    }
+
+    // Aquí y no solo en GlobalExceptionHandler: el Exception.class de este advice se resolvería antes.
+    // Mismo cuerpo en los dos modelos: campo -> mensaje
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<Map<String, String>> handleValidation(MethodArgumentNotValidException ex) {
+        return ErrorResponses.badRequest(ex.getBindingResult());
+    }
+
+    // Equivalente reactivo de MethodArgumentNotValidException
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Map<String, String>> handleReactiveValidation(WebExchangeBindException ex) {
+        return ErrorResponses.badRequest(ex.getBindingResult());
+    }
+
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<String> handleUnreadableBody(HttpMessageNotReadableException ex) {
+        return ErrorResponses.badRequest(ErrorResponses.UNREADABLE_MESSAGE);
+    }
+
+    // WebFlux: cuerpo ilegible, parámetros o cabeceras que no se pueden convertir
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<String> handleReactiveInput(ServerWebInputException ex) {
+        return ErrorResponses.badRequest(ex.getReason());
+    }
+
+    // Deadline de la petición agotado o MongoDB sin responder (pool, selección de servidor, socket):
+    // el cliente puede reintentar
+    @ExceptionHandler({QueryTimeoutException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<String> handleMongoUnavailable(DataAccessException ex) {
+        return ErrorResponses.serviceUnavailable(retryAfter, ErrorResponses.UNAVAILABLE_MESSAGE);
+    }
+
+    // MongoDB abortó la consulta al superar su maxTimeMS
+    @ExceptionHandler(UncategorizedMongoDbException.class)
+    public ResponseEntity<String> handleUncategorizedMongo(UncategorizedMongoDbException ex) {
+        return ex.getCause() instanceof MongoExecutionTimeoutException ? handleMongoUnavailable(ex) : handleGenericException(ex);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleGenericException(Exception ex) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An error occurred: " + ex.getMessage());
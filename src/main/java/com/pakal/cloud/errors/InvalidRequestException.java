@@ -0,0 +1,7 @@
+package com.pakal.cloud.errors;
+
+public class InvalidRequestException extends RuntimeException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.pakal.cloud.errors;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
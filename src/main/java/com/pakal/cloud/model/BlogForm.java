@@ -1,20 +1,54 @@
 package com.pakal.cloud.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.time.LocalDateTime;
+import java.util.List;
 
+// Un índice por forma de consulta del listado; los parciales solo cubren registros no eliminados.
+// El email es único entre los registros vivos: uno eliminado no impide volver a darlo de alta.
 @Data
 @Document(collection = "blog_forms")
+@CompoundIndexes({
+    @CompoundIndex(name = "live_createdAt", def = "{'createdAt': -1, '_id': -1}", partialFilter = "{'isDeleted': false}"),
+    @CompoundIndex(name = "live_country_createdAt", def = "{'country': 1, 'createdAt': -1, '_id': -1}", partialFilter = "{'isDeleted': false}"),
+    @CompoundIndex(name = "live_country", def = "{'country': 1, '_id': 1}", partialFilter = "{'isDeleted': false}"),
+    @CompoundIndex(name = "live_updatedAt", def = "{'updatedAt': -1, '_id': -1}", partialFilter = "{'isDeleted': false}"),
+    @CompoundIndex(name = "live_fullNameNormalized", def = "{'fullNameNormalized': 1, '_id': 1}", partialFilter = "{'isDeleted': false}"),
+    @CompoundIndex(name = "live_nameTokens", def = "{'nameTokens': 1, 'createdAt': -1}", partialFilter = "{'isDeleted': false}"),
+    @CompoundIndex(name = "live_email_unique", def = "{'email': 1}", unique = true, partialFilter = "{'isDeleted': false}")
+})
 public class BlogForm {
     @Id
     private String id;
     private String email;
     private String fullName;
+    // Campos de búsqueda derivados de fullName (ver NameNormalizer); no forman parte de la API
+    @JsonIgnore
+    private String fullNameNormalized;
+    @JsonIgnore
+    private List<String> nameTokens;
     private String description;
     private String country;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private boolean isDeleted;
+    // Fecha de la baja lógica; el índice TTL purga el documento cuando vence la retención
+    @Indexed(name = "deleted_ttl", expireAfter = "30d")
+    private LocalDateTime deletedAt;
+    // Se incrementa en cada escritura y se publica como ETag; los documentos anteriores no lo tienen (equivale a 0)
+    @Version
+    private Long version;
+
+    public void setFullName(String fullName) {
+        this.fullName = fullName;
+        this.fullNameNormalized = NameNormalizer.normalize(fullName);
+        this.nameTokens = NameNormalizer.tokens(fullName);
+    }
 }
@@ -0,0 +1,28 @@
+package com.pakal.cloud.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.LocalDateTime;
+
+// Agregado incremental: número de formularios vivos por país y día de alta. Los paneles leen estos
+// documentos (uno por combinación país/día) en lugar de recorrer blog_forms.
+@Data
+@Document(collection = "blog_form_daily_stats")
+@CompoundIndex(name = "day_country", def = "{'day': 1, 'country': 1}")
+public class BlogFormDailyStats {
+    // "<día>|<país>"; el país puede faltar en formularios antiguos
+    @Id
+    private String id;
+    private String country;
+    // yyyy-MM-dd en la zona del servidor, la misma con la que se guarda createdAt
+    private String day;
+    private long count;
+    // Última escritura (incremento o reconciliación); la reconciliación borra los buckets que no tocó
+    private LocalDateTime updatedAt;
+
+    public static String key(String country, String day) {
+        return day + "|" + (country == null ? "" : country);
+    }
+}
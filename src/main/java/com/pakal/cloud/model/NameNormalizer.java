@@ -0,0 +1,38 @@
+package com.pakal.cloud.model;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Normalización de nombres para búsqueda: minúsculas, sin acentos y con cualquier carácter
+ * que no sea letra o dígito convertido en separador. "José  Pérez-Núñez" → "jose perez nunez".
+ */
+public final class NameNormalizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private NameNormalizer() {
+    }
+
+    public static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    // Palabras distintas del nombre normalizado, en orden de aparición
+    public static List<String> tokens(String value) {
+        String normalized = normalize(value);
+        if (normalized == null || normalized.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(normalized.split(" ")).distinct().collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,50 @@
+package com.pakal.cloud.monitoring;
+
+import com.pakal.cloud.repository.BlogFormIndexManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.stereotype.Component;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Endpoint de actuator {@code /actuator/indexes}: índices declarados frente a los existentes
+ * y el plan ganador de cada forma de consulta del repositorio.
+ */
+@Component
+@Endpoint(id = "indexes")
+@RequiredArgsConstructor
+public class IndexReportEndpoint {
+
+    private final BlogFormIndexManager indexManager;
+
+    @ReadOperation
+    public Map<String, Object> report() {
+        List<BlogFormIndexManager.QueryPlan> plans = indexManager.explainQueryShapes();
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("collection", indexManager.collectionName());
+        report.put("declared", indexManager.declaredIndexes().stream()
+                .map(IndexReportEndpoint::describe)
+                .collect(Collectors.toList()));
+        report.put("existing", indexManager.existingIndexes());
+        report.put("missing", indexManager.missingIndexes());
+        report.put("collectionScans", plans.stream()
+                .filter(BlogFormIndexManager.QueryPlan::isCollectionScan)
+                .map(BlogFormIndexManager.QueryPlan::getName)
+                .collect(Collectors.toList()));
+        report.put("queries", plans);
+        return report;
+    }
+
+    private static Map<String, Object> describe(IndexDefinition definition) {
+        Map<String, Object> index = new LinkedHashMap<>();
+        index.put("keys", definition.getIndexKeys());
+        index.put("options", definition.getIndexOptions());
+        return index;
+    }
+}
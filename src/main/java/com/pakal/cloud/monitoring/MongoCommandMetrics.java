@@ -0,0 +1,244 @@
+package com.pakal.cloud.monitoring;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonRegularExpression;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Complementa las métricas del driver que registra Spring Boot (mongodb.driver.commands por comando
+ * y colección, mongodb.driver.pool.*) con los documentos que devuelve o afecta cada comando y un
+ * log de comandos lentos con la forma del filtro: los valores se sustituyen por "?" para que no
+ * salgan datos personales en el log y para que consultas iguales con valores distintos se agrupen.
+ * <p>
+ * El driver no ve los documentos examinados (docsExamined solo sale en el profiler o en explain):
+ * una consulta que recorre la colección y devuelve 20 documentos cuenta 20. Para eso está
+ * /actuator/indexes.
+ */
+@Slf4j
+public class MongoCommandMetrics implements CommandListener {
+
+    private static final String PLACEHOLDER = "?";
+    private static final BsonString HIDDEN = new BsonString(PLACEHOLDER);
+    private static final BsonString REGEX = new BsonString("/?/");
+    // Operadores cuyo argumento es una lista de subconsultas y no de valores
+    private static final Set<String> LOGICAL_OPERATORS = Set.of("$and", "$or", "$nor");
+    // Su "n" son documentos escritos o encontrados por la escritura, no devueltos
+    private static final Set<String> WRITE_COMMANDS = Set.of("insert", "update", "delete");
+
+    private final MeterRegistry registry;
+    private final long slowThresholdNanos;
+    // Comandos en curso: la colección y la parte del comando que describe la consulta
+    private final Map<Integer, StartedCommand> started = new ConcurrentHashMap<>();
+
+    public MongoCommandMetrics(MeterRegistry registry, Duration slowThreshold) {
+        this.registry = registry;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        BsonDocument command = event.getCommand();
+        started.put(event.getRequestId(), new StartedCommand(collection(event.getCommandName(), command),
+                snapshot(event.getCommandName(), command)));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        StartedCommand command = started.remove(event.getRequestId());
+        if (command == null) {
+            return;
+        }
+        long documents = documents(event.getCommandName(), event.getResponse());
+        if (documents >= 0) {
+            boolean write = WRITE_COMMANDS.contains(event.getCommandName());
+            DistributionSummary.builder(write ? "blog.form.mongo.documents.affected" : "blog.form.mongo.documents.returned")
+                    .description(write
+                            ? "Documents inserted, matched by an update or deleted by a MongoDB command"
+                            : "Documents returned by a MongoDB command (cursor batch or findAndModify value)")
+                    .tag("command", event.getCommandName())
+                    .tag("collection", command.collection())
+                    .register(registry)
+                    .record(documents);
+        }
+        long elapsed = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        if (elapsed >= slowThresholdNanos) {
+            countSlow(event.getCommandName(), command);
+            log.warn("Slow MongoDB command {} on {}: {} ms, {} documents, shape {}", event.getCommandName(),
+                    command.collection(), TimeUnit.NANOSECONDS.toMillis(elapsed), documents,
+                    shapeJson(event.getCommandName(), command));
+        }
+    }
+
+    // Un deadline agotado (maxTimeMS) también es un comando lento
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        StartedCommand command = started.remove(event.getRequestId());
+        if (command == null) {
+            return;
+        }
+        long elapsed = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        if (elapsed >= slowThresholdNanos) {
+            countSlow(event.getCommandName(), command);
+            log.warn("Slow MongoDB command {} on {} failed after {} ms: {}, shape {}", event.getCommandName(),
+                    command.collection(), TimeUnit.NANOSECONDS.toMillis(elapsed), event.getThrowable().getMessage(),
+                    shapeJson(event.getCommandName(), command));
+        }
+    }
+
+    private void countSlow(String commandName, StartedCommand command) {
+        Counter.builder("blog.form.mongo.slow")
+                .description("MongoDB commands slower than the slow query threshold")
+                .tag("command", commandName)
+                .tag("collection", command.collection())
+                .register(registry)
+                .increment();
+    }
+
+    // La forma (con los valores ocultos) solo se construye para los comandos lentos
+    private static String shapeJson(String commandName, StartedCommand command) {
+        BsonDocument shape = command.query() == null ? null : shape(commandName, command.query());
+        return shape == null ? "-" : shape.toJson();
+    }
+
+    // Los documentos del evento leen del buffer de red, que el driver libera al enviar el comando: se
+    // conserva una copia plana (un solo byte[] en los comandos que llegan como documento binario) de
+    // la parte que necesita shape(); los documentos de un insert no se copian
+    static BsonDocument snapshot(String commandName, BsonDocument command) {
+        return switch (commandName) {
+            case "find", "count", "distinct", "findAndModify", "aggregate" -> command.clone();
+            case "update" -> firstStatementSnapshot(command, "updates");
+            case "delete" -> firstStatementSnapshot(command, "deletes");
+            default -> null;
+        };
+    }
+
+    private static BsonDocument firstStatementSnapshot(BsonDocument command, String field) {
+        if (command.isArray(field) && !command.getArray(field).isEmpty() && command.getArray(field).get(0).isDocument()) {
+            BsonArray first = new BsonArray();
+            first.add(command.getArray(field).get(0).asDocument().clone());
+            return new BsonDocument(field, first);
+        }
+        return null;
+    }
+
+    // El primer campo del comando es su nombre y su valor, la colección (getMore la lleva aparte)
+    static String collection(String commandName, BsonDocument command) {
+        BsonValue value = "getMore".equals(commandName) ? command.get("collection") : command.get(commandName);
+        return value != null && value.isString() ? value.asString().getValue() : "none";
+    }
+
+    // Filtro, orden y etapas de agregación que determinan el plan, con los valores ocultos
+    static BsonDocument shape(String commandName, BsonDocument command) {
+        BsonDocument shape = new BsonDocument();
+        switch (commandName) {
+            case "find" -> {
+                copyShape(command, "filter", shape);
+                copy(command, "sort", shape);
+                copy(command, "projection", shape);
+            }
+            case "count", "distinct", "findAndModify" -> copyShape(command, "query", shape);
+            case "update" -> firstStatement(command, "updates", shape);
+            case "delete" -> firstStatement(command, "deletes", shape);
+            case "aggregate" -> {
+                if (command.isArray("pipeline")) {
+                    shape.put("pipeline", pipelineShape(command.getArray("pipeline")));
+                }
+            }
+            default -> {
+                return null;
+            }
+        }
+        return shape;
+    }
+
+    // Documentos de la respuesta: el lote del cursor, el de findAndModify o n de update/delete/insert.
+    // count devuelve un número, no documentos: no se registra
+    static long documents(String commandName, BsonDocument response) {
+        if (response.isDocument("cursor")) {
+            BsonDocument cursor = response.getDocument("cursor");
+            String batch = "getMore".equals(commandName) ? "nextBatch" : "firstBatch";
+            return cursor.isArray(batch) ? cursor.getArray(batch).size() : -1;
+        }
+        if ("findAndModify".equals(commandName)) {
+            return response.isDocument("value") ? 1 : 0;
+        }
+        if (WRITE_COMMANDS.contains(commandName) && response.isNumber("n")) {
+            return response.getNumber("n").longValue();
+        }
+        return -1;
+    }
+
+    static BsonValue hideValues(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument shape = new BsonDocument();
+            for (Map.Entry<String, BsonValue> entry : value.asDocument().entrySet()) {
+                BsonValue field = entry.getValue();
+                shape.put(entry.getKey(), LOGICAL_OPERATORS.contains(entry.getKey()) && field.isArray()
+                        ? hideEach(field.asArray())
+                        : hideValues(field));
+            }
+            return shape;
+        }
+        return value instanceof BsonRegularExpression ? REGEX : HIDDEN;
+    }
+
+    private static BsonArray hideEach(BsonArray clauses) {
+        BsonArray shape = new BsonArray();
+        clauses.forEach(clause -> shape.add(hideValues(clause)));
+        return shape;
+    }
+
+    private static BsonArray pipelineShape(BsonArray pipeline) {
+        BsonArray shape = new BsonArray();
+        for (BsonValue stage : pipeline) {
+            if (!stage.isDocument() || stage.asDocument().isEmpty()) {
+                continue;
+            }
+            String name = stage.asDocument().getFirstKey();
+            BsonValue body = stage.asDocument().get(name);
+            shape.add(new BsonDocument(name, switch (name) {
+                case "$match" -> hideValues(body);
+                case "$sort" -> body;
+                default -> HIDDEN;
+            }));
+        }
+        return shape;
+    }
+
+    private static void firstStatement(BsonDocument command, String field, BsonDocument shape) {
+        if (command.isArray(field) && !command.getArray(field).isEmpty() && command.getArray(field).get(0).isDocument()) {
+            copyShape(command.getArray(field).get(0).asDocument(), "q", shape);
+        }
+    }
+
+    private static void copyShape(BsonDocument source, String field, BsonDocument shape) {
+        if (source.isDocument(field)) {
+            shape.put(field, hideValues(source.getDocument(field)));
+        }
+    }
+
+    // El orden y la proyección no llevan datos: se copian tal cual
+    private static void copy(BsonDocument source, String field, BsonDocument shape) {
+        if (source.isDocument(field)) {
+            shape.put(field, source.getDocument(field));
+        }
+    }
+
+    private record StartedCommand(String collection, BsonDocument query) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.pakal.cloud.monitoring;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Misma línea muestreada que RequestLoggingFilter, para el perfil reactivo
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRequestLoggingFilter implements WebFilter {
+
+    @Value("${blog-form.logging.requests.sample-rate:0.01}")
+    private double sampleRate;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!log.isInfoEnabled()) {
+            return chain.filter(exchange);
+        }
+        long begin = System.nanoTime();
+        // El estado se lee al confirmar la respuesta: al terminar, el servidor puede haberla reciclado
+        AtomicInteger status = new AtomicInteger();
+        exchange.getResponse().beforeCommit(() -> {
+            HttpStatusCode code = exchange.getResponse().getStatusCode();
+            status.set(code == null ? 200 : code.value());
+            return Mono.empty();
+        });
+        return chain.filter(exchange).doFinally(signal -> {
+            int code = status.get() != 0 ? status.get() : signal == SignalType.ON_ERROR ? 500 : 200;
+            if (code >= 500 || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+                log.info("{} {} -> {} in {} ms", exchange.getRequest().getMethod(), exchange.getRequest().getPath(),
+                        code, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
+            }
+        });
+    }
+}
@@ -0,0 +1,32 @@
+package com.pakal.cloud.monitoring;
+
+import com.pakal.cloud.service.BlogFormStatsReconciler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+import java.util.Map;
+
+/**
+ * Endpoint de actuator {@code /actuator/stats}: estado de la última reconciliación de los agregados
+ * de estadísticas (GET) y reconstrucción inmediata (POST).
+ */
+@Component
+@Endpoint(id = "stats")
+@RequiredArgsConstructor
+public class StatsReconciliationEndpoint {
+
+    private final BlogFormStatsReconciler reconciler;
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        return reconciler.status();
+    }
+
+    @WriteOperation
+    public Map<String, Object> reconcile() {
+        reconciler.reconcile();
+        return reconciler.status();
+    }
+}
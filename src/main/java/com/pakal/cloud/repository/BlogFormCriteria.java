@@ -0,0 +1,71 @@
+package com.pakal.cloud.repository;
+
+import com.pakal.cloud.dto.BlogFormCursor;
+import com.pakal.cloud.dto.BlogFormFilter;
+import com.pakal.cloud.errors.InvalidRequestException;
+import com.pakal.cloud.model.NameNormalizer;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Construcción de los criterios de consulta del listado. Compartida por el repositorio
+ * y por la verificación de índices para que ambos vean exactamente la misma forma de consulta.
+ */
+public final class BlogFormCriteria {
+
+    private BlogFormCriteria() {
+    }
+
+    public static Criteria of(BlogFormFilter filter) {
+        return of(filter, null, null);
+    }
+
+    public static Criteria of(BlogFormFilter filter, BlogFormCursor after, Sort.Direction direction) {
+        List<Criteria> criteria = new ArrayList<>();
+        criteria.add(Criteria.where("isDeleted").is(false));
+
+        if (filter.getCountry() != null && !filter.getCountry().isEmpty()) {
+            criteria.add(Criteria.where("country").is(filter.getCountry()));
+        }
+        // Cada palabra buscada debe ser prefijo de alguna palabra del nombre: "juan per" encuentra
+        // "Juan Pérez". Los prefijos anclados sobre nameTokens se resuelven con el índice multiclave.
+        // Los tokens solo tienen letras y dígitos: no se escapan, así MongoDB puede acotar el rango
+        if (filter.getFullName() != null && !filter.getFullName().isEmpty()) {
+            List<String> tokens = NameNormalizer.tokens(filter.getFullName());
+            // Sin letras ni dígitos no queda nada que buscar: no se devuelve el listado sin filtrar
+            if (tokens.isEmpty()) {
+                throw new InvalidRequestException("FullName must contain at least one letter or digit");
+            }
+            for (String token : tokens) {
+                criteria.add(Criteria.where("nameTokens").regex("^" + token));
+            }
+        }
+        if (filter.getStartDate() != null || filter.getEndDate() != null) {
+            Criteria createdAt = Criteria.where("createdAt");
+            if (filter.getStartDate() != null) {
+                createdAt.gte(filter.getStartDate());
+            }
+            if (filter.getEndDate() != null) {
+                createdAt.lte(filter.getEndDate());
+            }
+            criteria.add(createdAt);
+        }
+        if (after != null) {
+            criteria.add(keysetCriteria(after, direction));
+        }
+        return new Criteria().andOperator(criteria);
+    }
+
+    private static Criteria keysetCriteria(BlogFormCursor after, Sort.Direction direction) {
+        if (direction.isDescending()) {
+            return new Criteria().orOperator(
+                    Criteria.where("createdAt").lt(after.getCreatedAt()),
+                    Criteria.where("createdAt").is(after.getCreatedAt()).and("_id").lt(after.getId()));
+        }
+        return new Criteria().orOperator(
+                Criteria.where("createdAt").gt(after.getCreatedAt()),
+                Criteria.where("createdAt").is(after.getCreatedAt()).and("_id").gt(after.getId()));
+    }
+}
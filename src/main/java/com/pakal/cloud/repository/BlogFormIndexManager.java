@@ -0,0 +1,212 @@
+package com.pakal.cloud.repository;
+
+import com.pakal.cloud.model.BlogForm;
+import com.pakal.cloud.model.BlogFormDailyStats;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Crea y verifica los índices declarados en {@link BlogForm}. La creación automática de
+ * Spring Data está desactivada por defecto, así que se hace aquí al arrancar. El índice único
+ * de email se crea antes de aceptar tráfico y, si no se puede, el arranque falla: create y la
+ * carga masiva dependen de él para rechazar duplicados. El resto se crea en segundo plano.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BlogFormIndexManager {
+
+    public static final String EMAIL_UNIQUE_INDEX = "live_email_unique";
+    // Índices de versiones anteriores que ya tienen sustituto declarado en BlogForm. email_unique
+    // (no parcial) también cubre los eliminados e impide volver a dar de alta un email borrado
+    static final List<String> REPLACED_INDEXES = List.of("live_fullName", "email_unique");
+
+    private final MongoTemplate mongoTemplate;
+    // Ejecutor de Spring Boot: usa hilos virtuales si spring.threads.virtual.enabled=true
+    private final TaskExecutor applicationTaskExecutor;
+
+    @Value("${blog-form.indexes.ensure-on-startup:true}")
+    private boolean ensureOnStartup;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (ensureOnStartup) {
+            // Antes de que la aplicación pase a ready; una excepción aquí detiene el arranque
+            ensureEmailUniqueIndex();
+            // En segundo plano: un MongoDB lento no debe retrasar el arranque
+            CompletableFuture.runAsync(this::ensureAndVerify, applicationTaskExecutor);
+        }
+    }
+
+    // Sin este índice el insert de create acepta emails duplicados sin ningún error
+    public void ensureEmailUniqueIndex() {
+        try {
+            IndexDefinition definition = declaredIndexes().stream()
+                    .filter(index -> EMAIL_UNIQUE_INDEX.equals(index.getIndexOptions().getString("name")))
+                    .findFirst()
+                    .orElseThrow();
+            IndexOperations indexOps = mongoTemplate.indexOps(BlogForm.class);
+            try {
+                indexOps.ensureIndex(definition);
+            } catch (RuntimeException e) {
+                // Servidores que no admiten dos índices con las mismas claves: primero el antiguo fuera
+                if (!existingIndexes().contains("email_unique")) {
+                    throw e;
+                }
+                log.info("Dropping replaced index email_unique on {} before creating {}", collectionName(), EMAIL_UNIQUE_INDEX);
+                indexOps.dropIndex("email_unique");
+                indexOps.ensureIndex(definition);
+            }
+            if (!existingIndexes().contains(EMAIL_UNIQUE_INDEX)) {
+                throw new IllegalStateException("index was not created");
+            }
+            dropReplacedIndexes();
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Could not ensure unique index " + EMAIL_UNIQUE_INDEX + " on "
+                    + collectionName() + " (duplicate live emails, an option conflict or MongoDB unreachable): "
+                    + e.getMessage(), e);
+        }
+        log.info("Unique index {} on {} is present", EMAIL_UNIQUE_INDEX, collectionName());
+    }
+
+    private void ensureAndVerify() {
+        try {
+            ensureIndexes();
+            List<String> missing = missingIndexes();
+            if (missing.isEmpty()) {
+                log.info("All declared indexes on {} are present", collectionName());
+            } else {
+                log.warn("Missing indexes on {}: {}", collectionName(), missing);
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not ensure indexes on {}: {}", collectionName(), e.getMessage());
+        }
+    }
+
+    public void ensureIndexes() {
+        IndexOperations indexOps = mongoTemplate.indexOps(BlogForm.class);
+        for (IndexDefinition definition : declaredIndexes()) {
+            indexOps.ensureIndex(definition);
+        }
+        dropReplacedIndexes();
+        IndexOperations statsIndexOps = mongoTemplate.indexOps(BlogFormDailyStats.class);
+        IndexResolver.create(mongoTemplate.getConverter().getMappingContext())
+                .resolveIndexFor(BlogFormDailyStats.class)
+                .forEach(statsIndexOps::ensureIndex);
+    }
+
+    // Después de crear sus sustitutos, para no dejar huecos (p. ej. sin unicidad de email)
+    private void dropReplacedIndexes() {
+        IndexOperations indexOps = mongoTemplate.indexOps(BlogForm.class);
+        List<String> existing = existingIndexes();
+        for (String name : REPLACED_INDEXES) {
+            if (existing.contains(name)) {
+                log.info("Dropping replaced index {} on {}", name, collectionName());
+                indexOps.dropIndex(name);
+            }
+        }
+    }
+
+    public List<IndexDefinition> declaredIndexes() {
+        IndexResolver resolver = IndexResolver.create(mongoTemplate.getConverter().getMappingContext());
+        List<IndexDefinition> definitions = new ArrayList<>();
+        resolver.resolveIndexFor(BlogForm.class).forEach(definitions::add);
+        return definitions;
+    }
+
+    public List<String> existingIndexes() {
+        return mongoTemplate.indexOps(BlogForm.class).getIndexInfo().stream()
+                .map(IndexInfo::getName)
+                .collect(Collectors.toList());
+    }
+
+    public List<String> missingIndexes() {
+        Set<String> existing = Set.copyOf(existingIndexes());
+        return declaredIndexes().stream()
+                .map(definition -> definition.getIndexOptions().getString("name"))
+                .filter(name -> !existing.contains(name))
+                .collect(Collectors.toList());
+    }
+
+    // Ejecuta explain (queryPlanner) sobre cada forma de consulta del repositorio
+    public List<QueryPlan> explainQueryShapes() {
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(BlogForm.class);
+        QueryMapper mapper = new QueryMapper(mongoTemplate.getConverter());
+        List<QueryPlan> plans = new ArrayList<>();
+        for (Map.Entry<String, Query> shape : BlogFormQueryShapes.all().entrySet()) {
+            Document find = new Document("find", collectionName())
+                    .append("filter", mapper.getMappedObject(shape.getValue().getQueryObject(), entity));
+            if (shape.getValue().isSorted()) {
+                find.append("sort", mapper.getMappedSort(shape.getValue().getSortObject(), entity));
+            }
+            Document explain = mongoTemplate.getDb()
+                    .runCommand(new Document("explain", find).append("verbosity", "queryPlanner"));
+            Document winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+            List<String> stages = new ArrayList<>();
+            List<String> indexes = new ArrayList<>();
+            collectStages(winningPlan, stages, indexes);
+            plans.add(new QueryPlan(shape.getKey(), find.toJson(), stages, indexes, stages.contains("COLLSCAN")));
+        }
+        return plans;
+    }
+
+    public String collectionName() {
+        return mongoTemplate.getCollectionName(BlogForm.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void collectStages(Document plan, List<String> stages, List<String> indexes) {
+        if (plan == null) {
+            return;
+        }
+        // A partir de MongoDB 7 el plan puede venir envuelto en "queryPlan"
+        if (plan.containsKey("queryPlan")) {
+            collectStages(plan.get("queryPlan", Document.class), stages, indexes);
+            return;
+        }
+        if (plan.getString("stage") != null) {
+            stages.add(plan.getString("stage"));
+        }
+        if (plan.getString("indexName") != null) {
+            indexes.add(plan.getString("indexName"));
+        }
+        collectStages(plan.get("inputStage", Document.class), stages, indexes);
+        List<Document> inputStages = plan.get("inputStages", List.class);
+        if (inputStages != null) {
+            inputStages.forEach(input -> collectStages(input, stages, indexes));
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class QueryPlan {
+        private String name;
+        private String command;
+        private List<String> stages;
+        private List<String> indexes;
+        private boolean collectionScan;
+    }
+}
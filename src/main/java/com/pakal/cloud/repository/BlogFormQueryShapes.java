@@ -0,0 +1,40 @@
+package com.pakal.cloud.repository;
+
+import com.pakal.cloud.dto.BlogFormCursor;
+import com.pakal.cloud.dto.BlogFormFilter;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Query;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Formas de consulta que emite el repositorio, con valores de ejemplo.
+ * Se usan para comprobar con explain que cada una tiene un índice que la respalde.
+ */
+public final class BlogFormQueryShapes {
+
+    private BlogFormQueryShapes() {
+    }
+
+    public static Map<String, Query> all() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Query> shapes = new LinkedHashMap<>();
+        shapes.put("findByFilter", listing(new BlogFormFilter(), "createdAt"));
+        shapes.put("findByFilter[country]", listing(new BlogFormFilter("MX", null, null, null), "createdAt"));
+        shapes.put("findByFilter[fullName]", listing(new BlogFormFilter(null, "Juan Pér", null, null), "createdAt"));
+        shapes.put("findByFilter[dateRange]", listing(new BlogFormFilter(null, null, now.minusDays(7), now), "createdAt"));
+        shapes.put("findByFilter[sort=updatedAt]", listing(new BlogFormFilter(), "updatedAt"));
+        shapes.put("findByFilter[sort=fullName]", listing(new BlogFormFilter(), "fullNameNormalized"));
+        shapes.put("findByFilter[sort=country]", listing(new BlogFormFilter(), "country"));
+        shapes.put("findSliceByFilter[cursor]", new Query(BlogFormCriteria.of(new BlogFormFilter(),
+                new BlogFormCursor(now, new ObjectId()), Sort.Direction.DESC))
+                .with(Sort.by(Sort.Direction.DESC, "createdAt", "id")));
+        return shapes;
+    }
+
+    private static Query listing(BlogFormFilter filter, String sortBy) {
+        return new Query(BlogFormCriteria.of(filter)).with(Sort.by(Sort.Direction.DESC, sortBy, "id"));
+    }
+}
@@ -0,0 +1,67 @@
+package com.pakal.cloud.repository;
+
+import com.pakal.cloud.dto.BlogFormCursor;
+import com.pakal.cloud.dto.BlogFormDTO;
+import com.pakal.cloud.dto.BlogFormFilter;
+import com.pakal.cloud.dto.BlogFormSummary;
+import com.mongodb.bulk.BulkWriteError;
+import com.pakal.cloud.model.BlogForm;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface BlogFormRepositoryCustom {
+
+    // Las lecturas llevan el deadline de la petición (QueryDeadline) como maxTimeMS
+
+    Optional<BlogForm> findByIdAndIsDeletedFalse(String id);
+
+    // Solo los validadores HTTP (version, updatedAt) de un registro vivo
+    Optional<BlogForm> findValidatorsById(String id);
+
+    // Todos los filtros presentes se combinan en una sola consulta
+    Page<BlogForm> findByFilter(BlogFormFilter filter, Pageable pageable);
+
+    // Paginación por rango sobre (createdAt, _id) a partir del cursor; sin skip ni count
+    Slice<BlogForm> findSliceByFilter(BlogFormFilter filter, BlogFormCursor after, Pageable pageable);
+
+    // Mismos listados proyectados: MongoDB devuelve solo los campos indicados (nombres de la API)
+    Page<BlogFormSummary> findSummariesByFilter(BlogFormFilter filter, Collection<String> fields, Pageable pageable);
+
+    Slice<BlogFormSummary> findSummarySliceByFilter(BlogFormFilter filter, BlogFormCursor after, Collection<String> fields, Pageable pageable);
+
+    // Cursor de MongoDB sobre los mismos filtros del listado; quien lo consume debe cerrarlo
+    Stream<BlogForm> streamByFilter(BlogFormFilter filter, Sort sort, int batchSize);
+
+    // Escribe los campos en un solo findAndModify ($set + $inc de la versión). Con partial solo se
+    // escriben los campos no nulos; con expectedVersion la escritura exige esa versión.
+    // null si no hay un registro vivo con ese id (y versión)
+    BlogForm updateFields(String id, BlogFormDTO changes, boolean partial, Long expectedVersion);
+
+    // La misma escritura, pero devuelve también país y fecha de alta anteriores para mover el alta de
+    // bucket en las estadísticas cuando cambia el país. El documento nuevo se construye a partir del
+    // anterior y de los valores escritos, sin volver a leerlo. null como en updateFields
+    Revision updateFieldsWithPrevious(String id, BlogFormDTO changes, boolean partial, Long expectedVersion);
+
+    // Resultado de updateFieldsWithPrevious: previous solo lleva country y createdAt
+    record Revision(BlogForm previous, BlogForm current) {
+    }
+
+    // Baja lógica en un solo viaje (findAndModify); devuelve país y fecha de alta previos para
+    // descontarlo de las estadísticas, o null si no existe o ya estaba eliminado
+    BlogForm softDelete(String id);
+
+    // Deshace la baja lógica; null si no existe, ya se purgó o no estaba eliminado
+    BlogForm restore(String id);
+
+    // Rellena fullNameNormalized/nameTokens en documentos anteriores a la búsqueda por prefijo
+    long backfillSearchFields(int batchSize);
+
+    // Inserta el lote en una sola operación bulk; devuelve los errores por posición dentro del lote
+    List<BulkWriteError> insertBatch(List<BlogForm> forms, boolean ordered);
+}
@@ -0,0 +1,268 @@
+package com.pakal.cloud.repository;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.pakal.cloud.dto.BlogFormCursor;
+import com.pakal.cloud.dto.BlogFormDTO;
+import com.pakal.cloud.dto.BlogFormFilter;
+import com.pakal.cloud.dto.BlogFormSummary;
+import com.pakal.cloud.model.BlogForm;
+import com.pakal.cloud.model.NameNormalizer;
+import org.bson.Document;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.support.PageableExecutionUtils;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class BlogFormRepositoryCustomImpl implements BlogFormRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<BlogForm> findByIdAndIsDeletedFalse(String id) {
+        return Optional.ofNullable(mongoTemplate.findOne(QueryDeadline.apply(byId(id, false)), BlogForm.class));
+    }
+
+    @Override
+    public Optional<BlogForm> findValidatorsById(String id) {
+        return Optional.ofNullable(mongoTemplate.findOne(QueryDeadline.apply(validatorsQuery(id)), BlogForm.class));
+    }
+
+    @Override
+    public Page<BlogForm> findByFilter(BlogFormFilter filter, Pageable pageable) {
+        Query query = new Query(BlogFormCriteria.of(filter)).with(pageable);
+        List<BlogForm> content = mongoTemplate.find(QueryDeadline.apply(query), BlogForm.class);
+        // El count solo se ejecuta si el tamaño de la página no permite deducir el total
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> mongoTemplate.count(QueryDeadline.apply(countQuery(query)), BlogForm.class));
+    }
+
+    @Override
+    public Slice<BlogForm> findSliceByFilter(BlogFormFilter filter, BlogFormCursor after, Pageable pageable) {
+        return toSlice(mongoTemplate.find(QueryDeadline.apply(sliceQuery(filter, after, pageable)), BlogForm.class), pageable);
+    }
+
+    @Override
+    public Page<BlogFormSummary> findSummariesByFilter(BlogFormFilter filter, Collection<String> fields, Pageable pageable) {
+        Query query = project(new Query(BlogFormCriteria.of(filter)).with(pageable), fields);
+        List<BlogFormSummary> content = mongoTemplate.query(BlogForm.class).as(BlogFormSummary.class)
+                .matching(QueryDeadline.apply(query)).all();
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> mongoTemplate.count(QueryDeadline.apply(countQuery(query)), BlogForm.class));
+    }
+
+    @Override
+    public Slice<BlogFormSummary> findSummarySliceByFilter(BlogFormFilter filter, BlogFormCursor after, Collection<String> fields, Pageable pageable) {
+        Query query = project(sliceQuery(filter, after, pageable), fields);
+        return toSlice(mongoTemplate.query(BlogForm.class).as(BlogFormSummary.class)
+                .matching(QueryDeadline.apply(query)).all(), pageable);
+    }
+
+    // Mismo filtro sin paginar; el deadline se vuelve a calcular al contar
+    static Query countQuery(Query query) {
+        return Query.of(query).limit(-1).skip(-1);
+    }
+
+    // Rango sobre (createdAt, _id) a partir del cursor; se pide un elemento de más para saber si hay siguiente
+    static Query sliceQuery(BlogFormFilter filter, BlogFormCursor after, Pageable pageable) {
+        Sort.Order order = pageable.getSort().getOrderFor("createdAt");
+        Sort.Direction direction = order != null ? order.getDirection() : Sort.Direction.DESC;
+        return new Query(BlogFormCriteria.of(filter, after, direction))
+                .with(pageable.getSort())
+                .limit(pageable.getPageSize() + 1);
+    }
+
+    static <T> Slice<T> toSlice(List<T> content, Pageable pageable) {
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    // Los nombres de la API se traducen a los del documento (id -> _id) al mapear la consulta
+    static Query project(Query query, Collection<String> fields) {
+        query.fields().include(fields.toArray(String[]::new));
+        return query;
+    }
+
+    @Override
+    public Stream<BlogForm> streamByFilter(BlogFormFilter filter, Sort sort, int batchSize) {
+        Query query = new Query(BlogFormCriteria.of(filter)).with(sort).cursorBatchSize(batchSize);
+        return mongoTemplate.stream(QueryDeadline.apply(query), BlogForm.class);
+    }
+
+    @Override
+    public BlogForm updateFields(String id, BlogFormDTO changes, boolean partial, Long expectedVersion) {
+        return mongoTemplate.findAndModify(byVersion(id, expectedVersion), fieldsUpdate(changes, partial),
+                FindAndModifyOptions.options().returnNew(true), BlogForm.class);
+    }
+
+    @Override
+    public Revision updateFieldsWithPrevious(String id, BlogFormDTO changes, boolean partial, Long expectedVersion) {
+        LocalDateTime updatedAt = updateTime();
+        BlogForm previous = mongoTemplate.findAndModify(byVersion(id, expectedVersion),
+                fieldsUpdate(changes, partial, updatedAt), BlogForm.class);
+        return previous == null ? null : revision(previous, changes, partial, updatedAt);
+    }
+
+    @Override
+    public BlogForm softDelete(String id) {
+        return mongoTemplate.findAndModify(softDeleteQuery(id), softDeleteUpdate(), BlogForm.class);
+    }
+
+    @Override
+    public BlogForm restore(String id) {
+        return mongoTemplate.findAndModify(byId(id, true), restoreUpdate(),
+                FindAndModifyOptions.options().returnNew(true), BlogForm.class);
+    }
+
+    // Documento por _id en el estado de baja indicado
+    static Query byId(String id, boolean deleted) {
+        return new Query(Criteria.where("id").is(id).and("isDeleted").is(deleted));
+    }
+
+    static Query validatorsQuery(String id) {
+        Query query = byId(id, false);
+        query.fields().include("version", "updatedAt");
+        return query;
+    }
+
+    static Query softDeleteQuery(String id) {
+        return statsFields(byId(id, false));
+    }
+
+    // Solo lo que necesitan las estadísticas del documento anterior a la escritura
+    static Query statsFields(Query query) {
+        query.fields().include("country", "createdAt");
+        return query;
+    }
+
+    // Registro vivo por _id; si se indica, solo en la versión esperada
+    static Query byVersion(String id, Long expectedVersion) {
+        Query query = byId(id, false);
+        if (expectedVersion != null) {
+            // Los documentos anteriores a @Version no tienen el campo y cuentan como versión 0
+            query.addCriteria(expectedVersion == 0
+                    ? Criteria.where("version").in(0L, null)
+                    : Criteria.where("version").is(expectedVersion));
+        }
+        return query;
+    }
+
+    static Update fieldsUpdate(BlogFormDTO changes, boolean partial) {
+        return fieldsUpdate(changes, partial, LocalDateTime.now());
+    }
+
+    static Update fieldsUpdate(BlogFormDTO changes, boolean partial, LocalDateTime updatedAt) {
+        Update update = new Update();
+        if (!partial || changes.getEmail() != null) {
+            update.set("email", changes.getEmail());
+        }
+        if (!partial || changes.getFullName() != null) {
+            update.set("fullName", changes.getFullName())
+                    .set("fullNameNormalized", NameNormalizer.normalize(changes.getFullName()))
+                    .set("nameTokens", NameNormalizer.tokens(changes.getFullName()));
+        }
+        if (!partial || changes.getDescription() != null) {
+            update.set("description", changes.getDescription());
+        }
+        if (!partial || changes.getCountry() != null) {
+            update.set("country", changes.getCountry());
+        }
+        return update.set("updatedAt", updatedAt).inc("version", 1);
+    }
+
+    // Con la precisión que guarda MongoDB: la respuesta construida en memoria coincide con una lectura posterior
+    static LocalDateTime updateTime() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    // Aplica al documento anterior los mismos campos que fieldsUpdate y el $inc de la versión
+    static Revision revision(BlogForm current, BlogFormDTO changes, boolean partial, LocalDateTime updatedAt) {
+        BlogForm previous = new BlogForm();
+        previous.setCountry(current.getCountry());
+        previous.setCreatedAt(current.getCreatedAt());
+        if (!partial || changes.getEmail() != null) {
+            current.setEmail(changes.getEmail());
+        }
+        if (!partial || changes.getFullName() != null) {
+            current.setFullName(changes.getFullName());
+        }
+        if (!partial || changes.getDescription() != null) {
+            current.setDescription(changes.getDescription());
+        }
+        if (!partial || changes.getCountry() != null) {
+            current.setCountry(changes.getCountry());
+        }
+        current.setUpdatedAt(updatedAt);
+        current.setVersion(current.getVersion() == null ? 1L : current.getVersion() + 1);
+        return new Revision(previous, current);
+    }
+
+    static Update softDeleteUpdate() {
+        LocalDateTime now = LocalDateTime.now();
+        return new Update().set("isDeleted", true).set("deletedAt", now).set("updatedAt", now).inc("version", 1);
+    }
+
+    static Update restoreUpdate() {
+        return new Update().set("isDeleted", false).unset("deletedAt").set("updatedAt", LocalDateTime.now()).inc("version", 1);
+    }
+
+    @Override
+    public long backfillSearchFields(int batchSize) {
+        Query pending = new Query(Criteria.where("nameTokens").exists(false)).cursorBatchSize(batchSize);
+        pending.fields().include("fullName");
+        long updated = 0;
+        try (Stream<Document> documents = mongoTemplate.stream(pending, Document.class, mongoTemplate.getCollectionName(BlogForm.class))) {
+            BulkOperations bulk = null;
+            int pendingUpdates = 0;
+            for (Iterator<Document> it = documents.iterator(); it.hasNext(); ) {
+                Document document = it.next();
+                if (bulk == null) {
+                    bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, BlogForm.class);
+                }
+                String fullName = document.getString("fullName");
+                bulk.updateOne(new Query(Criteria.where("_id").is(document.get("_id"))), new Update()
+                        .set("fullNameNormalized", NameNormalizer.normalize(fullName))
+                        .set("nameTokens", NameNormalizer.tokens(fullName)));
+                if (++pendingUpdates == batchSize) {
+                    updated += bulk.execute().getModifiedCount();
+                    bulk = null;
+                    pendingUpdates = 0;
+                }
+            }
+            if (bulk != null) {
+                updated += bulk.execute().getModifiedCount();
+            }
+        }
+        return updated;
+    }
+
+    @Override
+    public List<BulkWriteError> insertBatch(List<BlogForm> forms, boolean ordered) {
+        BulkOperations bulk = mongoTemplate.bulkOps(
+                ordered ? BulkOperations.BulkMode.ORDERED : BulkOperations.BulkMode.UNORDERED, BlogForm.class);
+        bulk.insert(forms);
+        try {
+            bulk.execute();
+            return List.of();
+        } catch (BulkOperationException e) {
+            return e.getErrors();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.pakal.cloud.repository;
+
+import com.pakal.cloud.dto.BlogFormStats;
+import com.pakal.cloud.model.BlogForm;
+import com.pakal.cloud.model.BlogFormDailyStats;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Agregados por país y día de alta en blog_form_daily_stats. Las altas y bajas los incrementan
+ * con upserts ($inc) y las consultas del panel agregan solo esos buckets; {@link #rebuild()} los
+ * recalcula desde blog_forms.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BlogFormStatsRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    // Un upsert por bucket afectado; un lote de la carga masiva suele caer en pocos buckets
+    public void increment(Collection<BlogForm> forms, long delta) {
+        Map<String, BlogFormDailyStats> buckets = buckets(forms);
+        if (buckets.isEmpty()) {
+            return;
+        }
+        if (buckets.size() == 1) {
+            BlogFormDailyStats bucket = buckets.values().iterator().next();
+            mongoTemplate.upsert(byKey(bucket.getCountry(), bucket.getDay()), incrementUpdate(bucket, delta), BlogFormDailyStats.class);
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, BlogFormDailyStats.class);
+        buckets.values().forEach(bucket -> bulk.upsert(byKey(bucket.getCountry(), bucket.getDay()), incrementUpdate(bucket, delta)));
+        bulk.execute();
+    }
+
+    // O(buckets): solo lee los agregados del rango pedido
+    public List<BlogFormStats.Bucket> find(List<String> groupBy, LocalDate from, LocalDate to, String country) {
+        return mongoTemplate.aggregate(QueryDeadline.apply(readPipeline(groupBy, from, to, country)), BlogFormDailyStats.class, Document.class)
+                .getMappedResults().stream()
+                .map(result -> bucket(result, groupBy))
+                .collect(Collectors.toList());
+    }
+
+    // O(documentos): el mismo conteo agregando blog_forms directamente
+    public List<BlogFormStats.Bucket> countFromForms() {
+        return mongoTemplate.aggregate(formsPipeline(), BlogForm.class, Document.class)
+                .getMappedResults().stream()
+                .map(result -> bucket(result, List.of("country", "day")))
+                .collect(Collectors.toList());
+    }
+
+    // Sustituye los agregados por el conteo actual y borra los buckets que ya no existen. Los
+    // incrementos concurrentes con la reconciliación pueden perderse; la siguiente los corrige.
+    public Rebuild rebuild() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        List<BlogFormStats.Bucket> counts = countFromForms();
+        if (!counts.isEmpty()) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, BlogFormDailyStats.class);
+            for (BlogFormStats.Bucket count : counts) {
+                bulk.upsert(byKey(count.getCountry(), count.getDay()), new Update()
+                        .set("country", count.getCountry())
+                        .set("day", count.getDay())
+                        .set("count", count.getCount())
+                        .set("updatedAt", LocalDateTime.now()));
+            }
+            bulk.execute();
+        }
+        // Los buckets creados por altas durante la reconciliación tienen un updatedAt posterior y se conservan
+        long removed = mongoTemplate.remove(new Query(Criteria.where("updatedAt").lt(startedAt)), BlogFormDailyStats.class)
+                .getDeletedCount();
+        return new Rebuild(counts.size(), removed);
+    }
+
+    // Solo cuentan los formularios con fecha de alta; el día se toma en la zona del servidor
+    static Map<String, BlogFormDailyStats> buckets(Collection<BlogForm> forms) {
+        Map<String, BlogFormDailyStats> buckets = new LinkedHashMap<>();
+        for (BlogForm form : forms) {
+            if (form.getCreatedAt() == null) {
+                continue;
+            }
+            String day = form.getCreatedAt().toLocalDate().toString();
+            BlogFormDailyStats bucket = buckets.computeIfAbsent(BlogFormDailyStats.key(form.getCountry(), day), key -> {
+                BlogFormDailyStats created = new BlogFormDailyStats();
+                created.setId(key);
+                created.setCountry(form.getCountry());
+                created.setDay(day);
+                return created;
+            });
+            bucket.setCount(bucket.getCount() + 1);
+        }
+        return buckets;
+    }
+
+    static Query byKey(String country, String day) {
+        return new Query(Criteria.where("id").is(BlogFormDailyStats.key(country, day)));
+    }
+
+    static Update incrementUpdate(BlogFormDailyStats bucket, long delta) {
+        return new Update()
+                .inc("count", delta * bucket.getCount())
+                .set("updatedAt", LocalDateTime.now())
+                .setOnInsert("country", bucket.getCountry())
+                .setOnInsert("day", bucket.getDay());
+    }
+
+    // Los días yyyy-MM-dd se comparan como texto; los buckets que quedan a cero no se devuelven
+    static Aggregation readPipeline(List<String> groupBy, LocalDate from, LocalDate to, String country) {
+        List<Criteria> filters = new ArrayList<>();
+        if (from != null) {
+            filters.add(Criteria.where("day").gte(from.toString()));
+        }
+        if (to != null) {
+            filters.add(Criteria.where("day").lte(to.toString()));
+        }
+        if (country != null) {
+            filters.add(Criteria.where("country").is(country));
+        }
+        Criteria criteria = filters.isEmpty() ? new Criteria() : new Criteria().andOperator(filters);
+        return Aggregation.newAggregation(
+                Aggregation.match(criteria),
+                Aggregation.group(groupBy.toArray(String[]::new)).sum("count").as("count"),
+                Aggregation.match(Criteria.where("count").gt(0)),
+                Aggregation.sort(Sort.Direction.ASC, "_id"));
+    }
+
+    // createdAt se guarda convirtiendo la hora local con la zona del servidor: se agrupa en esa misma zona
+    static Aggregation formsPipeline() {
+        return Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("isDeleted").is(false).and("createdAt").ne(null)),
+                Aggregation.project("country")
+                        .and(DateOperators.dateOf("createdAt")
+                                .withTimezone(DateOperators.Timezone.valueOf(ZoneId.systemDefault().getId()))
+                                .toString("%Y-%m-%d"))
+                        .as("day"),
+                Aggregation.group("country", "day").count().as("count"),
+                Aggregation.sort(Sort.Direction.ASC, "_id"));
+    }
+
+    // Con un solo campo de agrupación el _id es el valor; con varios, un documento
+    static BlogFormStats.Bucket bucket(Document result, List<String> groupBy) {
+        Object id = result.get("_id");
+        BlogFormStats.Bucket bucket = new BlogFormStats.Bucket();
+        for (String field : groupBy) {
+            Object value = groupBy.size() == 1 ? id : ((Document) id).get(field);
+            if ("country".equals(field)) {
+                bucket.setCountry((String) value);
+            } else {
+                bucket.setDay((String) value);
+            }
+        }
+        bucket.setCount(((Number) result.get("count")).longValue());
+        return bucket;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Rebuild {
+        private int buckets;
+        private long removed;
+    }
+}
@@ -1,75 +1,150 @@
 package com.pakal.cloud.repository;
 
 import org.springframework.security.web.csrf.CsrfToken;
-import org.springframework.security.web.csrf.CsrfTokenRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.web.csrf.DefaultCsrfToken;
 
-import java.time.Instant;
+import java.time.Duration;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
-
-public class CustomCsrfTokenRepository implements CsrfTokenRepository {
-
-    private final ConcurrentHashMap<String, ExpiringCsrfToken> tokenStorage = new ConcurrentHashMap<>();
-    private static final long EXPIRATION_TIME_MILLIS = 1 * 60 * 1000; // 1 minuto
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Almacén de tokens CSRF en memoria con límite de tamaño y limpieza periódica.
+ * Como todos los tokens tienen el mismo TTL, el orden de inserción coincide con el de caducidad:
+ * una cola FIFO permite retirar los caducados (y, si se supera el límite, los más antiguos)
+ * sin recorrer el mapa.
+ */
+public class CustomCsrfTokenRepository implements HeaderCsrfTokenRepository, MeterBinder, AutoCloseable {
+
+    private final ConcurrentHashMap<String, TokenEntry> tokenStorage = new ConcurrentHashMap<>();
+    private final Queue<TokenEntry> expirationQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicLong expiredEvictions = new AtomicLong();
+    private final AtomicLong capacityEvictions = new AtomicLong();
+    private final long expirationTimeMillis;
+    private final int maxTokens;
+    private final ScheduledExecutorService sweeper;
+
+    public CustomCsrfTokenRepository(Duration expirationTime, int maxTokens, Duration sweepInterval) {
+        this.expirationTimeMillis = expirationTime.toMillis();
+        this.maxTokens = maxTokens;
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "csrf-token-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.sweeper.scheduleWithFixedDelay(this::evictExpired,
+                sweepInterval.toMillis(), sweepInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
 
     @Override
-    public CsrfToken generateToken(HttpServletRequest request) {
+    public CsrfToken generateToken() {
         String tokenValue = java.util.UUID.randomUUID().toString();
-        String headerName = "X-XSRF-TOKEN";
-        String parameterName = "_csrf";
-
-        ExpiringCsrfToken csrfToken = new ExpiringCsrfToken(
-                new DefaultCsrfToken(headerName, parameterName, tokenValue),
-                Instant.now().plusMillis(EXPIRATION_TIME_MILLIS)
-        );
-
-        tokenStorage.put(tokenValue, csrfToken);
-        return csrfToken.getCsrfToken();
+        store(tokenValue);
+        return new DefaultCsrfToken(HEADER_NAME, PARAMETER_NAME, tokenValue);
     }
 
     @Override
     public void saveToken(CsrfToken token, HttpServletRequest request, HttpServletResponse response) {
-        if (token == null || token.getToken() == null) {
+        // generateToken ya lo guardó: una segunda entrada quedaría huérfana en la cola hasta caducar
+        if (token == null || token.getToken() == null || tokenStorage.containsKey(token.getToken())) {
             return;
         }
-        tokenStorage.put(token.getToken(), new ExpiringCsrfToken(token, Instant.now().plusMillis(EXPIRATION_TIME_MILLIS)));
+        store(token.getToken());
     }
 
     @Override
-    public CsrfToken loadToken(HttpServletRequest request) {
-        String tokenValue = request.getHeader("X-XSRF-TOKEN");
-
+    public CsrfToken loadToken(String tokenValue) {
         // 🔹 Validar que el header existe antes de buscarlo en el mapa
         if (tokenValue == null || tokenValue.isEmpty()) {
             return null;
         }
 
-        ExpiringCsrfToken csrfToken = tokenStorage.get(tokenValue);
+        TokenEntry entry = tokenStorage.get(tokenValue);
 
-        if (csrfToken == null || csrfToken.isExpired()) {
+        if (entry == null || entry.isExpired(System.currentTimeMillis())) {
             return null;
         }
 
-        return csrfToken.getCsrfToken();
+        return new DefaultCsrfToken(HEADER_NAME, PARAMETER_NAME, tokenValue);
+    }
+
+    public int liveTokens() {
+        return tokenStorage.size();
+    }
+
+    // Entradas pendientes en la cola de caducidad; debería coincidir con liveTokens()
+    int queuedTokens() {
+        return expirationQueue.size();
     }
 
-    private static class ExpiringCsrfToken {
-        private final CsrfToken csrfToken;
-        private final Instant expirationTime;
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("csrf.tokens.live", tokenStorage, ConcurrentHashMap::size)
+                .description("CSRF tokens currently stored")
+                .register(registry);
+        FunctionCounter.builder("csrf.tokens.evictions", expiredEvictions, AtomicLong::get)
+                .description("CSRF tokens removed from the store")
+                .tag("reason", "expired")
+                .register(registry);
+        FunctionCounter.builder("csrf.tokens.evictions", capacityEvictions, AtomicLong::get)
+                .description("CSRF tokens removed from the store")
+                .tag("reason", "capacity")
+                .register(registry);
+    }
+
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+    }
 
-        ExpiringCsrfToken(CsrfToken csrfToken, Instant expirationTime) {
-            this.csrfToken = csrfToken;
-            this.expirationTime = expirationTime;
+    private void store(String tokenValue) {
+        TokenEntry entry = new TokenEntry(tokenValue, System.currentTimeMillis() + expirationTimeMillis);
+        tokenStorage.put(tokenValue, entry);
+        expirationQueue.add(entry);
+        // Límite duro: se descartan los más antiguos aunque no hayan caducado
+        while (tokenStorage.size() > maxTokens) {
+            TokenEntry oldest = expirationQueue.poll();
+            if (oldest == null) {
+                break;
+            }
+            if (tokenStorage.remove(oldest.token, oldest)) {
+                capacityEvictions.incrementAndGet();
+            }
         }
+    }
+
+    void evictExpired() {
+        long now = System.currentTimeMillis();
+        TokenEntry head;
+        while ((head = expirationQueue.peek()) != null && head.isExpired(now)) {
+            if (expirationQueue.remove(head) && tokenStorage.remove(head.token, head)) {
+                expiredEvictions.incrementAndGet();
+            }
+        }
+    }
+
+    // Entrada mínima: el valor del token y su caducidad en milisegundos epoch
+    private static final class TokenEntry {
+        private final String token;
+        private final long expiresAtMillis;
 
-        public CsrfToken getCsrfToken() {
-            return csrfToken;
+        TokenEntry(String token, long expiresAtMillis) {
+            this.token = token;
+            this.expiresAtMillis = expiresAtMillis;
         }
 
-        public boolean isExpired() {
-            return Instant.now().isAfter(expirationTime);
+        boolean isExpired(long nowMillis) {
+            return nowMillis > expiresAtMillis;
         }
     }
 }
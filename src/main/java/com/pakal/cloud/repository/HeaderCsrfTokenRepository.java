@@ -0,0 +1,31 @@
+package com.pakal.cloud.repository;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.security.web.csrf.CsrfTokenRepository;
+
+/**
+ * Repositorio de tokens CSRF que solo depende del valor enviado en la cabecera X-XSRF-TOKEN,
+ * no de la petición servlet: así el mismo almacén sirve a la pila servlet y a la reactiva.
+ * Los tokens quedan registrados al generarse.
+ */
+public interface HeaderCsrfTokenRepository extends CsrfTokenRepository {
+
+    String HEADER_NAME = "X-XSRF-TOKEN";
+    String PARAMETER_NAME = "_csrf";
+
+    CsrfToken generateToken();
+
+    // Devuelve el token si el valor recibido es válido, o null
+    CsrfToken loadToken(String tokenValue);
+
+    @Override
+    default CsrfToken generateToken(HttpServletRequest request) {
+        return generateToken();
+    }
+
+    @Override
+    default CsrfToken loadToken(HttpServletRequest request) {
+        return loadToken(request.getHeader(HEADER_NAME));
+    }
+}
@@ -0,0 +1,86 @@
+package com.pakal.cloud.repository;
+
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Deadline de la petición en curso, fijado por el control de admisión. Cada lectura lo envía a
+ * MongoDB como maxTimeMS con el tiempo que le queda a la petición, así que el servidor aborta la
+ * consulta en vez de retener la conexión y el hilo hasta el socketTimeoutMS. Sin deadline (tareas
+ * de fondo, tests) las consultas no cambian.
+ * <p>
+ * En el modelo bloqueante vive en el hilo que atiende la petición; en el reactivo, en el contexto
+ * de Reactor.
+ */
+public final class QueryDeadline {
+
+    private static final ThreadLocal<Long> CURRENT = new ThreadLocal<>();
+    private static final String CONTEXT_KEY = QueryDeadline.class.getName();
+
+    private QueryDeadline() {
+    }
+
+    public static void set(long deadlineNanos) {
+        CURRENT.set(deadlineNanos);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static Context context(long deadlineNanos) {
+        return Context.of(CONTEXT_KEY, deadlineNanos);
+    }
+
+    public static Query apply(Query query) {
+        return apply(query, CURRENT.get());
+    }
+
+    public static Aggregation apply(Aggregation aggregation) {
+        return apply(aggregation, CURRENT.get());
+    }
+
+    // Variantes reactivas: el deadline se lee del contexto al suscribirse
+    public static <T> Mono<T> mono(Query query, Function<Query, Mono<T>> read) {
+        return Mono.deferContextual(context -> read.apply(apply(query, deadline(context))));
+    }
+
+    public static <T> Flux<T> flux(Query query, Function<Query, Flux<T>> read) {
+        return Flux.deferContextual(context -> read.apply(apply(query, deadline(context))));
+    }
+
+    public static <T> Flux<T> aggregate(Aggregation aggregation, Function<Aggregation, Flux<T>> read) {
+        return Flux.deferContextual(context -> read.apply(apply(aggregation, deadline(context))));
+    }
+
+    private static Long deadline(ContextView context) {
+        return context.getOrDefault(CONTEXT_KEY, null);
+    }
+
+    private static Query apply(Query query, Long deadline) {
+        return deadline == null ? query : query.maxTime(remaining(deadline));
+    }
+
+    private static Aggregation apply(Aggregation aggregation, Long deadline) {
+        return deadline == null ? aggregation
+                : aggregation.withOptions(AggregationOptions.builder().maxTime(remaining(deadline)).build());
+    }
+
+    // Con el deadline ya vencido no se llega a consultar; maxTimeMS=0 significaría "sin límite"
+    private static Duration remaining(long deadline) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            throw new QueryTimeoutException("Request deadline exceeded before querying MongoDB");
+        }
+        return Duration.ofMillis(Math.max(1, TimeUnit.NANOSECONDS.toMillis(remaining)));
+    }
+}
@@ -0,0 +1,12 @@
+package com.pakal.cloud.repository;
+
+import com.pakal.cloud.model.BlogForm;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveBlogFormRepository extends ReactiveMongoRepository<BlogForm, String>, ReactiveBlogFormRepositoryCustom {
+
+    Mono<Boolean> existsByIdAndIsDeletedFalse(String id);
+}
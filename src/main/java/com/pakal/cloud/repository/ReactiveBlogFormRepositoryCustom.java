@@ -0,0 +1,45 @@
+package com.pakal.cloud.repository;
+
+import com.pakal.cloud.dto.BlogFormCursor;
+import com.pakal.cloud.dto.BlogFormDTO;
+import com.pakal.cloud.dto.BlogFormFilter;
+import com.pakal.cloud.dto.BlogFormSummary;
+import com.pakal.cloud.model.BlogForm;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.util.Collection;
+
+// Mismas consultas que BlogFormRepositoryCustom sobre el driver reactivo
+public interface ReactiveBlogFormRepositoryCustom {
+
+    Mono<BlogForm> findByIdAndIsDeletedFalse(String id);
+
+    Mono<BlogForm> findValidatorsById(String id);
+
+    Mono<Page<BlogForm>> findByFilter(BlogFormFilter filter, Pageable pageable);
+
+    Mono<Slice<BlogForm>> findSliceByFilter(BlogFormFilter filter, BlogFormCursor after, Pageable pageable);
+
+    // Vacío si no hay un registro vivo con ese id (y versión)
+    Mono<BlogForm> updateFields(String id, BlogFormDTO changes, boolean partial, Long expectedVersion);
+
+    // País y fecha de alta previos a la escritura, para mover el alta de bucket si cambia el país
+    Mono<BlogFormRepositoryCustom.Revision> updateFieldsWithPrevious(String id, BlogFormDTO changes, boolean partial, Long expectedVersion);
+
+    Mono<Page<BlogFormSummary>> findSummariesByFilter(BlogFormFilter filter, Collection<String> fields, Pageable pageable);
+
+    Mono<Slice<BlogFormSummary>> findSummarySliceByFilter(BlogFormFilter filter, BlogFormCursor after, Collection<String> fields, Pageable pageable);
+
+    // País y fecha de alta previos a la baja; vacío si no existe o ya estaba eliminado
+    Mono<BlogForm> softDelete(String id);
+
+    // Vacío si no existe, ya se purgó o no estaba eliminado
+    Mono<BlogForm> restore(String id);
+
+    // El cursor se lee según la demanda del suscriptor
+    Flux<BlogForm> streamByFilter(BlogFormFilter filter, Sort sort, int batchSize);
+}
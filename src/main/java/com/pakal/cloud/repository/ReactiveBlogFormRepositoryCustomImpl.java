@@ -0,0 +1,113 @@
+package com.pakal.cloud.repository;
+
+import com.pakal.cloud.dto.BlogFormCursor;
+import com.pakal.cloud.dto.BlogFormDTO;
+import com.pakal.cloud.dto.BlogFormFilter;
+import com.pakal.cloud.dto.BlogFormSummary;
+import com.pakal.cloud.model.BlogForm;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ReactiveBlogFormRepositoryCustomImpl implements ReactiveBlogFormRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Mono<BlogForm> findByIdAndIsDeletedFalse(String id) {
+        return QueryDeadline.mono(BlogFormRepositoryCustomImpl.byId(id, false), query -> mongoTemplate.findOne(query, BlogForm.class));
+    }
+
+    @Override
+    public Mono<BlogForm> findValidatorsById(String id) {
+        return QueryDeadline.mono(BlogFormRepositoryCustomImpl.validatorsQuery(id), query -> mongoTemplate.findOne(query, BlogForm.class));
+    }
+
+    @Override
+    public Mono<Page<BlogForm>> findByFilter(BlogFormFilter filter, Pageable pageable) {
+        Query query = new Query(BlogFormCriteria.of(filter)).with(pageable);
+        return QueryDeadline.flux(query, q -> mongoTemplate.find(q, BlogForm.class)).collectList()
+                .flatMap(content -> page(content, pageable, query));
+    }
+
+    @Override
+    public Mono<Slice<BlogForm>> findSliceByFilter(BlogFormFilter filter, BlogFormCursor after, Pageable pageable) {
+        return QueryDeadline.flux(BlogFormRepositoryCustomImpl.sliceQuery(filter, after, pageable), q -> mongoTemplate.find(q, BlogForm.class))
+                .collectList()
+                .map(content -> BlogFormRepositoryCustomImpl.toSlice(content, pageable));
+    }
+
+    @Override
+    public Mono<Page<BlogFormSummary>> findSummariesByFilter(BlogFormFilter filter, Collection<String> fields, Pageable pageable) {
+        Query query = BlogFormRepositoryCustomImpl.project(new Query(BlogFormCriteria.of(filter)).with(pageable), fields);
+        return QueryDeadline.flux(query, q -> mongoTemplate.query(BlogForm.class).as(BlogFormSummary.class).matching(q).all())
+                .collectList()
+                .flatMap(content -> page(content, pageable, query));
+    }
+
+    @Override
+    public Mono<Slice<BlogFormSummary>> findSummarySliceByFilter(BlogFormFilter filter, BlogFormCursor after, Collection<String> fields, Pageable pageable) {
+        Query query = BlogFormRepositoryCustomImpl.project(BlogFormRepositoryCustomImpl.sliceQuery(filter, after, pageable), fields);
+        return QueryDeadline.flux(query, q -> mongoTemplate.query(BlogForm.class).as(BlogFormSummary.class).matching(q).all())
+                .collectList()
+                .map(content -> BlogFormRepositoryCustomImpl.toSlice(content, pageable));
+    }
+
+    @Override
+    public Flux<BlogForm> streamByFilter(BlogFormFilter filter, Sort sort, int batchSize) {
+        Query query = new Query(BlogFormCriteria.of(filter)).with(sort).cursorBatchSize(batchSize);
+        return QueryDeadline.flux(query, q -> mongoTemplate.find(q, BlogForm.class));
+    }
+
+    @Override
+    public Mono<BlogForm> updateFields(String id, BlogFormDTO changes, boolean partial, Long expectedVersion) {
+        return mongoTemplate.findAndModify(BlogFormRepositoryCustomImpl.byVersion(id, expectedVersion),
+                BlogFormRepositoryCustomImpl.fieldsUpdate(changes, partial), FindAndModifyOptions.options().returnNew(true), BlogForm.class);
+    }
+
+    @Override
+    public Mono<BlogFormRepositoryCustom.Revision> updateFieldsWithPrevious(String id, BlogFormDTO changes, boolean partial, Long expectedVersion) {
+        return Mono.defer(() -> {
+            LocalDateTime updatedAt = BlogFormRepositoryCustomImpl.updateTime();
+            return mongoTemplate.findAndModify(BlogFormRepositoryCustomImpl.byVersion(id, expectedVersion),
+                            BlogFormRepositoryCustomImpl.fieldsUpdate(changes, partial, updatedAt), BlogForm.class)
+                    .map(previous -> BlogFormRepositoryCustomImpl.revision(previous, changes, partial, updatedAt));
+        });
+    }
+
+    @Override
+    public Mono<BlogForm> softDelete(String id) {
+        return mongoTemplate.findAndModify(BlogFormRepositoryCustomImpl.softDeleteQuery(id),
+                BlogFormRepositoryCustomImpl.softDeleteUpdate(), BlogForm.class);
+    }
+
+    @Override
+    public Mono<BlogForm> restore(String id) {
+        return mongoTemplate.findAndModify(BlogFormRepositoryCustomImpl.byId(id, true),
+                BlogFormRepositoryCustomImpl.restoreUpdate(), FindAndModifyOptions.options().returnNew(true), BlogForm.class);
+    }
+
+    // Igual que PageableExecutionUtils: el count solo si el total no se deduce de la página
+    private <T> Mono<Page<T>> page(List<T> content, Pageable pageable, Query query) {
+        if (pageable.getOffset() == 0 && content.size() < pageable.getPageSize()) {
+            return Mono.just(new PageImpl<>(content, pageable, content.size()));
+        }
+        if (!content.isEmpty() && content.size() < pageable.getPageSize()) {
+            return Mono.just(new PageImpl<>(content, pageable, pageable.getOffset() + content.size()));
+        }
+        return QueryDeadline.mono(BlogFormRepositoryCustomImpl.countQuery(query), q -> mongoTemplate.count(q, BlogForm.class))
+                .map(total -> new PageImpl<>(content, pageable, total));
+    }
+}
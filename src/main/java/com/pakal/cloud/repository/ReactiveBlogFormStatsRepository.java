@@ -0,0 +1,40 @@
+package com.pakal.cloud.repository;
+
+import com.pakal.cloud.dto.BlogFormStats;
+import com.pakal.cloud.model.BlogForm;
+import com.pakal.cloud.model.BlogFormDailyStats;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+// Equivalente no bloqueante de BlogFormStatsRepository; la reconciliación usa siempre el bloqueante
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBlogFormStatsRepository {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public Mono<Void> increment(Collection<BlogForm> forms, long delta) {
+        Map<String, BlogFormDailyStats> buckets = BlogFormStatsRepository.buckets(forms);
+        return Flux.fromIterable(buckets.values())
+                .flatMap(bucket -> mongoTemplate.upsert(BlogFormStatsRepository.byKey(bucket.getCountry(), bucket.getDay()),
+                        BlogFormStatsRepository.incrementUpdate(bucket, delta), BlogFormDailyStats.class))
+                .then();
+    }
+
+    public Mono<List<BlogFormStats.Bucket>> find(List<String> groupBy, LocalDate from, LocalDate to, String country) {
+        return QueryDeadline.aggregate(BlogFormStatsRepository.readPipeline(groupBy, from, to, country),
+                        aggregation -> mongoTemplate.aggregate(aggregation, BlogFormDailyStats.class, Document.class))
+                .map(result -> BlogFormStatsRepository.bucket(result, groupBy))
+                .collectList();
+    }
+}
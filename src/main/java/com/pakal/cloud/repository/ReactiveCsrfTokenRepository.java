@@ -0,0 +1,37 @@
+package com.pakal.cloud.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.web.server.csrf.CsrfToken;
+import org.springframework.security.web.server.csrf.DefaultCsrfToken;
+import org.springframework.security.web.server.csrf.ServerCsrfTokenRepository;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+// Adaptador WebFlux sobre el almacén configurado (memory o signed)
+@RequiredArgsConstructor
+public class ReactiveCsrfTokenRepository implements ServerCsrfTokenRepository {
+
+    private final HeaderCsrfTokenRepository delegate;
+
+    @Override
+    public Mono<CsrfToken> generateToken(ServerWebExchange exchange) {
+        return Mono.fromSupplier(() -> toServerToken(delegate.generateToken()));
+    }
+
+    @Override
+    public Mono<Void> saveToken(ServerWebExchange exchange, CsrfToken token) {
+        // El delegado ya registró el token al generarlo
+        return Mono.empty();
+    }
+
+    @Override
+    public Mono<CsrfToken> loadToken(ServerWebExchange exchange) {
+        return Mono.justOrEmpty(exchange.getRequest().getHeaders().getFirst(HeaderCsrfTokenRepository.HEADER_NAME))
+                .mapNotNull(delegate::loadToken)
+                .map(ReactiveCsrfTokenRepository::toServerToken);
+    }
+
+    private static CsrfToken toServerToken(org.springframework.security.web.csrf.CsrfToken token) {
+        return new DefaultCsrfToken(token.getHeaderName(), token.getParameterName(), token.getToken());
+    }
+}
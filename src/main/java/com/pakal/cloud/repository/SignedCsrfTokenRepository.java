@@ -0,0 +1,97 @@
+package com.pakal.cloud.repository;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.security.web.csrf.DefaultCsrfToken;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Tokens CSRF sin estado: cada token lleva su caducidad y una firma HMAC-SHA256, así que
+ * cualquier réplica con el mismo secreto lo valida sin almacenamiento compartido ni sesiones fijas.
+ * Formato: base64url(nonce[16] + caducidad epoch millis[8]) + "." + base64url(hmac).
+ */
+public class SignedCsrfTokenRepository implements HeaderCsrfTokenRepository {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int NONCE_LENGTH = 16;
+    private static final int PAYLOAD_LENGTH = NONCE_LENGTH + Long.BYTES;
+    private static final int MIN_SECRET_LENGTH = 32;
+
+    private final SecretKeySpec key;
+    private final long expirationTimeMillis;
+    private final SecureRandom random = new SecureRandom();
+
+    public SignedCsrfTokenRepository(String secret, Duration expirationTime) {
+        if (secret == null || secret.length() < MIN_SECRET_LENGTH) {
+            throw new IllegalStateException("Signed CSRF tokens require a secret of at least " + MIN_SECRET_LENGTH + " characters");
+        }
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        this.expirationTimeMillis = expirationTime.toMillis();
+    }
+
+    @Override
+    public CsrfToken generateToken() {
+        byte[] nonce = new byte[NONCE_LENGTH];
+        random.nextBytes(nonce);
+        byte[] payload = ByteBuffer.allocate(PAYLOAD_LENGTH)
+                .put(nonce)
+                .putLong(System.currentTimeMillis() + expirationTimeMillis)
+                .array();
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String tokenValue = encoder.encodeToString(payload) + "." + encoder.encodeToString(sign(payload));
+        return new DefaultCsrfToken(HEADER_NAME, PARAMETER_NAME, tokenValue);
+    }
+
+    @Override
+    public void saveToken(CsrfToken token, HttpServletRequest request, HttpServletResponse response) {
+        // Nada que guardar: el token se valida por su firma
+    }
+
+    @Override
+    public CsrfToken loadToken(String tokenValue) {
+        if (tokenValue == null || tokenValue.isEmpty()) {
+            return null;
+        }
+        return isValid(tokenValue) ? new DefaultCsrfToken(HEADER_NAME, PARAMETER_NAME, tokenValue) : null;
+    }
+
+    private boolean isValid(String tokenValue) {
+        int separator = tokenValue.indexOf('.');
+        if (separator < 0) {
+            return false;
+        }
+        byte[] payload;
+        byte[] signature;
+        try {
+            payload = Base64.getUrlDecoder().decode(tokenValue.substring(0, separator));
+            signature = Base64.getUrlDecoder().decode(tokenValue.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        if (payload.length != PAYLOAD_LENGTH || !MessageDigest.isEqual(sign(payload), signature)) {
+            return false;
+        }
+        long expiresAtMillis = ByteBuffer.wrap(payload, NONCE_LENGTH, Long.BYTES).getLong();
+        return System.currentTimeMillis() <= expiresAtMillis;
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
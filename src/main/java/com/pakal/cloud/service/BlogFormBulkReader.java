@@ -0,0 +1,135 @@
+package com.pakal.cloud.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pakal.cloud.dto.BlogFormDTO;
+import com.pakal.cloud.errors.InvalidRequestException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lectura incremental del cuerpo de una carga masiva (arreglo JSON o NDJSON):
+ * los elementos se leen a medida que se escriben los lotes, sin cargar todo el cuerpo en memoria.
+ */
+public final class BlogFormBulkReader {
+
+    private BlogFormBulkReader() {
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Item {
+        private final BlogFormDTO dto;
+        private final String error;
+    }
+
+    // Un cuerpo que no es JSON falla aquí, antes de escribir nada. Un error de sintaxis a mitad del
+    // arreglo lo lanza hasNext o next, en la posición del elemento que no se pudo leer
+    public static Iterator<Item> jsonArray(InputStream body, ObjectMapper mapper) {
+        JsonParser parser;
+        try {
+            parser = mapper.getFactory().createParser(body);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new InvalidRequestException("Request body must be a JSON array");
+            }
+        } catch (JsonProcessingException e) {
+            throw new InvalidRequestException("Request body must be a JSON array: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new Iterator<>() {
+            // Se avanza al pedir el siguiente, no al entregar el actual: así el error cae en su posición
+            private JsonToken next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null) {
+                    next = advance();
+                }
+                return next != JsonToken.END_ARRAY;
+            }
+
+            @Override
+            public Item next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                next = null;
+                try {
+                    // Primero el árbol (solo falla con JSON mal formado), luego el DTO
+                    TreeNode node = parser.readValueAsTree();
+                    try {
+                        return new Item(mapper.treeToValue(node, BlogFormDTO.class), null);
+                    } catch (JsonProcessingException e) {
+                        return new Item(null, "Invalid item: " + e.getOriginalMessage());
+                    }
+                } catch (IOException e) {
+                    throw new InvalidRequestException("Malformed JSON array: " + e.getMessage());
+                }
+            }
+
+            private JsonToken advance() {
+                try {
+                    JsonToken token = parser.nextToken();
+                    if (token == null) {
+                        throw new InvalidRequestException("Unexpected end of JSON array");
+                    }
+                    return token;
+                } catch (IOException e) {
+                    throw new InvalidRequestException("Malformed JSON array: " + e.getMessage());
+                }
+            }
+        };
+    }
+
+    public static Iterator<Item> ndjson(InputStream body, ObjectMapper mapper) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        return new Iterator<>() {
+            private String line = readLine();
+
+            @Override
+            public boolean hasNext() {
+                return line != null;
+            }
+
+            @Override
+            public Item next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Item item;
+                try {
+                    item = new Item(mapper.readValue(line, BlogFormDTO.class), null);
+                } catch (JsonProcessingException e) {
+                    item = new Item(null, "Malformed line: " + e.getOriginalMessage());
+                }
+                line = readLine();
+                return item;
+            }
+
+            // Las líneas en blanco se ignoran
+            private String readLine() {
+                try {
+                    String current = reader.readLine();
+                    while (current != null && current.isBlank()) {
+                        current = reader.readLine();
+                    }
+                    return current;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+}
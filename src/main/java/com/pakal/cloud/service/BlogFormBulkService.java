@@ -0,0 +1,152 @@
+package com.pakal.cloud.service;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.pakal.cloud.config.CacheConfig;
+import com.pakal.cloud.dto.BlogFormDTO;
+import com.pakal.cloud.dto.BlogFormEvent;
+import com.pakal.cloud.dto.BulkIngestResult;
+import com.pakal.cloud.dto.BulkIngestResult.ItemResult;
+import com.pakal.cloud.dto.BulkIngestResult.Status;
+import com.pakal.cloud.errors.InvalidRequestException;
+import com.pakal.cloud.model.BlogForm;
+import com.pakal.cloud.repository.BlogFormRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Carga masiva de formularios: valida cada elemento y escribe los válidos en lotes
+ * con una operación bulk por lote. En modo ordenado se detiene en el primer error de escritura.
+ * Si el cuerpo se corta por un error de sintaxis, lo leído hasta ahí se escribe igual.
+ */
+@Slf4j
+@Service
+@Timed("blog.form.service")
+@RequiredArgsConstructor
+public class BlogFormBulkService {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final BlogFormRepository repository;
+    private final Validator validator;
+    private final BlogFormStatsService statsService;
+    private final BlogFormEventService eventService;
+
+    @Value("${blog-form.bulk.batch-size:500}")
+    private int defaultBatchSize;
+
+    @Value("${blog-form.bulk.max-batch-size:1000}")
+    private int maxBatchSize;
+
+    @CacheEvict(cacheNames = CacheConfig.BLOG_FORM_PAGES, allEntries = true)
+    public BulkIngestResult ingest(Iterator<BlogFormBulkReader.Item> items, boolean ordered, Integer batchSize) {
+        int size = batchSize == null ? defaultBatchSize : batchSize;
+        if (size < 1 || size > maxBatchSize) {
+            throw new InvalidRequestException("Batch size must be between 1 and " + maxBatchSize);
+        }
+
+        BulkIngestResult result = new BulkIngestResult();
+        List<BlogForm> batch = new ArrayList<>(size);
+        List<Integer> positions = new ArrayList<>(size);
+        boolean stopped = false;
+        int index = 0;
+
+        while (true) {
+            BlogFormBulkReader.Item item;
+            try {
+                if (!items.hasNext()) {
+                    break;
+                }
+                item = items.next();
+            } catch (InvalidRequestException e) {
+                // El cuerpo no se puede seguir leyendo: lo anterior se escribe igualmente y el
+                // cliente recibe el resultado de cada elemento, con la posición del error como INVALID
+                result.add(new ItemResult(index, Status.INVALID, null, e.getMessage() + "; the rest of the body was not read"));
+                break;
+            }
+            int position = index++;
+            if (stopped) {
+                result.add(new ItemResult(position, Status.SKIPPED, null, "Not attempted after an earlier write error"));
+                continue;
+            }
+            String error = item.getError() != null ? item.getError() : validate(item.getDto());
+            if (error != null) {
+                result.add(new ItemResult(position, Status.INVALID, null, error));
+                continue;
+            }
+            BlogForm form = BlogFormService.newForm(item.getDto());
+            // El id se asigna aquí para poder devolverlo en el resultado de cada elemento
+            form.setId(new ObjectId().toHexString());
+            batch.add(form);
+            positions.add(position);
+            if (batch.size() == size) {
+                stopped = !flush(batch, positions, ordered, result) && ordered;
+                batch.clear();
+                positions.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(batch, positions, ordered, result);
+        }
+
+        result.getItems().sort(Comparator.comparingInt(ItemResult::getIndex));
+        log.info("Bulk ingest finished: {} received, {} created, {} conflicts, {} invalid",
+                result.getReceived(), result.getCreated(), result.getConflicts(), result.getInvalid());
+        return result;
+    }
+
+    private boolean flush(List<BlogForm> batch, List<Integer> positions, boolean ordered, BulkIngestResult result) {
+        Map<Integer, BulkWriteError> errors = repository.insertBatch(batch, ordered).stream()
+                .collect(Collectors.toMap(BulkWriteError::getIndex, Function.identity()));
+        int firstError = errors.keySet().stream().min(Integer::compare).orElse(Integer.MAX_VALUE);
+        List<BlogForm> created = new ArrayList<>(batch.size());
+
+        for (int i = 0; i < batch.size(); i++) {
+            BulkWriteError error = errors.get(i);
+            if (error != null) {
+                Status status = error.getCode() == DUPLICATE_KEY ? Status.CONFLICT : Status.FAILED;
+                String message = status == Status.CONFLICT
+                        ? "A blog form with the given email already exists."
+                        : error.getMessage();
+                result.add(new ItemResult(positions.get(i), status, null, message));
+            } else if (ordered && i > firstError) {
+                result.add(new ItemResult(positions.get(i), Status.SKIPPED, null, "Not attempted after an earlier write error"));
+            } else {
+                result.add(new ItemResult(positions.get(i), Status.CREATED, batch.get(i).getId(), null));
+                created.add(batch.get(i));
+            }
+        }
+        // Un upsert por país y día del lote, no uno por formulario
+        statsService.record(created, 1);
+        eventService.publishLocal(BlogFormEvent.Type.CREATED, created);
+        return errors.isEmpty();
+    }
+
+    private String validate(BlogFormDTO dto) {
+        if (dto == null) {
+            return "Item must be a JSON object";
+        }
+        Set<ConstraintViolation<BlogFormDTO>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+}
@@ -0,0 +1,191 @@
+package com.pakal.cloud.service;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import com.mongodb.client.model.changestream.UpdateDescription;
+import com.pakal.cloud.config.CacheConfig;
+import com.pakal.cloud.dto.BlogFormEvent;
+import com.pakal.cloud.model.BlogForm;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Publica en BlogFormEventService los cambios de blog_forms leídos del change stream de MongoDB
+ * (requiere replica set o cluster). El resume token de cada cambio es el id del evento SSE y, si
+ * el cursor se corta, permite reabrirlo sin perder cambios. Si el servidor no admite change
+ * streams, los servicios publican sus propias escrituras.
+ * <p>
+ * Cada cambio invalida también las cachés locales, así las escrituras de otras réplicas no se
+ * sirven obsoletas hasta el TTL.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BlogFormChangeStreamWatcher {
+
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(5);
+    // El resume token ya no está en el oplog: no se puede continuar donde se quedó
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+    // Las bajas por TTL no se publican: el formulario ya se notificó como eliminado
+    private static final List<Bson> PIPELINE = List.of(
+            Aggregates.match(Filters.in("operationType", "insert", "update", "replace")));
+
+    // Campos que solo escribe el backfill de la búsqueda; no cambian nada visible en la API
+    private static final Set<String> DERIVED_FIELDS = Set.of("fullNameNormalized", "nameTokens");
+
+    private final MongoTemplate mongoTemplate;
+    private final BlogFormEventService eventService;
+    private final CacheManager cacheManager;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "blog-form-change-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // auto: change stream si el servidor lo admite; in-process: solo las escrituras de esta instancia
+    @Value("${blog-form.events.source:auto}")
+    private String source;
+
+    private volatile boolean running = true;
+    private BsonDocument resumeToken;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if ("in-process".equals(source)) {
+            log.info("Publishing blog form events from this instance only");
+            return;
+        }
+        executor.execute(this::watch);
+    }
+
+    private void watch() {
+        while (running) {
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = open()) {
+                if (!eventService.isChangeStreamActive()) {
+                    eventService.setChangeStreamActive(true);
+                    log.info("Publishing blog form events from the MongoDB change stream");
+                }
+                while (running) {
+                    ChangeStreamDocument<Document> change = cursor.tryNext();
+                    if (change != null) {
+                        resumeToken = change.getResumeToken();
+                        evict(change);
+                        publish(change);
+                    }
+                }
+            } catch (MongoCommandException e) {
+                if (!eventService.isChangeStreamActive()) {
+                    log.info("MongoDB change streams are not available ({}), publishing blog form events from this instance only",
+                            e.getErrorMessage());
+                    return;
+                }
+                if (e.getErrorCode() == CHANGE_STREAM_HISTORY_LOST) {
+                    // Se reabre desde ahora y los clientes recargan el listado
+                    resumeToken = null;
+                    eventService.publish(null, BlogFormEvent.reset());
+                }
+                retryLater(e);
+            } catch (MongoException e) {
+                retryLater(e);
+            }
+        }
+    }
+
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> open() {
+        ChangeStreamIterable<Document> stream = mongoTemplate.getCollection(mongoTemplate.getCollectionName(BlogForm.class))
+                .watch(PIPELINE)
+                .fullDocument(FullDocument.UPDATE_LOOKUP);
+        if (resumeToken != null) {
+            stream = stream.resumeAfter(resumeToken);
+        }
+        return stream.cursor();
+    }
+
+    // También los cambios que no se publican y los de esta instancia, que ya se invalidaron al escribir
+    private void evict(ChangeStreamDocument<Document> change) {
+        BsonValue id = change.getDocumentKey() == null ? null : change.getDocumentKey().get("_id");
+        Cache forms = cacheManager.getCache(CacheConfig.BLOG_FORMS);
+        if (forms != null && id != null) {
+            forms.evict(id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.asString().getValue());
+        }
+        Cache pages = cacheManager.getCache(CacheConfig.BLOG_FORM_PAGES);
+        if (pages != null) {
+            pages.clear();
+        }
+    }
+
+    private void publish(ChangeStreamDocument<Document> change) {
+        Document document = change.getFullDocument();
+        if (document == null) {
+            // Documento purgado entre el cambio y la lectura
+            return;
+        }
+        BlogForm form = mongoTemplate.getConverter().read(BlogForm.class, document);
+        BlogFormEvent.Type type = type(change, form);
+        if (type != null) {
+            eventService.publish(change.getResumeToken().getString("_data").getValue(), BlogFormEvent.of(type, form));
+        }
+    }
+
+    static BlogFormEvent.Type type(ChangeStreamDocument<Document> change, BlogForm form) {
+        if (change.getOperationType() == OperationType.INSERT) {
+            return BlogFormEvent.Type.CREATED;
+        }
+        UpdateDescription description = change.getUpdateDescription();
+        BsonDocument updatedFields = description == null ? null : description.getUpdatedFields();
+        BsonValue deleted = updatedFields == null ? null : updatedFields.get("isDeleted");
+        if (deleted != null && deleted.isBoolean()) {
+            return deleted.asBoolean().getValue() ? BlogFormEvent.Type.DELETED : BlogFormEvent.Type.RESTORED;
+        }
+        if (updatedFields != null && !updatedFields.isEmpty() && DERIVED_FIELDS.containsAll(updatedFields.keySet())
+                && (description.getRemovedFields() == null || description.getRemovedFields().isEmpty())) {
+            return null;
+        }
+        // Cambios sobre un registro ya eliminado no son visibles en la API
+        return form.isDeleted() ? null : BlogFormEvent.Type.UPDATED;
+    }
+
+    private void retryLater(MongoException e) {
+        if (!running) {
+            return;
+        }
+        log.warn("Blog form change stream interrupted, resuming in {}: {}", RETRY_DELAY, e.getMessage());
+        try {
+            Thread.sleep(RETRY_DELAY.toMillis());
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        running = false;
+        executor.shutdownNow();
+    }
+}
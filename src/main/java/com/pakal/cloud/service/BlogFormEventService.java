@@ -0,0 +1,145 @@
+package com.pakal.cloud.service;
+
+import com.pakal.cloud.dto.BlogFormEvent;
+import com.pakal.cloud.model.BlogForm;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reparte los cambios de formularios entre los clientes de GET /api/blog-forms/events. La fuente es
+ * el change stream de MongoDB (BlogFormChangeStreamWatcher), que ve las escrituras de todas las
+ * réplicas; sin replica set, los servicios publican aquí sus propias escrituras y cada instancia
+ * solo ve las suyas.
+ * <p>
+ * Los últimos replay-size eventos se guardan para que un cliente que se reconecta con
+ * Last-Event-ID reciba lo que se perdió; si ese id ya salió de la ventana recibe un RESET.
+ * La ventana es de esta réplica y vive en memoria: el id (resume token con change streams) no se
+ * resuelve contra MongoDB, así que al reconectarse a otra réplica o tras un reinicio llega un RESET.
+ */
+@Slf4j
+@Service
+public class BlogFormEventService {
+
+    private final Sinks.Many<PublishedEvent> sink;
+    // id de evento -> secuencia local, para saber desde dónde reenviar
+    private final Map<String, Long> sequenceById;
+    private final int replaySize;
+    private final Duration heartbeat;
+    private final Duration timeout;
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private long sequence;
+    private String lastId;
+    private volatile boolean changeStreamActive;
+
+    public BlogFormEventService(
+            MeterRegistry registry,
+            @Value("${blog-form.events.replay-size:1000}") int replaySize,
+            @Value("${blog-form.events.heartbeat:15s}") Duration heartbeat,
+            @Value("${blog-form.events.timeout:30m}") Duration timeout) {
+        this.replaySize = replaySize;
+        this.heartbeat = heartbeat;
+        this.timeout = timeout;
+        this.sink = Sinks.many().replay().limit(replaySize);
+        this.sequenceById = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > replaySize;
+            }
+        };
+        Gauge.builder("blog.form.events.subscribers", subscribers, AtomicInteger::get)
+                .description("Clients connected to the blog form event stream")
+                .register(registry);
+    }
+
+    // Escrituras de esta instancia; se ignoran mientras el change stream ya las está publicando
+    public void publishLocal(BlogFormEvent.Type type, BlogForm form) {
+        if (!changeStreamActive) {
+            publish(null, BlogFormEvent.of(type, form));
+        }
+    }
+
+    public void publishLocal(BlogFormEvent.Type type, Collection<BlogForm> forms) {
+        if (!changeStreamActive) {
+            forms.forEach(form -> publish(null, BlogFormEvent.of(type, form)));
+        }
+    }
+
+    // Sincronizado: la secuencia y el orden de emisión coinciden y el sink no admite emisiones concurrentes
+    public synchronized void publish(String eventId, BlogFormEvent event) {
+        long next = ++sequence;
+        String id = eventId != null ? eventId : Long.toString(next);
+        sequenceById.put(id, next);
+        lastId = id;
+        sink.tryEmitNext(new PublishedEvent(next, id, event));
+    }
+
+    void setChangeStreamActive(boolean active) {
+        changeStreamActive = active;
+    }
+
+    public boolean isChangeStreamActive() {
+        return changeStreamActive;
+    }
+
+    /**
+     * Eventos posteriores a lastEventId (o a partir de ahora si es null), opcionalmente de un solo
+     * país, con un comentario cada heartbeat para que los proxies no corten la conexión. Se cierra
+     * tras el timeout; el cliente se reconecta con el último id recibido.
+     */
+    public Flux<ServerSentEvent<BlogFormEvent>> stream(String lastEventId, String country) {
+        return Flux.defer(() -> {
+            long after;
+            boolean reset;
+            String resetId;
+            synchronized (this) {
+                Long known = lastEventId == null ? null : sequenceById.get(lastEventId);
+                reset = lastEventId != null && known == null;
+                after = known != null ? known : sequence;
+                // El RESET lleva el id del último evento para que la siguiente reconexión continúe desde él
+                resetId = lastId != null ? lastId : "";
+            }
+            // El sink reenvía su ventana a cada suscriptor; se descarta lo que el cliente ya tiene
+            Flux<ServerSentEvent<BlogFormEvent>> events = sink.asFlux()
+                    .filter(published -> published.sequence() > after)
+                    .filter(published -> country == null || country.equalsIgnoreCase(published.event().getCountry()))
+                    .onBackpressureBuffer(replaySize, dropped -> log.debug("Dropped event {} for a slow client", dropped.id()),
+                            BufferOverflowStrategy.DROP_OLDEST)
+                    .map(BlogFormEventService::toServerSentEvent);
+            Flux<ServerSentEvent<BlogFormEvent>> heartbeats = Flux.interval(heartbeat)
+                    .map(tick -> ServerSentEvent.<BlogFormEvent>builder().comment("keepalive").build());
+            // El primer comentario envía las cabeceras en seguida y fija el tiempo de reconexión
+            ServerSentEvent<BlogFormEvent> connected = ServerSentEvent.<BlogFormEvent>builder()
+                    .comment("connected").retry(Duration.ofSeconds(3)).build();
+            Flux<ServerSentEvent<BlogFormEvent>> first = reset
+                    ? Flux.just(connected, toServerSentEvent(new PublishedEvent(after, resetId, BlogFormEvent.reset())))
+                    : Flux.just(connected);
+            return Flux.concat(first, Flux.merge(events, heartbeats))
+                    .take(timeout)
+                    .doOnSubscribe(subscription -> subscribers.incrementAndGet())
+                    .doFinally(signal -> subscribers.decrementAndGet());
+        });
+    }
+
+    private static ServerSentEvent<BlogFormEvent> toServerSentEvent(PublishedEvent published) {
+        return ServerSentEvent.builder(published.event())
+                .id(published.id())
+                .event(published.event().getType().name().toLowerCase(Locale.ROOT))
+                .build();
+    }
+
+    private record PublishedEvent(long sequence, String id, BlogFormEvent event) {
+    }
+}
@@ -0,0 +1,137 @@
+package com.pakal.cloud.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pakal.cloud.dto.BlogFormFilter;
+import com.pakal.cloud.errors.InvalidRequestException;
+import com.pakal.cloud.model.BlogForm;
+import com.pakal.cloud.repository.BlogFormRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Exportación de formularios directamente sobre la salida HTTP. Los documentos se leen de un
+ * cursor de MongoDB y se escriben uno a uno: la memoria usada no depende del número de registros
+ * y, si el cliente lee despacio, la escritura bloqueada frena también la lectura del cursor.
+ */
+@Slf4j
+@Service
+@Timed("blog.form.service")
+@RequiredArgsConstructor
+public class BlogFormExportService {
+
+    public enum Format { NDJSON, CSV }
+
+    private static final String[] CSV_HEADER = {"id", "email", "fullName", "description", "country", "createdAt", "updatedAt"};
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final BlogFormRepository repository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${blog-form.export.cursor-batch-size:1000}")
+    private int cursorBatchSize;
+
+    public static Format parseFormat(String format) {
+        try {
+            return Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Export format must be ndjson or csv");
+        }
+    }
+
+    // Antes de escribir cabeceras: un parámetro inválido debe ser un 400 normal, no un adjunto
+    public static Sort.Direction parseDirection(String direction) {
+        return Sort.Direction.fromOptionalString(direction)
+                .orElseThrow(() -> new InvalidRequestException("Direction must be ASC or DESC"));
+    }
+
+    public long export(BlogFormFilter filter, Sort.Direction sortDirection, Format format, OutputStream output) throws IOException {
+        log.debug("Exporting blog forms as {}", format);
+
+        long written;
+        try (Stream<BlogForm> forms = repository.streamByFilter(filter,
+                Sort.by(sortDirection, "createdAt", "id"), cursorBatchSize)) {
+            written = format == Format.CSV ? writeCsv(forms.iterator(), output) : writeNdjson(forms.iterator(), output);
+        }
+        log.info("Exported {} blog forms as {}", written, format);
+        return written;
+    }
+
+    private long writeNdjson(Iterator<BlogForm> forms, OutputStream output) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        // El vaciado lo decide el buffer, no cada documento
+        generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        generator.setRootValueSeparator(new SerializedString("\n"));
+        while (forms.hasNext()) {
+            generator.writeObject(forms.next());
+            count++;
+        }
+        if (count > 0) {
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+        writer.flush();
+        return count;
+    }
+
+    private long writeCsv(Iterator<BlogForm> forms, OutputStream output) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writeCsvRow(writer, CSV_HEADER);
+        while (forms.hasNext()) {
+            BlogForm form = forms.next();
+            writeCsvRow(writer, new String[] {
+                    form.getId(),
+                    form.getEmail(),
+                    form.getFullName(),
+                    form.getDescription(),
+                    form.getCountry(),
+                    form.getCreatedAt() == null ? null : form.getCreatedAt().toString(),
+                    form.getUpdatedAt() == null ? null : form.getUpdatedAt().toString()});
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static void writeCsvRow(Writer writer, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvField(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    // RFC 4180, y sin fórmulas: las celdas que empiezan por =, +, - o @ se prefijan con '
+    private static String csvField(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        String field = value;
+        char first = field.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@') {
+            field = "'" + field;
+        }
+        if (field.indexOf(',') >= 0 || field.indexOf('"') >= 0 || field.indexOf('\n') >= 0 || field.indexOf('\r') >= 0) {
+            field = '"' + field.replace("\"", "\"\"") + '"';
+        }
+        return field;
+    }
+}
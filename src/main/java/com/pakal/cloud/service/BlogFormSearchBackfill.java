@@ -0,0 +1,48 @@
+package com.pakal.cloud.service;
+
+import com.pakal.cloud.repository.BlogFormRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Completa en segundo plano los campos de búsqueda de los formularios creados antes de que
+ * existieran; los nuevos los reciben al crearse o editarse.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BlogFormSearchBackfill {
+
+    private final BlogFormRepository repository;
+    private final TaskExecutor applicationTaskExecutor;
+
+    @Value("${blog-form.search.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    @Value("${blog-form.search.backfill-batch-size:500}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (backfillOnStartup) {
+            CompletableFuture.runAsync(this::backfill, applicationTaskExecutor);
+        }
+    }
+
+    private void backfill() {
+        try {
+            long updated = repository.backfillSearchFields(batchSize);
+            if (updated > 0) {
+                log.info("Backfilled search fields on {} blog forms", updated);
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not backfill blog form search fields: {}", e.getMessage());
+        }
+    }
+}
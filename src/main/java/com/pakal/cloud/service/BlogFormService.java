@@ -1,34 +1,80 @@
 package com.pakal.cloud.service;
 
+import com.pakal.cloud.config.CacheConfig;
 import com.pakal.cloud.dto.BlogFormDTO;
+import com.pakal.cloud.dto.BlogFormEvent;
 import com.pakal.cloud.model.BlogForm;
 import com.pakal.cloud.repository.BlogFormRepository;
+import com.pakal.cloud.repository.BlogFormRepositoryCustom;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import com.pakal.cloud.dto.BlogFormCursor;
+import com.pakal.cloud.dto.BlogFormFilter;
+import com.pakal.cloud.dto.BlogFormSummary;
+import com.pakal.cloud.dto.CursorPage;
+import com.pakal.cloud.errors.InvalidRequestException;
+import com.pakal.cloud.errors.PreconditionFailedException;
 import com.pakal.cloud.errors.ResourceConflictException;
 import com.pakal.cloud.errors.ResourceNotFoundException;
 
 @Slf4j
 @Service
+@Timed("blog.form.service")
 @RequiredArgsConstructor
 public class BlogFormService {
+    static final int MAX_CURSOR_PAGE_SIZE = 1000;
+    private static final String HOT_PAGE = "#page < T(com.pakal.cloud.config.CacheConfig).HOT_PAGES";
+    // Campo de la API -> campo almacenado; el nombre se ordena por su forma normalizada
+    private static final Map<String, String> SORTABLE_FIELDS = Map.of(
+            "createdAt", "createdAt",
+            "updatedAt", "updatedAt",
+            "fullName", "fullNameNormalized",
+            "country", "country");
+    // Campos admitidos en fields=; "summary" equivale a las columnas del grid
+    private static final Set<String> PROJECTABLE_FIELDS = Set.of(
+            "id", "email", "fullName", "description", "country", "createdAt", "updatedAt", "version");
+    private static final Set<String> SUMMARY_FIELDS = Set.of("id", "fullName", "country", "createdAt");
+
     private final BlogFormRepository repository;
+    private final BlogFormStatsService statsService;
+    private final BlogFormEventService eventService;
 
+    @CacheEvict(cacheNames = CacheConfig.BLOG_FORM_PAGES, allEntries = true)
     public BlogForm create(BlogFormDTO dto) {
-        log.info("Creating new blog form for email: {}", dto.getEmail());
+        log.debug("Creating new blog form for country: {}", dto.getCountry());
+
+        BlogForm form = newForm(dto);
 
-        // Verificar si ya existe un registro con el mismo email
-        if (repository.existsByEmail(dto.getEmail())) {
+        // Un solo insert: el índice único sobre email detecta el duplicado de forma atómica
+        BlogForm created;
+        try {
+            created = repository.insert(form);
+        } catch (DuplicateKeyException e) {
             throw new ResourceConflictException("A blog form with the given email already exists.");
         }
+        statsService.record(List.of(created), 1);
+        eventService.publishLocal(BlogFormEvent.Type.CREATED, created);
+        return created;
+    }
 
-        // Si no existe, crear uno nuevo
+    static BlogForm newForm(BlogFormDTO dto) {
         BlogForm form = new BlogForm();
         form.setEmail(dto.getEmail());
         form.setFullName(dto.getFullName());
@@ -37,69 +83,202 @@ public class BlogFormService {
         form.setCreatedAt(LocalDateTime.now());
         form.setUpdatedAt(LocalDateTime.now());
         form.setDeleted(false);
-        return repository.save(form);
+        return form;
     }
 
+    @Cacheable(cacheNames = CacheConfig.BLOG_FORM_PAGES, condition = HOT_PAGE,
+            key = "{'all', #page, #size, #sortBy, #direction}")
     public Page<BlogForm> findAll(int page, int size, String sortBy, String direction) {
-        log.info("Retrieving blog forms page {} with size {}", page, size);
-        Sort sort = Sort.by(Sort.Direction.fromString(direction), sortBy);
-        Pageable pageable = PageRequest.of(page, size, sort);
-        return repository.findByIsDeletedFalse(pageable);
+        log.debug("Retrieving blog forms page {} with size {}", page, size);
+        return findByFilters(new BlogFormFilter(), page, size, sortBy, direction);
     }
 
-    public Page<BlogForm> findByFilters(
-            String country,
-            String fullName,
-            LocalDateTime startDate,
-            LocalDateTime endDate,
-            int page,
-            int size,
-            String sortBy,
-            String direction) {
+    @Cacheable(cacheNames = CacheConfig.BLOG_FORM_PAGES, condition = HOT_PAGE,
+            key = "{'filter', #filter, #page, #size, #sortBy, #direction}")
+    public Page<BlogForm> findByFilters(BlogFormFilter filter, int page, int size, String sortBy, String direction) {
+        log.debug("Retrieving filtered blog forms page {} with size {}", page, size);
+        if (page < 0 || size < 1) {
+            throw new InvalidRequestException("Page must be >= 0 and size must be >= 1");
+        }
+        Pageable pageable = PageRequest.of(page, size, resolveSort(sortBy, direction));
+        return repository.findByFilter(filter, pageable);
+    }
 
-        log.info("Retrieving filtered blog forms page {} with size {}", page, size);
-        Sort sort = Sort.by(Sort.Direction.fromString(direction), sortBy);
-        Pageable pageable = PageRequest.of(page, size, sort);
+    @Cacheable(cacheNames = CacheConfig.BLOG_FORM_PAGES, condition = "#cursor == null || #cursor.isEmpty()",
+            key = "{'cursor', #filter, #size, #direction}")
+    public CursorPage<BlogForm> findByCursor(BlogFormFilter filter, String cursor, int size, String direction) {
+        log.debug("Retrieving blog forms by cursor with size {}", size);
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new InvalidRequestException("Size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        Pageable pageable = PageRequest.of(0, size, resolveSort("createdAt", direction));
+        BlogFormCursor after = cursor == null || cursor.isEmpty() ? null : BlogFormCursor.decode(cursor);
+        return toCursorPage(repository.findSliceByFilter(filter, after, pageable), BlogFormCursor::of);
+    }
 
-        if (country != null && !country.isEmpty()) {
-            return repository.findByCountryAndIsDeletedFalse(country, pageable);
+    // Listado proyectado: solo se leen de MongoDB y se serializan los campos pedidos
+    @Cacheable(cacheNames = CacheConfig.BLOG_FORM_PAGES, condition = HOT_PAGE,
+            key = "{'fields', #filter, #fields, #page, #size, #sortBy, #direction}")
+    public Page<BlogFormSummary> findSummaries(BlogFormFilter filter, String fields, int page, int size, String sortBy, String direction) {
+        log.debug("Retrieving blog forms page {} with size {} and fields {}", page, size, fields);
+        if (page < 0 || size < 1) {
+            throw new InvalidRequestException("Page must be >= 0 and size must be >= 1");
         }
+        Pageable pageable = PageRequest.of(page, size, resolveSort(sortBy, direction));
+        return repository.findSummariesByFilter(filter, resolveFields(fields), pageable);
+    }
 
-        if (fullName != null && !fullName.isEmpty()) {
-            return repository.findByFullNameContainingAndIsDeletedFalse(fullName, pageable);
+    @Cacheable(cacheNames = CacheConfig.BLOG_FORM_PAGES, condition = "#cursor == null || #cursor.isEmpty()",
+            key = "{'cursorFields', #filter, #fields, #size, #direction}")
+    public CursorPage<BlogFormSummary> findSummariesByCursor(BlogFormFilter filter, String fields, String cursor, int size, String direction) {
+        log.debug("Retrieving blog forms by cursor with size {} and fields {}", size, fields);
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new InvalidRequestException("Size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
         }
+        Pageable pageable = PageRequest.of(0, size, resolveSort("createdAt", direction));
+        BlogFormCursor after = cursor == null || cursor.isEmpty() ? null : BlogFormCursor.decode(cursor);
+        return toCursorPage(repository.findSummarySliceByFilter(filter, after, cursorFields(fields), pageable), BlogFormCursor::of);
+    }
 
-        if (startDate != null && endDate != null) {
-            return repository.findByCreatedAtBetweenAndIsDeletedFalse(startDate, endDate, pageable);
+    static <T> CursorPage<T> toCursorPage(Slice<T> slice, Function<T, BlogFormCursor> position) {
+        String nextCursor = null;
+        if (slice.hasNext() && slice.hasContent()) {
+            nextCursor = position.apply(slice.getContent().get(slice.getNumberOfElements() - 1)).encode();
         }
+        return new CursorPage<>(slice.getContent(), slice.getNumberOfElements(), slice.hasNext(), nextCursor);
+    }
 
-        return repository.findByIsDeletedFalse(pageable);
+    static Set<String> resolveFields(String fields) {
+        if ("summary".equalsIgnoreCase(fields.trim())) {
+            return SUMMARY_FIELDS;
+        }
+        Set<String> resolved = new TreeSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!PROJECTABLE_FIELDS.contains(name)) {
+                throw new InvalidRequestException("Fields must be 'summary' or a comma-separated list of " + new TreeSet<>(PROJECTABLE_FIELDS));
+            }
+            resolved.add(name);
+        }
+        return resolved;
+    }
+
+    // El siguiente cursor se construye con createdAt, aunque no se haya pedido
+    static Set<String> cursorFields(String fields) {
+        Set<String> resolved = new TreeSet<>(resolveFields(fields));
+        resolved.add("createdAt");
+        return resolved;
+    }
+
+    // Solo se permite ordenar por campos conocidos; _id desempata para que el orden sea estable
+    static Sort resolveSort(String sortBy, String direction) {
+        String field = SORTABLE_FIELDS.get(sortBy);
+        if (field == null) {
+            throw new InvalidRequestException("Sorting is only supported by " + SORTABLE_FIELDS.keySet());
+        }
+        Sort.Direction sortDirection = Sort.Direction.fromOptionalString(direction)
+                .orElseThrow(() -> new InvalidRequestException("Direction must be ASC or DESC"));
+        return Sort.by(sortDirection, field, "id");
     }
 
+    @Cacheable(cacheNames = CacheConfig.BLOG_FORMS, key = "#id")
     public BlogForm findById(String id) {
-        log.info("Retrieving blog form with id: {}", id);
-        return repository.findById(id)
+        log.debug("Retrieving blog form with id: {}", id);
+        return repository.findByIdAndIsDeletedFalse(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Blog form with ID " + id + " not found"));
     }
 
-    public BlogForm update(String id, BlogFormDTO dto) {
-        log.info("Updating blog form with id: {}", id);
-        BlogForm form = findById(id);
-        form.setEmail(dto.getEmail());
-        form.setFullName(dto.getFullName());
-        form.setDescription(dto.getDescription());
-        form.setCountry(dto.getCountry());
-        form.setUpdatedAt(LocalDateTime.now());
-        return repository.save(form);
+    // Proyección de version y updatedAt: basta para responder 304 sin leer el documento completo
+    public BlogForm findValidators(String id) {
+        return repository.findValidatorsById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Blog form with ID " + id + " not found"));
     }
 
-    
-    public void delete(String id) {
-        log.info("Performing physical deletion of blog form with id: {}", id);
-        BlogForm form = findById(id); // Buscar el registro
-        repository.delete(form); // Eliminarlo de la base de datos
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.BLOG_FORMS, key = "#id"),
+        @CacheEvict(cacheNames = CacheConfig.BLOG_FORM_PAGES, allEntries = true)
+    })
+    public BlogForm update(String id, BlogFormDTO dto, Long expectedVersion) {
+        log.debug("Updating blog form with id: {}", id);
+        return updateFields(id, dto, false, expectedVersion);
+    }
+
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.BLOG_FORMS, key = "#id"),
+        @CacheEvict(cacheNames = CacheConfig.BLOG_FORM_PAGES, allEntries = true)
+    })
+    public BlogForm patch(String id, BlogFormDTO dto, Long expectedVersion) {
+        log.debug("Patching blog form with id: {}", id);
+        if (dto.getEmail() == null && dto.getFullName() == null && dto.getDescription() == null && dto.getCountry() == null) {
+            throw new InvalidRequestException("At least one field must be supplied");
+        }
+        return updateFields(id, dto, true, expectedVersion);
+    }
+
+    // Un solo findAndModify: sin lectura previa ni reescritura del documento completo. Si se escribe
+    // el país, devuelve también el país anterior para mover el alta de bucket
+    private BlogForm updateFields(String id, BlogFormDTO dto, boolean partial, Long expectedVersion) {
+        boolean writesCountry = !partial || dto.getCountry() != null;
+        BlogForm updated;
+        BlogFormRepositoryCustom.Revision revision = null;
+        try {
+            if (writesCountry) {
+                revision = repository.updateFieldsWithPrevious(id, dto, partial, expectedVersion);
+                updated = revision == null ? null : revision.current();
+            } else {
+                updated = repository.updateFields(id, dto, partial, expectedVersion);
+            }
+        } catch (DuplicateKeyException e) {
+            throw new ResourceConflictException("A blog form with the given email already exists.");
+        }
+        if (updated == null) {
+            // Solo en el caso de fallo se distingue entre versión obsoleta y registro inexistente
+            if (expectedVersion != null && repository.existsByIdAndIsDeletedFalse(id)) {
+                throw new PreconditionFailedException("Blog form with ID " + id + " has been modified since version " + expectedVersion);
+            }
+            throw new ResourceNotFoundException("Blog form with ID " + id + " not found");
+        }
+        if (revision != null) {
+            statsService.move(revision.previous(), dto.getCountry());
+        }
+        eventService.publishLocal(BlogFormEvent.Type.UPDATED, updated);
+        return updated;
     }
-    
 
 
-}
\ No newline at end of file
+    // Baja lógica en un solo findAndModify; el índice TTL sobre deletedAt purga el documento más tarde
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.BLOG_FORMS, key = "#id"),
+        @CacheEvict(cacheNames = CacheConfig.BLOG_FORM_PAGES, allEntries = true)
+    })
+    public void delete(String id) {
+        log.debug("Performing soft deletion of blog form with id: {}", id);
+        BlogForm deleted = repository.softDelete(id);
+        if (deleted == null) {
+            throw new ResourceNotFoundException("Blog form with ID " + id + " not found");
+        }
+        statsService.record(List.of(deleted), -1);
+        eventService.publishLocal(BlogFormEvent.Type.DELETED, deleted);
+    }
+
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.BLOG_FORMS, key = "#id"),
+        @CacheEvict(cacheNames = CacheConfig.BLOG_FORM_PAGES, allEntries = true)
+    })
+    public BlogForm restore(String id) {
+        log.debug("Restoring blog form with id: {}", id);
+        BlogForm restored;
+        try {
+            restored = repository.restore(id);
+        } catch (DuplicateKeyException e) {
+            // Mientras estaba eliminado, otro registro vivo tomó el mismo email
+            throw new ResourceConflictException("A blog form with the given email already exists.");
+        }
+        if (restored == null) {
+            throw new ResourceNotFoundException("Deleted blog form with ID " + id + " not found");
+        }
+        statsService.record(List.of(restored), 1);
+        eventService.publishLocal(BlogFormEvent.Type.RESTORED, restored);
+        return restored;
+    }
+}
@@ -0,0 +1,93 @@
+package com.pakal.cloud.service;
+
+import com.pakal.cloud.repository.BlogFormStatsRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recalcula desde cero los agregados de estadísticas: al arrancar (la primera vez no existen) y
+ * cada cierto intervalo. Altas, bajas, restauraciones y cambios de país ya mueven los agregados;
+ * la reconciliación solo repara los incrementos que se perdieron.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BlogFormStatsReconciler {
+
+    private final BlogFormStatsRepository repository;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "blog-form-stats-reconciler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${blog-form.stats.reconcile-on-startup:true}")
+    private boolean reconcileOnStartup;
+
+    // 0 desactiva la reconciliación periódica
+    @Value("${blog-form.stats.reconcile-interval:6h}")
+    private Duration interval;
+
+    private volatile LocalDateTime lastRunAt;
+    private volatile BlogFormStatsRepository.Rebuild lastRebuild;
+    private volatile String lastError;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (reconcileOnStartup) {
+            scheduler.execute(this::reconcileQuietly);
+        }
+        if (!interval.isZero()) {
+            scheduler.scheduleWithFixedDelay(this::reconcileQuietly,
+                    interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Sincronizado: una ejecución manual no se solapa con la programada
+    public synchronized BlogFormStatsRepository.Rebuild reconcile() {
+        long begin = System.nanoTime();
+        BlogFormStatsRepository.Rebuild rebuild = repository.rebuild();
+        lastRunAt = LocalDateTime.now();
+        lastRebuild = rebuild;
+        lastError = null;
+        log.info("Reconciled blog form stats in {} ms: {} buckets, {} stale removed",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin), rebuild.getBuckets(), rebuild.getRemoved());
+        return rebuild;
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("interval", interval.toString());
+        status.put("lastRunAt", lastRunAt);
+        status.put("lastRebuild", lastRebuild);
+        status.put("lastError", lastError);
+        return status;
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            lastError = e.getMessage();
+            log.error("Could not reconcile blog form stats: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,83 @@
+package com.pakal.cloud.service;
+
+import com.pakal.cloud.dto.BlogFormStats;
+import com.pakal.cloud.errors.InvalidRequestException;
+import com.pakal.cloud.model.BlogForm;
+import com.pakal.cloud.repository.BlogFormStatsRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Estadísticas de formularios vivos leídas de los agregados por país y día. Las altas, bajas y
+ * cambios de país los actualizan al momento; si una actualización falla, el formulario ya está guardado y la
+ * reconciliación periódica corrige el conteo.
+ */
+@Slf4j
+@Service
+@Timed("blog.form.service")
+@RequiredArgsConstructor
+public class BlogFormStatsService {
+
+    private static final List<String> GROUPABLE_FIELDS = List.of("country", "day");
+
+    private final BlogFormStatsRepository repository;
+
+    public BlogFormStats find(String groupBy, LocalDate from, LocalDate to, String country) {
+        log.debug("Retrieving blog form stats grouped by {}", groupBy);
+        List<String> fields = resolveGroupBy(groupBy, from, to);
+        return toStats(fields, repository.find(fields, from, to, country));
+    }
+
+    public void record(Collection<BlogForm> forms, long delta) {
+        try {
+            repository.increment(forms, delta);
+        } catch (DataAccessException e) {
+            log.warn("Could not update blog form stats, they will be fixed by the next reconciliation: {}", e.getMessage());
+        }
+    }
+
+    // Cambio de país por PUT/PATCH: el alta pasa del bucket anterior al del país nuevo, mismo día
+    public void move(BlogForm previous, String country) {
+        if (Objects.equals(previous.getCountry(), country)) {
+            return;
+        }
+        record(List.of(previous), -1);
+        record(List.of(moved(previous, country)), 1);
+    }
+
+    static BlogForm moved(BlogForm previous, String country) {
+        BlogForm moved = new BlogForm();
+        moved.setCountry(country);
+        moved.setCreatedAt(previous.getCreatedAt());
+        return moved;
+    }
+
+    // Lista separada por comas de country y day, en el orden en que se agrupa
+    static List<String> resolveGroupBy(String groupBy, LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new InvalidRequestException("From must not be after to");
+        }
+        List<String> fields = new ArrayList<>();
+        for (String field : groupBy.split(",")) {
+            String name = field.trim();
+            if (!GROUPABLE_FIELDS.contains(name) || fields.contains(name)) {
+                throw new InvalidRequestException("GroupBy must be a comma-separated list of " + GROUPABLE_FIELDS);
+            }
+            fields.add(name);
+        }
+        return fields;
+    }
+
+    static BlogFormStats toStats(List<String> groupBy, List<BlogFormStats.Bucket> buckets) {
+        long total = buckets.stream().mapToLong(BlogFormStats.Bucket::getCount).sum();
+        return new BlogFormStats(groupBy, total, buckets);
+    }
+}
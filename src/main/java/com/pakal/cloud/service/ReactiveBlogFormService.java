@@ -0,0 +1,194 @@
+package com.pakal.cloud.service;
+
+import com.pakal.cloud.dto.BlogFormCursor;
+import com.pakal.cloud.dto.BlogFormDTO;
+import com.pakal.cloud.dto.BlogFormEvent;
+import com.pakal.cloud.dto.BlogFormFilter;
+import com.pakal.cloud.dto.BlogFormStats;
+import com.pakal.cloud.dto.BlogFormSummary;
+import com.pakal.cloud.dto.CursorPage;
+import com.pakal.cloud.errors.InvalidRequestException;
+import com.pakal.cloud.errors.PreconditionFailedException;
+import com.pakal.cloud.errors.ResourceConflictException;
+import com.pakal.cloud.errors.ResourceNotFoundException;
+import com.pakal.cloud.model.BlogForm;
+import com.pakal.cloud.repository.ReactiveBlogFormRepository;
+import com.pakal.cloud.repository.ReactiveBlogFormStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Equivalente no bloqueante de BlogFormService para el perfil "reactive". Reutiliza las mismas
+ * reglas (ordenación permitida, cursores, índice único sobre email); no usa las cachés de Caffeine,
+ * pensadas para el modelo de un hilo por petición.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBlogFormService {
+
+    private final ReactiveBlogFormRepository repository;
+    private final ReactiveBlogFormStatsRepository statsRepository;
+    private final BlogFormEventService eventService;
+
+    @Value("${blog-form.export.cursor-batch-size:1000}")
+    private int cursorBatchSize;
+
+    public Mono<BlogForm> create(BlogFormDTO dto) {
+        log.debug("Creating new blog form for country: {}", dto.getCountry());
+        return repository.insert(BlogFormService.newForm(dto))
+                .onErrorMap(DuplicateKeyException.class,
+                        e -> new ResourceConflictException("A blog form with the given email already exists."))
+                .flatMap(created -> recordStats(created, 1).thenReturn(created))
+                .doOnNext(created -> eventService.publishLocal(BlogFormEvent.Type.CREATED, created));
+    }
+
+    public Mono<Page<BlogForm>> findByFilters(BlogFormFilter filter, int page, int size, String sortBy, String direction) {
+        log.debug("Retrieving filtered blog forms page {} with size {}", page, size);
+        if (page < 0 || size < 1) {
+            return Mono.error(new InvalidRequestException("Page must be >= 0 and size must be >= 1"));
+        }
+        // defer: un sortBy o direction inválidos llegan como señal de error, no como excepción
+        return Mono.defer(() -> repository.findByFilter(filter,
+                PageRequest.of(page, size, BlogFormService.resolveSort(sortBy, direction))));
+    }
+
+    public Mono<CursorPage<BlogForm>> findByCursor(BlogFormFilter filter, String cursor, int size, String direction) {
+        log.debug("Retrieving blog forms by cursor with size {}", size);
+        if (size < 1 || size > BlogFormService.MAX_CURSOR_PAGE_SIZE) {
+            return Mono.error(new InvalidRequestException("Size must be between 1 and " + BlogFormService.MAX_CURSOR_PAGE_SIZE));
+        }
+        return Mono.defer(() -> {
+                    Pageable pageable = PageRequest.of(0, size, BlogFormService.resolveSort("createdAt", direction));
+                    BlogFormCursor after = cursor == null || cursor.isEmpty() ? null : BlogFormCursor.decode(cursor);
+                    return repository.findSliceByFilter(filter, after, pageable);
+                })
+                .map(slice -> BlogFormService.toCursorPage(slice, BlogFormCursor::of));
+    }
+
+    public Mono<Page<BlogFormSummary>> findSummaries(BlogFormFilter filter, String fields, int page, int size, String sortBy, String direction) {
+        log.debug("Retrieving blog forms page {} with size {} and fields {}", page, size, fields);
+        if (page < 0 || size < 1) {
+            return Mono.error(new InvalidRequestException("Page must be >= 0 and size must be >= 1"));
+        }
+        return Mono.defer(() -> repository.findSummariesByFilter(filter, BlogFormService.resolveFields(fields),
+                PageRequest.of(page, size, BlogFormService.resolveSort(sortBy, direction))));
+    }
+
+    public Mono<CursorPage<BlogFormSummary>> findSummariesByCursor(BlogFormFilter filter, String fields, String cursor, int size, String direction) {
+        log.debug("Retrieving blog forms by cursor with size {} and fields {}", size, fields);
+        if (size < 1 || size > BlogFormService.MAX_CURSOR_PAGE_SIZE) {
+            return Mono.error(new InvalidRequestException("Size must be between 1 and " + BlogFormService.MAX_CURSOR_PAGE_SIZE));
+        }
+        return Mono.defer(() -> {
+                    Pageable pageable = PageRequest.of(0, size, BlogFormService.resolveSort("createdAt", direction));
+                    BlogFormCursor after = cursor == null || cursor.isEmpty() ? null : BlogFormCursor.decode(cursor);
+                    return repository.findSummarySliceByFilter(filter, after, BlogFormService.cursorFields(fields), pageable);
+                })
+                .map(slice -> BlogFormService.toCursorPage(slice, BlogFormCursor::of));
+    }
+
+    public Mono<BlogForm> findById(String id) {
+        log.debug("Retrieving blog form with id: {}", id);
+        return repository.findByIdAndIsDeletedFalse(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Blog form with ID " + id + " not found")));
+    }
+
+    public Mono<BlogForm> findValidators(String id) {
+        return repository.findValidatorsById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Blog form with ID " + id + " not found")));
+    }
+
+    public Mono<BlogForm> update(String id, BlogFormDTO dto, Long expectedVersion) {
+        log.debug("Updating blog form with id: {}", id);
+        return updateFields(id, dto, false, expectedVersion);
+    }
+
+    public Mono<BlogForm> patch(String id, BlogFormDTO dto, Long expectedVersion) {
+        log.debug("Patching blog form with id: {}", id);
+        if (dto.getEmail() == null && dto.getFullName() == null && dto.getDescription() == null && dto.getCountry() == null) {
+            return Mono.error(new InvalidRequestException("At least one field must be supplied"));
+        }
+        return updateFields(id, dto, true, expectedVersion);
+    }
+
+    // Igual que BlogFormService: si se escribe el país, se mueve el alta de bucket sin releer el documento
+    private Mono<BlogForm> updateFields(String id, BlogFormDTO dto, boolean partial, Long expectedVersion) {
+        boolean writesCountry = !partial || dto.getCountry() != null;
+        Mono<BlogForm> written = writesCountry
+                ? repository.updateFieldsWithPrevious(id, dto, partial, expectedVersion)
+                        .flatMap(revision -> moveStats(revision.previous(), dto.getCountry()).thenReturn(revision.current()))
+                : repository.updateFields(id, dto, partial, expectedVersion);
+        return written
+                .onErrorMap(DuplicateKeyException.class,
+                        e -> new ResourceConflictException("A blog form with the given email already exists."))
+                .switchIfEmpty(Mono.defer(() -> (expectedVersion == null ? Mono.just(false) : repository.existsByIdAndIsDeletedFalse(id))
+                        .flatMap(exists -> Mono.error(exists
+                                ? new PreconditionFailedException("Blog form with ID " + id + " has been modified since version " + expectedVersion)
+                                : new ResourceNotFoundException("Blog form with ID " + id + " not found")))))
+                .doOnNext(updated -> eventService.publishLocal(BlogFormEvent.Type.UPDATED, updated));
+    }
+
+    public Mono<Void> delete(String id) {
+        log.debug("Performing soft deletion of blog form with id: {}", id);
+        return repository.softDelete(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Blog form with ID " + id + " not found")))
+                .doOnNext(deleted -> eventService.publishLocal(BlogFormEvent.Type.DELETED, deleted))
+                .flatMap(deleted -> recordStats(deleted, -1));
+    }
+
+    public Mono<BlogForm> restore(String id) {
+        log.debug("Restoring blog form with id: {}", id);
+        return repository.restore(id)
+                .onErrorMap(DuplicateKeyException.class,
+                        e -> new ResourceConflictException("A blog form with the given email already exists."))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Deleted blog form with ID " + id + " not found")))
+                .flatMap(restored -> recordStats(restored, 1).thenReturn(restored))
+                .doOnNext(restored -> eventService.publishLocal(BlogFormEvent.Type.RESTORED, restored));
+    }
+
+    public Mono<BlogFormStats> stats(String groupBy, LocalDate from, LocalDate to, String country) {
+        log.debug("Retrieving blog form stats grouped by {}", groupBy);
+        return Mono.defer(() -> {
+            List<String> fields = BlogFormStatsService.resolveGroupBy(groupBy, from, to);
+            return statsRepository.find(fields, from, to, country)
+                    .map(buckets -> BlogFormStatsService.toStats(fields, buckets));
+        });
+    }
+
+    // Igual que BlogFormStatsService.record: un fallo no revierte la escritura, lo corrige la reconciliación
+    private Mono<Void> recordStats(BlogForm form, long delta) {
+        return statsRepository.increment(List.of(form), delta)
+                .onErrorResume(DataAccessException.class, e -> {
+                    log.warn("Could not update blog form stats, they will be fixed by the next reconciliation: {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Void> moveStats(BlogForm previous, String country) {
+        if (Objects.equals(previous.getCountry(), country)) {
+            return Mono.empty();
+        }
+        return recordStats(previous, -1).then(recordStats(BlogFormStatsService.moved(previous, country), 1));
+    }
+
+    public Flux<BlogForm> export(BlogFormFilter filter, Sort.Direction sortDirection) {
+        log.debug("Exporting blog forms as NDJSON");
+        return Flux.defer(() -> repository.streamByFilter(filter, Sort.by(sortDirection, "createdAt", "id"), cursorBatchSize));
+    }
+}
@@ -0,0 +1,191 @@
+package com.pakal.cloud;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara la variante servlet (hilos de plataforma y hilos virtuales) y la reactiva con la misma
+ * carga y una latencia artificial en cada viaje a MongoDB (un proxy TCP que retrasa las peticiones
+ * hacia el servidor en memoria).
+ * Se activa con LOAD_TEST=true; LOAD_TEST_REQUESTS, LOAD_TEST_CONCURRENCY y LOAD_TEST_DB_LATENCY_MS
+ * ajustan la carga.
+ */
+@Slf4j
+@EnabledIfEnvironmentVariable(named = "LOAD_TEST", matches = "true")
+class BlogFormLoadTests {
+
+    private static final String AUTHORIZATION = "Basic "
+            + Base64.getEncoder().encodeToString("user:password".getBytes(StandardCharsets.UTF_8));
+    private static final Pattern TOKEN = Pattern.compile("\"csrfToken\"\\s*:\\s*\"([^\"]+)\"");
+    private static final int SEEDED_FORMS = 200;
+    // Página fuera de la caché de páginas calientes: cada petición llega a MongoDB en ambos modos
+    private static final String LISTING = "/api/blog-forms?page=5&size=10";
+
+    private static final int REQUESTS = intEnv("LOAD_TEST_REQUESTS", 4000);
+    private static final int CONCURRENCY = intEnv("LOAD_TEST_CONCURRENCY", 400);
+    private static final int DB_LATENCY_MS = intEnv("LOAD_TEST_DB_LATENCY_MS", 50);
+
+    private static MongoServer mongo;
+    private static LatencyProxy proxy;
+    private static final HttpClient CLIENT = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+    @BeforeAll
+    static void startMongo() throws IOException {
+        mongo = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = mongo.bind();
+        try (MongoClient client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort())) {
+            List<Document> forms = new ArrayList<>();
+            for (int i = 0; i < SEEDED_FORMS; i++) {
+                Date createdAt = new Date(System.currentTimeMillis() - i * 1000L);
+                forms.add(new Document("email", "load" + i + "@example.com")
+                        .append("fullName", "Load User " + i)
+                        .append("country", "MX")
+                        .append("createdAt", createdAt)
+                        .append("updatedAt", createdAt)
+                        .append("isDeleted", false));
+            }
+            client.getDatabase("blog_form_load").getCollection("blog_forms").insertMany(forms);
+        }
+        proxy = new LatencyProxy(address, DB_LATENCY_MS);
+    }
+
+    @AfterAll
+    static void stopMongo() throws IOException {
+        proxy.close();
+        mongo.shutdownNow();
+    }
+
+    private enum Mode { PLATFORM_THREADS, VIRTUAL_THREADS, REACTIVE }
+
+    @Test
+    void executionModesUnderDatabaseLatency() throws Exception {
+        Map<Mode, Result> results = new EnumMap<>(Mode.class);
+        for (Mode mode : Mode.values()) {
+            results.put(mode, run(mode));
+        }
+
+        log.info("load: {} requests, concurrency {}, {} ms per MongoDB round-trip", REQUESTS, CONCURRENCY, DB_LATENCY_MS);
+        results.forEach((mode, result) -> log.info("load: {} {}", mode, result));
+
+        results.forEach((mode, result) -> assertEquals(0, result.failures, mode + " failures"));
+    }
+
+    private static Result run(Mode mode) throws Exception {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(FormApiApplication.class);
+        if (mode == Mode.REACTIVE) {
+            builder.profiles("reactive");
+        }
+        String mongoUri = "mongodb://127.0.0.1:" + proxy.port() + "/blog_form_load";
+        try (ConfigurableApplicationContext context = builder.run(
+                "--server.port=0",
+                "--spring.data.mongodb.uri=" + mongoUri,
+                "--spring.threads.virtual.enabled=" + (mode == Mode.VIRTUAL_THREADS),
+                // El pool de MongoDB no debe ser el cuello de botella: lo que se mide es el modelo de hilos
+                "--blog-form.mongo.pool.max-size=" + CONCURRENCY,
+                "--blog-form.mongo.pool.max-connecting=" + CONCURRENCY,
+                "--blog-form.mongo.pool.max-wait=60s",
+                "--blog-form.admission.enabled=false",
+                "--blog-form.indexes.ensure-on-startup=false",
+                "--blog-form.search.backfill-on-startup=false",
+                "--blog-form.stats.reconcile-on-startup=false",
+                // Un solo token CSRF para toda la ejecución
+                "--blog-form.csrf.ttl=1h",
+                "--logging.level.com.pakal.cloud.service=WARN")) {
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            String token = fetchToken(base);
+            HttpRequest request = HttpRequest.newBuilder(URI.create(base + LISTING))
+                    .header("Authorization", AUTHORIZATION)
+                    .header("X-XSRF-TOKEN", token)
+                    .timeout(Duration.ofSeconds(60))
+                    .GET()
+                    .build();
+            load(request, CONCURRENCY);
+            return load(request, REQUESTS);
+        }
+    }
+
+    private static Result load(HttpRequest request, int requests) throws Exception {
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        AtomicInteger failures = new AtomicInteger();
+        long[] latencies = new long[requests];
+        List<CompletableFuture<?>> futures = new ArrayList<>(requests);
+        long begin = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            int index = i;
+            inFlight.acquire();
+            long start = System.nanoTime();
+            futures.add(CLIENT.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        latencies[index] = System.nanoTime() - start;
+                        if (error != null || response.statusCode() != 200) {
+                            if (failures.getAndIncrement() == 0) {
+                                log.warn("load: first failure: {}", error != null ? error.toString() : "HTTP " + response.statusCode());
+                            }
+                        }
+                        inFlight.release();
+                    }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).exceptionally(error -> null).join();
+        long elapsed = System.nanoTime() - begin;
+        Arrays.sort(latencies);
+        return new Result(requests * 1e9 / elapsed, latencies[requests / 2] / 1_000_000,
+                latencies[requests * 99 / 100] / 1_000_000, latencies[requests - 1] / 1_000_000, failures.get());
+    }
+
+    private static String fetchToken(String base) throws Exception {
+        HttpResponse<String> response = CLIENT.send(HttpRequest.newBuilder(URI.create(base + "/api/csrf"))
+                .header("Authorization", AUTHORIZATION)
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), response.body());
+        Matcher matcher = TOKEN.matcher(response.body());
+        assertTrue(matcher.find(), response.body());
+        return matcher.group(1);
+    }
+
+    private static int intEnv(String name, int defaultValue) {
+        String value = System.getenv(name);
+        return value == null || value.isEmpty() ? defaultValue : Integer.parseInt(value);
+    }
+
+    private record Result(double throughput, long p50Millis, long p99Millis, long maxMillis, int failures) {
+        @Override
+        public String toString() {
+            return String.format("%.0f req/s, p50=%dms p99=%dms max=%dms, failures=%d",
+                    throughput, p50Millis, p99Millis, maxMillis, failures);
+        }
+    }
+}
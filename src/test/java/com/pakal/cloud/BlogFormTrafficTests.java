@@ -0,0 +1,408 @@
+package com.pakal.cloud;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.pakal.cloud.model.NameNormalizer;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reproduce una mezcla de tráfico de producción contra la aplicación completa (cadena de filtros de
+ * seguridad, HTTP Basic y el flujo CSRF de /api/csrf) sobre un MongoDB en memoria, y reporta
+ * throughput y latencia p50/p99/p999 por endpoint con HdrHistogram. Los histogramas completos se
+ * guardan en target/traffic/*.hgrm.
+ * Se activa con TRAFFIC_TEST=true; el resto de variables TRAFFIC_* ajustan la carga:
+ * <ul>
+ *   <li>TRAFFIC_MIX: pesos por operación (byId, list, filter, stats, csrf, create, patch)</li>
+ *   <li>TRAFFIC_REQUESTS, TRAFFIC_CONCURRENCY: peticiones medidas y máximo en vuelo</li>
+ *   <li>TRAFFIC_RATE: peticiones/s en lazo abierto; 0 envía la siguiente en cuanto hay hueco</li>
+ *   <li>TRAFFIC_BURST_SIZE, TRAFFIC_BURST_EVERY: ráfaga de altas cada cierto número de peticiones</li>
+ *   <li>TRAFFIC_DB_LATENCY_MS: retraso artificial por cada viaje a MongoDB</li>
+ *   <li>TRAFFIC_MONGODB_URI: usar un mongod existente en lugar del servidor en memoria</li>
+ *   <li>TRAFFIC_PROFILE: perfiles de Spring adicionales, p. ej. reactive</li>
+ *   <li>TRAFFIC_ADMISSION: false desactiva el control de admisión para medir la capacidad sin límites</li>
+ * </ul>
+ */
+@Slf4j
+@EnabledIfEnvironmentVariable(named = "TRAFFIC_TEST", matches = "true")
+class BlogFormTrafficTests {
+
+    private static final String AUTHORIZATION = "Basic "
+            + Base64.getEncoder().encodeToString("user:password".getBytes(StandardCharsets.UTF_8));
+    private static final Pattern TOKEN = Pattern.compile("\"csrfToken\"\\s*:\\s*\"([^\"]+)\"");
+    private static final String[] COUNTRIES = {"MX", "AR", "CO", "CL", "PE", "ES"};
+    private static final String DATABASE = "blog_form_traffic";
+
+    private static final int SEED_FORMS = intEnv("TRAFFIC_SEED_FORMS", 2000);
+    private static final int REQUESTS = intEnv("TRAFFIC_REQUESTS", 20000);
+    private static final int WARMUP_REQUESTS = intEnv("TRAFFIC_WARMUP_REQUESTS", 2000);
+    private static final int CONCURRENCY = intEnv("TRAFFIC_CONCURRENCY", 64);
+    private static final int RATE = intEnv("TRAFFIC_RATE", 0);
+    private static final int BURST_SIZE = intEnv("TRAFFIC_BURST_SIZE", 100);
+    private static final int BURST_EVERY = intEnv("TRAFFIC_BURST_EVERY", 5000);
+    private static final int DB_LATENCY_MS = intEnv("TRAFFIC_DB_LATENCY_MS", 0);
+    private static final boolean ADMISSION = Boolean.parseBoolean(env("TRAFFIC_ADMISSION", "true"));
+    // 80 % lecturas: por id, listados, listados filtrados y emisión de tokens CSRF
+    private static final Map<Operation, Integer> MIX = parseMix(
+            env("TRAFFIC_MIX", "byId=40,list=20,filter=15,csrf=5,create=10,patch=10"));
+
+    private static MongoServer mongo;
+    private static LatencyProxy proxy;
+    private static String mongoUri;
+    private static final List<String> SEEDED_IDS = new ArrayList<>();
+    private static final HttpClient CLIENT = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+    private enum Operation {
+        BY_ID("byId"), LIST("list"), FILTER("filter"), STATS("stats"), CSRF("csrf"), CREATE("create"), PATCH("patch");
+
+        private final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+    }
+
+    @BeforeAll
+    static void startMongo() throws IOException {
+        String externalUri = System.getenv("TRAFFIC_MONGODB_URI");
+        InetSocketAddress address;
+        if (externalUri == null || externalUri.isEmpty()) {
+            mongo = new MongoServer(new MemoryBackend());
+            address = mongo.bind();
+            mongoUri = "mongodb://" + address.getHostString() + ":" + address.getPort() + "/" + DATABASE;
+        } else {
+            mongoUri = externalUri;
+            address = null;
+        }
+        seed(mongoUri, externalUri != null && !externalUri.isEmpty());
+        if (DB_LATENCY_MS > 0) {
+            if (address == null) {
+                throw new IllegalStateException("TRAFFIC_DB_LATENCY_MS only applies to the in-memory server");
+            }
+            proxy = new LatencyProxy(address, DB_LATENCY_MS);
+            mongoUri = "mongodb://127.0.0.1:" + proxy.port() + "/" + DATABASE;
+        }
+    }
+
+    @AfterAll
+    static void stopMongo() throws IOException {
+        if (proxy != null) {
+            proxy.close();
+        }
+        if (mongo != null) {
+            mongo.shutdownNow();
+        }
+    }
+
+    @Test
+    void productionTrafficMix() throws Exception {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(FormApiApplication.class);
+        String profiles = System.getenv("TRAFFIC_PROFILE");
+        if (profiles != null && !profiles.isEmpty()) {
+            builder.profiles(profiles.split(","));
+        }
+        try (ConfigurableApplicationContext context = builder.run(
+                "--server.port=0",
+                "--spring.data.mongodb.uri=" + mongoUri,
+                "--blog-form.mongo.pool.max-size=" + Math.max(CONCURRENCY, 100),
+                "--blog-form.search.backfill-on-startup=false",
+                "--blog-form.admission.enabled=" + ADMISSION,
+                "--logging.level.com.pakal.cloud.service=WARN")) {
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            Traffic traffic = new Traffic(base);
+            traffic.run(WARMUP_REQUESTS, new Report(), 1);
+            Report report = new Report();
+            long elapsed = traffic.run(REQUESTS, report, 2);
+
+            log.info("traffic: {} requests in {} ms ({} req/s), concurrency {}, {}, mix {}, bursts of {} creates every {} requests, {} ms per MongoDB round-trip",
+                    REQUESTS, TimeUnit.NANOSECONDS.toMillis(elapsed), String.format("%.0f", REQUESTS * 1e9 / elapsed), CONCURRENCY,
+                    RATE > 0 ? "open loop at " + RATE + " req/s" : "closed loop", MIX, BURST_SIZE, BURST_EVERY, DB_LATENCY_MS);
+            report.log(elapsed);
+            report.write(Path.of("target", "traffic"));
+
+            // Los 503 del control de admisión (shed) son rechazos previstos, no errores
+            report.errors.forEach((operation, errors) -> assertEquals(0, errors.get(), operation + " errors"));
+        }
+    }
+
+    // Mismo plan en cada ejecución para poder comparar versiones
+    private static Operation[] plan(int requests, long seed) {
+        int totalWeight = MIX.values().stream().mapToInt(Integer::intValue).sum();
+        Random random = new Random(seed);
+        Operation[] plan = new Operation[requests];
+        for (int i = 0; i < requests; i++) {
+            if (BURST_SIZE > 0 && BURST_EVERY > BURST_SIZE && i % BURST_EVERY >= BURST_EVERY - BURST_SIZE) {
+                plan[i] = Operation.CREATE;
+                continue;
+            }
+            int pick = random.nextInt(totalWeight);
+            for (Map.Entry<Operation, Integer> entry : MIX.entrySet()) {
+                pick -= entry.getValue();
+                if (pick < 0) {
+                    plan[i] = entry.getKey();
+                    break;
+                }
+            }
+        }
+        return plan;
+    }
+
+    private static final class Traffic {
+
+        private final String base;
+        private final AtomicReference<String> token = new AtomicReference<>();
+        private final AtomicLong created = new AtomicLong();
+
+        Traffic(String base) throws Exception {
+            this.base = base;
+            HttpResponse<String> response = CLIENT.send(csrfRequest(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, response.statusCode(), response.body());
+            updateToken(response.body());
+        }
+
+        // Devuelve el tiempo total; en lazo abierto la latencia se mide desde el instante previsto de
+        // envío, así que la espera por un hueco libre también cuenta (sin omisión coordinada)
+        long run(int requests, Report report, long seed) throws Exception {
+            Operation[] plan = plan(requests, seed);
+            Random random = new Random(seed);
+            Semaphore inFlight = new Semaphore(CONCURRENCY);
+            List<CompletableFuture<?>> futures = new ArrayList<>(requests);
+            long intervalNanos = RATE > 0 ? TimeUnit.SECONDS.toNanos(1) / RATE : 0;
+            long begin = System.nanoTime();
+            for (int i = 0; i < requests; i++) {
+                Operation operation = plan[i];
+                HttpRequest request = request(operation, random);
+                long start;
+                if (RATE > 0) {
+                    start = begin + i * intervalNanos;
+                    long wait = start - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    inFlight.acquire();
+                } else {
+                    inFlight.acquire();
+                    start = System.nanoTime();
+                }
+                futures.add(CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                        .whenComplete((response, error) -> {
+                            report.record(operation, System.nanoTime() - start, error, response);
+                            if (operation == Operation.CSRF && response != null && response.statusCode() == 200) {
+                                updateToken(response.body());
+                            }
+                            inFlight.release();
+                        }));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).exceptionally(error -> null).join();
+            return System.nanoTime() - begin;
+        }
+
+        private HttpRequest request(Operation operation, Random random) {
+            String country = COUNTRIES[random.nextInt(COUNTRIES.length)];
+            return switch (operation) {
+                case BY_ID -> api("/api/blog-forms/" + randomId(random)).GET().build();
+                // Mezcla de páginas calientes (en caché) y frías
+                case LIST -> api("/api/blog-forms?page=" + random.nextInt(10) + "&size=10").GET().build();
+                case FILTER -> api("/api/blog-forms?country=" + country + "&fullName=traffic&size=10").GET().build();
+                case STATS -> api("/api/blog-forms/stats?groupBy=country").GET().build();
+                case CSRF -> csrfRequest();
+                case CREATE -> api("/api/blog-forms")
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(form("created" + created.incrementAndGet() + "@example.com", country)))
+                        .build();
+                case PATCH -> api("/api/blog-forms/" + randomId(random))
+                        .header("Content-Type", "application/json")
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"description\":\"patched " + random.nextInt() + "\"}"))
+                        .build();
+            };
+        }
+
+        private HttpRequest.Builder api(String path) {
+            return HttpRequest.newBuilder(URI.create(base + path))
+                    .header("Authorization", AUTHORIZATION)
+                    .header("X-XSRF-TOKEN", token.get())
+                    .timeout(Duration.ofSeconds(60));
+        }
+
+        private HttpRequest csrfRequest() {
+            return HttpRequest.newBuilder(URI.create(base + "/api/csrf"))
+                    .header("Authorization", AUTHORIZATION)
+                    .timeout(Duration.ofSeconds(60))
+                    .GET()
+                    .build();
+        }
+
+        private void updateToken(String body) {
+            Matcher matcher = TOKEN.matcher(body);
+            assertTrue(matcher.find(), body);
+            token.set(matcher.group(1));
+        }
+
+        private static String randomId(Random random) {
+            return SEEDED_IDS.get(random.nextInt(SEEDED_IDS.size()));
+        }
+
+        private static String form(String email, String country) {
+            return "{\"email\":\"" + email + "\",\"fullName\":\"Traffic Created\",\"description\":\"load\",\"country\":\"" + country + "\"}";
+        }
+    }
+
+    // Un histograma por operación, en microsegundos
+    private static final class Report {
+
+        private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+        private final Map<Operation, AtomicInteger> errors = new EnumMap<>(Operation.class);
+        private final Map<Operation, AtomicInteger> shed = new EnumMap<>(Operation.class);
+
+        Report() {
+            for (Operation operation : Operation.values()) {
+                latencies.put(operation, new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(5), 3));
+                errors.put(operation, new AtomicInteger());
+                shed.put(operation, new AtomicInteger());
+            }
+        }
+
+        void record(Operation operation, long nanos, Throwable error, HttpResponse<String> response) {
+            latencies.get(operation).recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), TimeUnit.MINUTES.toMicros(5)));
+            if (error == null && response.statusCode() == 503 && response.headers().firstValue("Retry-After").isPresent()) {
+                shed.get(operation).incrementAndGet();
+            } else if (error != null || response.statusCode() >= 300) {
+                if (errors.get(operation).getAndIncrement() == 0) {
+                    log.warn("traffic: first {} failure: {}", operation.key,
+                            error != null ? error.toString() : "HTTP " + response.statusCode() + " " + response.body());
+                }
+            }
+        }
+
+        void log(long elapsedNanos) {
+            double seconds = elapsedNanos / 1e9;
+            log.info(String.format("traffic: %-8s %8s %7s %7s %9s %9s %9s %9s %9s",
+                    "endpoint", "count", "errors", "shed", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+            latencies.forEach((operation, histogram) -> {
+                if (histogram.getTotalCount() > 0) {
+                    log.info(String.format("traffic: %-8s %8d %7d %7d %9.0f %9.2f %9.2f %9.2f %9.2f",
+                            operation.key, histogram.getTotalCount(), errors.get(operation).get(), shed.get(operation).get(),
+                            histogram.getTotalCount() / seconds,
+                            histogram.getValueAtPercentile(50) / 1000.0,
+                            histogram.getValueAtPercentile(99) / 1000.0,
+                            histogram.getValueAtPercentile(99.9) / 1000.0,
+                            histogram.getMaxValue() / 1000.0));
+                }
+            });
+        }
+
+        // Formato .hgrm de HdrHistogram (valores en ms), para comparar ejecuciones con el plotter
+        void write(Path directory) throws IOException {
+            Files.createDirectories(directory);
+            for (Map.Entry<Operation, Histogram> entry : latencies.entrySet()) {
+                if (entry.getValue().getTotalCount() == 0) {
+                    continue;
+                }
+                try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(entry.getKey().key + ".hgrm")),
+                        false, StandardCharsets.UTF_8)) {
+                    entry.getValue().outputPercentileDistribution(out, 1000.0);
+                }
+            }
+        }
+    }
+
+    // Documentos con los campos de búsqueda ya calculados, repartidos entre países y días
+    private static void seed(String uri, boolean external) {
+        try (MongoClient client = MongoClients.create(uri)) {
+            var collection = client.getDatabase(DATABASE).getCollection("blog_forms");
+            if (external) {
+                collection.drop();
+            }
+            List<Document> forms = new ArrayList<>(SEED_FORMS);
+            for (int i = 0; i < SEED_FORMS; i++) {
+                ObjectId id = new ObjectId();
+                String fullName = "Traffic User " + i;
+                Date createdAt = new Date(System.currentTimeMillis() - i * 60_000L);
+                forms.add(new Document("_id", id)
+                        .append("email", "traffic" + i + "@example.com")
+                        .append("fullName", fullName)
+                        .append("fullNameNormalized", NameNormalizer.normalize(fullName))
+                        .append("nameTokens", NameNormalizer.tokens(fullName))
+                        .append("description", "seeded")
+                        .append("country", COUNTRIES[i % COUNTRIES.length])
+                        .append("createdAt", createdAt)
+                        .append("updatedAt", createdAt)
+                        .append("isDeleted", false)
+                        .append("version", 0L));
+                SEEDED_IDS.add(id.toHexString());
+            }
+            collection.insertMany(forms);
+        }
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : mix.split(",")) {
+            String[] entry = part.trim().split("=");
+            Operation operation = null;
+            for (Operation candidate : Operation.values()) {
+                if (candidate.key.equals(entry[0].trim())) {
+                    operation = candidate;
+                }
+            }
+            if (operation == null || entry.length != 2) {
+                throw new IllegalArgumentException("Invalid TRAFFIC_MIX entry: " + part);
+            }
+            int weight = Integer.parseInt(entry[1].trim());
+            if (weight > 0) {
+                weights.put(operation, weight);
+            }
+        }
+        return weights;
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null || value.isEmpty() ? defaultValue : value;
+    }
+
+    private static int intEnv(String name, int defaultValue) {
+        return Integer.parseInt(env(name, String.valueOf(defaultValue)));
+    }
+}
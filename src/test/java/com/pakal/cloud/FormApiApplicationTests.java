@@ -1,11 +1,32 @@
 package com.pakal.cloud;
 
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import java.net.InetSocketAddress;
 
+// El arranque crea el índice único de email y falla sin MongoDB: necesita una base de datos
 @SpringBootTest
 class FormApiApplicationTests {
 
+	private static final MongoServer MONGO = new MongoServer(new MemoryBackend());
+	private static final InetSocketAddress MONGO_ADDRESS = MONGO.bind();
+
+	@DynamicPropertySource
+	static void mongoProperties(DynamicPropertyRegistry registry) {
+		registry.add("spring.data.mongodb.uri",
+				() -> "mongodb://" + MONGO_ADDRESS.getHostString() + ":" + MONGO_ADDRESS.getPort() + "/form_api_test");
+	}
+
+	@AfterAll
+	static void stopMongo() {
+		MONGO.shutdownNow();
+	}
+
 	@Test
 	void contextLoads() {
 	}
@@ -0,0 +1,74 @@
+package com.pakal.cloud;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+// Proxy TCP que retrasa cada mensaje hacia MongoDB; una conexión atiende una operación a la vez
+final class LatencyProxy implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final InetSocketAddress target;
+    private final long latencyMillis;
+
+    LatencyProxy(InetSocketAddress target, long latencyMillis) throws IOException {
+        this.serverSocket = new ServerSocket(0);
+        this.target = target;
+        this.latencyMillis = latencyMillis;
+        Thread.ofVirtual().name("latency-proxy").start(this::accept);
+    }
+
+    int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket client = serverSocket.accept();
+                Socket server = new Socket(target.getAddress(), target.getPort());
+                pump(client, server, latencyMillis);
+                pump(server, client, 0);
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private static void pump(Socket from, Socket to, long delayMillis) {
+        Thread.ofVirtual().name("latency-proxy-pump").start(() -> {
+            byte[] buffer = new byte[16 * 1024];
+            try (InputStream in = from.getInputStream(); OutputStream out = to.getOutputStream()) {
+                int read;
+                while ((read = in.read(buffer)) >= 0) {
+                    if (delayMillis > 0) {
+                        Thread.sleep(delayMillis);
+                    }
+                    out.write(buffer, 0, read);
+                    out.flush();
+                }
+            } catch (IOException | InterruptedException e) {
+                // Conexión cerrada por cualquiera de los extremos
+            } finally {
+                closeQuietly(from);
+                closeQuietly(to);
+            }
+        });
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Ya cerrado
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+}
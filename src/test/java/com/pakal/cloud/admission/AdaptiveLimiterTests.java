@@ -0,0 +1,138 @@
+package com.pakal.cloud.admission;
+
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveLimiterTests {
+
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    @Test
+    void shedsBeyondLimitAndQueue() throws Exception {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(2, 2, 2, 1, Duration.ZERO);
+        assertTrue(limiter.acquire(Duration.ZERO));
+        assertTrue(limiter.acquire(Duration.ZERO));
+        assertFalse(limiter.acquire(Duration.ZERO));
+
+        // Uno espera en la cola; con la cola llena el siguiente se rechaza sin esperar
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> acquire(limiter, Duration.ofSeconds(5)));
+        while (limiter.getQueued() == 0) {
+            Thread.onSpinWait();
+        }
+        long begin = System.nanoTime();
+        assertFalse(limiter.acquire(Duration.ofSeconds(5)));
+        assertTrue(System.nanoTime() - begin < TimeUnit.SECONDS.toNanos(1));
+
+        limiter.release(System.nanoTime(), false);
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+        assertEquals(2, limiter.getInFlight());
+        assertFalse(limiter.acquire(Duration.ofMillis(20)));
+    }
+
+    @Test
+    void backsOffOnSlowMongoAndRecovers() throws Exception {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(20, 2, 40, 0, Duration.ofMillis(100));
+        limiter.observe(System.nanoTime(), TimeUnit.MILLISECONDS.toNanos(50), false);
+        assertEquals(20, limiter.getLimit());
+        for (int i = 0; i < 30; i++) {
+            limiter.observe(System.nanoTime(), SLOW, false);
+        }
+        assertEquals(2, limiter.getLimit());
+
+        // MongoDB rápido y el límite lleno: crece de nuevo, sin pasar de max-limit
+        for (int i = 0; i < 5000; i++) {
+            int limit = limiter.getLimit();
+            for (int j = 0; j < limit; j++) {
+                assertTrue(limiter.acquire(Duration.ZERO));
+            }
+            for (int j = 0; j < limit; j++) {
+                limiter.release(System.nanoTime(), false);
+            }
+        }
+        assertEquals(40, limiter.getLimit());
+
+        // Un deadline agotado cuenta como respuesta lenta
+        assertTrue(limiter.acquire(Duration.ZERO));
+        limiter.release(System.nanoTime(), true);
+        assertEquals(36, limiter.getLimit());
+    }
+
+    @Test
+    void backsOffOncePerWindow() throws Exception {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(20, 2, 40, 0, Duration.ofMillis(100));
+        long admittedAt = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            assertTrue(limiter.acquire(Duration.ZERO));
+        }
+        // Diez comandos lentos que empezaron a la vez: una sola reducción
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            limiter.observe(startedAt, SLOW, true);
+        }
+        assertEquals(18, limiter.getLimit());
+
+        // Lo admitido antes de la reducción no la deshace al terminar
+        for (int i = 0; i < 20; i++) {
+            limiter.release(admittedAt, false);
+        }
+        assertEquals(18, limiter.getLimit());
+
+        // Un comando posterior sí vuelve a reducirlo
+        limiter.observe(System.nanoTime(), SLOW, false);
+        assertEquals(16, limiter.getLimit());
+    }
+
+    @Test
+    void neverAdmitsMoreThanTheLimit() throws Exception {
+        int limit = 8;
+        AdaptiveLimiter limiter = new AdaptiveLimiter(limit, limit, limit, 64, Duration.ZERO);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                futures.add(executor.submit(() -> {
+                    if (!acquire(limiter, Duration.ofMillis(50))) {
+                        rejected.incrementAndGet();
+                        return;
+                    }
+                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    Thread.yield();
+                    running.decrementAndGet();
+                    limiter.release(System.nanoTime(), false);
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(peak.get() <= limit, "peak " + peak.get());
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(0, limiter.getQueued());
+    }
+
+    private static boolean acquire(AdaptiveLimiter limiter, Duration maxWait) {
+        try {
+            return limiter.acquire(maxWait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.pakal.cloud.admission;
+
+import com.mongodb.RequestContext;
+import com.mongodb.client.SynchronousContextProvider;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+import com.mongodb.reactivestreams.client.ReactiveContextProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.core.convert.support.ConfigurableConversionService;
+import org.springframework.mock.env.MockEnvironment;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.util.context.Context;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// Atribución de la latencia de cada comando al compartimento de la petición admitida que lo lanzó
+class AdmissionControlTests {
+
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private SimpleMeterRegistry registry;
+    private AdmissionControl admissionControl;
+    private CommandListener listener;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        registry = new SimpleMeterRegistry();
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("blog-form.admission.reads.max-limit", "20")
+                .withProperty("blog-form.admission.reads.latency-threshold", "1ms")
+                .withProperty("blog-form.admission.writes.max-limit", "20")
+                .withProperty("blog-form.admission.writes.latency-threshold", "1ms");
+        environment.setConversionService((ConfigurableConversionService) ApplicationConversionService.getSharedInstance());
+        admissionControl = new AdmissionControl(registry, environment, Duration.ofMillis(50), Duration.ofSeconds(1));
+        listener = admissionControl.latencyListener();
+        // Un comando lento solo reduce el límite si empezó después de la última reducción (la creación)
+        Thread.sleep(2 * TimeUnit.NANOSECONDS.toMillis(SLOW));
+    }
+
+    @AfterEach
+    void clear() {
+        AdmissionControl.clearCurrent();
+    }
+
+    // Exportaciones, reconciliación, backfill, índices y change stream no ajustan los límites
+    @Test
+    void commandsOutsideAdmittedRequestsAreIgnored() {
+        listener.commandSucceeded(succeeded(null, "find"));
+        listener.commandSucceeded(succeeded(null, "aggregate"));
+        listener.commandSucceeded(succeeded(null, "update"));
+
+        assertEquals(20, limit("reads"));
+        assertEquals(20, limit("writes"));
+    }
+
+    @Test
+    void commandsCountForTheBulkheadOfTheirRequest() {
+        // Un find dentro de un PUT es latencia de escrituras, no de lecturas
+        listener.commandSucceeded(succeeded(context(AdmissionControl.Operation.WRITE), "find"));
+        assertEquals(20, limit("reads"));
+        assertEquals(18, limit("writes"));
+
+        listener.commandSucceeded(succeeded(context(AdmissionControl.Operation.READ), "count"));
+        assertEquals(18, limit("reads"));
+    }
+
+    // getMore espera al consumidor del cursor: no es latencia de MongoDB
+    @Test
+    void getMoreIsIgnored() {
+        listener.commandSucceeded(succeeded(context(AdmissionControl.Operation.READ), "getMore"));
+
+        assertEquals(20, limit("reads"));
+    }
+
+    @Test
+    void blockingClientReadsTheOperationFromTheThread() {
+        SynchronousContextProvider provider = (SynchronousContextProvider) admissionControl.contextProvider();
+        assertNull(provider.getContext());
+
+        AdmissionControl.setCurrent(AdmissionControl.Operation.READ);
+        assertEquals(AdmissionControl.Operation.READ, AdmissionControl.operation(provider.getContext()));
+
+        AdmissionControl.clearCurrent();
+        assertNull(provider.getContext());
+    }
+
+    @Test
+    void reactiveClientReadsTheOperationFromTheSubscriberContext() {
+        ReactiveContextProvider provider = (ReactiveContextProvider) admissionControl.contextProvider();
+        assertNull(provider.getContext(subscriber(Context.empty())));
+
+        RequestContext context = provider.getContext(subscriber(AdmissionControl.context(AdmissionControl.Operation.EXPORT)));
+        assertEquals(AdmissionControl.Operation.EXPORT, AdmissionControl.operation(context));
+    }
+
+    private int limit(String operation) {
+        return (int) registry.get("blog.form.admission.limit").tag("operation", operation).gauge().value();
+    }
+
+    private RequestContext context(AdmissionControl.Operation operation) {
+        AdmissionControl.setCurrent(operation);
+        try {
+            return ((SynchronousContextProvider) admissionControl.contextProvider()).getContext();
+        } finally {
+            AdmissionControl.clearCurrent();
+        }
+    }
+
+    private static CommandSucceededEvent succeeded(RequestContext context, String commandName) {
+        return new CommandSucceededEvent(context, 1, 1, null, "blog_forms", commandName, new BsonDocument(), SLOW);
+    }
+
+    private static BaseSubscriber<Object> subscriber(Context context) {
+        return new BaseSubscriber<>() {
+            @Override
+            public Context currentContext() {
+                return context;
+            }
+        };
+    }
+}
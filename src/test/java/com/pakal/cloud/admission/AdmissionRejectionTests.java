@@ -0,0 +1,64 @@
+package com.pakal.cloud.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.core.convert.support.ConfigurableConversionService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Un compartimento lleno responde igual en los dos modelos: mismo estado, Retry-After, tipo y cuerpo
+class AdmissionRejectionTests {
+
+    private AdmissionControl admissionControl;
+    private AdmissionControl.Permit held;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("blog-form.admission.reads.max-limit", "1");
+        environment.setConversionService((ConfigurableConversionService) ApplicationConversionService.getSharedInstance());
+        admissionControl = new AdmissionControl(new SimpleMeterRegistry(), environment, Duration.ofMillis(10), Duration.ofSeconds(3));
+        held = admissionControl.tryAdmit(AdmissionControl.Operation.READ);
+        assertNotNull(held);
+    }
+
+    @AfterEach
+    void release() {
+        held.release(200);
+    }
+
+    @Test
+    void servletAndReactiveRejectionsMatch() throws Exception {
+        MockHttpServletResponse servlet = new MockHttpServletResponse();
+        new AdmissionFilter(admissionControl).doFilter(
+                new MockHttpServletRequest("GET", "/api/blog-forms"), servlet, new MockFilterChain());
+
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/blog-forms"));
+        new ReactiveAdmissionFilter(admissionControl).filter(exchange, ignored -> Mono.empty()).block();
+        MockServerHttpResponse reactive = exchange.getResponse();
+
+        assertEquals(503, servlet.getStatus());
+        assertEquals(servlet.getStatus(), reactive.getStatusCode().value());
+        assertEquals("3", servlet.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(servlet.getHeader(HttpHeaders.RETRY_AFTER), reactive.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertTrue(servlet.getContentType().startsWith("text/plain"), servlet.getContentType());
+        assertTrue(reactive.getHeaders().getContentType().isCompatibleWith(MediaType.TEXT_PLAIN));
+        assertEquals(servlet.getContentAsString(), reactive.getBodyAsString().block());
+    }
+}
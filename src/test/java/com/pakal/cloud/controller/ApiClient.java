@@ -0,0 +1,73 @@
+package com.pakal.cloud.controller;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Cliente de los tests de la API: HTTP Basic y el token CSRF de /api/csrf en cada petición
+final class ApiClient {
+
+    private static final String AUTHORIZATION = "Basic "
+            + Base64.getEncoder().encodeToString("user:password".getBytes(StandardCharsets.UTF_8));
+    private static final Pattern TOKEN = Pattern.compile("\"csrfToken\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final String base;
+    private String token;
+
+    ApiClient(int port) {
+        this.base = "http://localhost:" + port;
+    }
+
+    HttpResponse<String> get(String path, String... headers) throws IOException, InterruptedException {
+        return client.send(request(path, headers).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    HttpResponse<String> send(String method, String path, String contentType, String body, String... headers)
+            throws IOException, InterruptedException {
+        HttpRequest request = request(path, headers)
+                .header("Content-Type", contentType)
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    HttpResponse<String> sendJson(String method, String path, String body, String... headers)
+            throws IOException, InterruptedException {
+        return send(method, path, "application/json", body, headers);
+    }
+
+    // El token se pide una vez y se reutiliza
+    HttpRequest.Builder request(String path, String... headers) throws IOException, InterruptedException {
+        if (token == null) {
+            HttpRequest csrf = HttpRequest.newBuilder(URI.create(base + "/api/csrf"))
+                    .header("Authorization", AUTHORIZATION)
+                    .timeout(TIMEOUT)
+                    .GET()
+                    .build();
+            HttpResponse<String> response = client.send(csrf, HttpResponse.BodyHandlers.ofString());
+            Matcher matcher = TOKEN.matcher(response.body());
+            if (response.statusCode() != 200 || !matcher.find()) {
+                throw new IllegalStateException("No CSRF token: " + response.statusCode() + " " + response.body());
+            }
+            token = matcher.group(1);
+        }
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(base + path))
+                .header("Authorization", AUTHORIZATION)
+                .header("X-XSRF-TOKEN", token)
+                .timeout(TIMEOUT);
+        return headers.length > 0 ? builder.headers(headers) : builder;
+    }
+
+    HttpClient client() {
+        return client;
+    }
+}
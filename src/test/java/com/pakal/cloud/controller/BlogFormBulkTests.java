@@ -0,0 +1,130 @@
+package com.pakal.cloud.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pakal.cloud.repository.BlogFormIndexManager;
+import com.pakal.cloud.repository.BlogFormRepository;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import java.net.InetSocketAddress;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "blog-form.indexes.ensure-on-startup=false",
+    "blog-form.search.backfill-on-startup=false",
+    "blog-form.stats.reconcile-on-startup=false"
+})
+class BlogFormBulkTests {
+
+    private static final MongoServer MONGO = new MongoServer(new MemoryBackend());
+    private static final InetSocketAddress MONGO_ADDRESS = MONGO.bind();
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri",
+                () -> "mongodb://" + MONGO_ADDRESS.getHostString() + ":" + MONGO_ADDRESS.getPort() + "/blog_form_bulk_test");
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        MONGO.shutdownNow();
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BlogFormRepository repository;
+
+    @Autowired
+    private BlogFormIndexManager indexManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private ApiClient api;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        indexManager.ensureIndexes();
+        api = new ApiClient(port);
+    }
+
+    @Test
+    void reportsTheStatusOfEachItem() throws Exception {
+        String body = "[" + form("first@example.com") + ", {\"email\": \"not-an-email\", \"fullName\": \"Bad Email\"}, "
+                + form("first@example.com") + ", " + form("second@example.com") + "]";
+
+        JsonNode result = bulk(body);
+
+        assertEquals(List.of("CREATED", "INVALID", "CONFLICT", "CREATED"), statuses(result));
+        assertEquals(2, result.get("created").asInt());
+        assertNotNull(result.get("items").get(0).get("id").textValue());
+        assertEquals(2, repository.count());
+    }
+
+    // Los lotes ya escritos no se pierden: la respuesta los lista y un reintento del resto no da conflictos
+    @Test
+    void syntaxErrorMidArrayKeepsEarlierItems() throws Exception {
+        String body = "[" + form("a@example.com") + ", " + form("b@example.com") + ", " + form("c@example.com")
+                + ", {\"email\": }, " + form("d@example.com") + "]";
+
+        JsonNode result = bulk(body);
+
+        assertEquals(List.of("CREATED", "CREATED", "CREATED", "INVALID"), statuses(result));
+        assertEquals(3, result.get("items").get(3).get("index").asInt());
+        assertTrue(result.get("items").get(3).get("message").textValue().startsWith("Malformed JSON array"));
+        assertEquals(3, repository.count());
+        assertEquals(List.of("CREATED"), statuses(bulk("[" + form("d@example.com") + "]")));
+    }
+
+    @Test
+    void bodyThatIsNotJsonIsRejected() throws Exception {
+        HttpResponse<String> response = api.sendJson("POST", "/api/blog-forms/bulk", "not json at all");
+
+        assertEquals(400, response.statusCode(), response.body());
+        assertTrue(response.body().startsWith("Request body must be a JSON array"), response.body());
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    void ndjsonLinesAreProcessedOneByOne() throws Exception {
+        String body = form("line1@example.com") + "\n{broken\n\n" + form("line2@example.com") + "\n";
+        HttpResponse<String> response = api.send("POST", "/api/blog-forms/bulk", "application/x-ndjson", body);
+
+        assertEquals(200, response.statusCode(), response.body());
+        assertEquals(List.of("CREATED", "INVALID", "CREATED"), statuses(objectMapper.readTree(response.body())));
+    }
+
+    private JsonNode bulk(String body) throws Exception {
+        // Lotes de dos para que el error llegue con un lote ya escrito
+        HttpResponse<String> response = api.sendJson("POST", "/api/blog-forms/bulk?batchSize=2", body);
+        assertEquals(200, response.statusCode(), response.body());
+        return objectMapper.readTree(response.body());
+    }
+
+    private static List<String> statuses(JsonNode result) {
+        List<String> statuses = new ArrayList<>();
+        result.get("items").forEach(item -> statuses.add(item.get("status").textValue()));
+        return statuses;
+    }
+
+    private static String form(String email) {
+        return "{\"email\": \"" + email + "\", \"fullName\": \"Bulk User\", \"country\": \"MX\"}";
+    }
+}
@@ -0,0 +1,159 @@
+package com.pakal.cloud.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pakal.cloud.repository.BlogFormIndexManager;
+import com.pakal.cloud.repository.BlogFormRepository;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import java.net.InetSocketAddress;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Validadores HTTP: 304 con If-None-Match / If-Modified-Since, 412 con un If-Match viejo y el ETag de los listados
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "blog-form.indexes.ensure-on-startup=false",
+    "blog-form.search.backfill-on-startup=false",
+    "blog-form.stats.reconcile-on-startup=false"
+})
+class BlogFormConditionalRequestTests {
+
+    private static final String FORMS = "/api/blog-forms";
+
+    private static final MongoServer MONGO = new MongoServer(new MemoryBackend());
+    private static final InetSocketAddress MONGO_ADDRESS = MONGO.bind();
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri",
+                () -> "mongodb://" + MONGO_ADDRESS.getHostString() + ":" + MONGO_ADDRESS.getPort() + "/blog_form_conditional_test");
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        MONGO.shutdownNow();
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BlogFormRepository repository;
+
+    @Autowired
+    private BlogFormIndexManager indexManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private ApiClient api;
+
+    private String id;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        repository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        indexManager.ensureIndexes();
+        api = new ApiClient(port);
+        HttpResponse<String> created = api.sendJson("POST", FORMS, form("initial"));
+        assertEquals(201, created.statusCode(), created.body());
+        id = objectMapper.readTree(created.body()).get("id").textValue();
+    }
+
+    @Test
+    void matchingIfNoneMatchReturnsNotModified() throws Exception {
+        HttpResponse<String> first = api.get(FORMS + "/" + id);
+        assertEquals(200, first.statusCode(), first.body());
+        String etag = header(first, "ETag");
+        assertEquals("\"0\"", etag);
+
+        HttpResponse<String> second = api.get(FORMS + "/" + id, "If-None-Match", etag);
+
+        assertEquals(304, second.statusCode());
+        assertEquals("", second.body());
+        assertEquals(etag, header(second, "ETag"));
+    }
+
+    @Test
+    void ifModifiedSinceReturnsNotModifiedUntilTheFormChanges() throws Exception {
+        String lastModified = header(api.get(FORMS + "/" + id), "Last-Modified");
+
+        assertEquals(304, api.get(FORMS + "/" + id, "If-Modified-Since", lastModified).statusCode());
+
+        // Last-Modified tiene resolución de segundos: se espera al siguiente para que el cambio se note
+        Thread.sleep(1100);
+        assertEquals(200, api.sendJson("PUT", FORMS + "/" + id, form("changed")).statusCode());
+
+        HttpResponse<String> changed = api.get(FORMS + "/" + id, "If-Modified-Since", lastModified);
+        assertEquals(200, changed.statusCode());
+        assertTrue(changed.body().contains("changed"), changed.body());
+    }
+
+    @Test
+    void staleIfNoneMatchReturnsTheCurrentForm() throws Exception {
+        String etag = header(api.get(FORMS + "/" + id), "ETag");
+        assertEquals(200, api.sendJson("PUT", FORMS + "/" + id, form("changed")).statusCode());
+
+        HttpResponse<String> response = api.get(FORMS + "/" + id, "If-None-Match", etag);
+
+        assertEquals(200, response.statusCode());
+        assertEquals("\"1\"", header(response, "ETag"));
+        assertTrue(response.body().contains("changed"), response.body());
+    }
+
+    @Test
+    void putWithStaleIfMatchIsRejected() throws Exception {
+        HttpResponse<String> first = api.sendJson("PUT", FORMS + "/" + id, form("first"), "If-Match", "\"0\"");
+        assertEquals(200, first.statusCode(), first.body());
+        assertEquals("\"1\"", header(first, "ETag"));
+
+        HttpResponse<String> stale = api.sendJson("PUT", FORMS + "/" + id, form("second"), "If-Match", "\"0\"");
+
+        assertEquals(412, stale.statusCode(), stale.body());
+        assertEquals("first", repository.findById(id).orElseThrow().getDescription());
+    }
+
+    @Test
+    void listingETagChangesWithItsContent() throws Exception {
+        for (String listing : new String[] {FORMS + "?size=5", FORMS + "?pagination=cursor&size=5"}) {
+            String etag = header(api.get(listing), "ETag");
+
+            assertEquals(304, api.get(listing, "If-None-Match", etag).statusCode(), listing);
+        }
+        String offset = header(api.get(FORMS + "?size=5"), "ETag");
+        String cursor = header(api.get(FORMS + "?pagination=cursor&size=5"), "ETag");
+
+        assertEquals(200, api.sendJson("PUT", FORMS + "/" + id, form("changed")).statusCode());
+
+        HttpResponse<String> offsetAfter = api.get(FORMS + "?size=5", "If-None-Match", offset);
+        assertEquals(200, offsetAfter.statusCode());
+        assertNotEquals(offset, header(offsetAfter, "ETag"));
+        HttpResponse<String> cursorAfter = api.get(FORMS + "?pagination=cursor&size=5", "If-None-Match", cursor);
+        assertEquals(200, cursorAfter.statusCode());
+        assertNotEquals(cursor, header(cursorAfter, "ETag"));
+    }
+
+    private static String header(HttpResponse<?> response, String name) {
+        return response.headers().firstValue(name).orElseThrow(() -> new AssertionError("Missing " + name));
+    }
+
+    private static String form(String description) {
+        return "{\"email\": \"conditional@example.com\", \"fullName\": \"Conditional User\", \"country\": \"MX\", "
+                + "\"description\": \"" + description + "\"}";
+    }
+}
@@ -0,0 +1,178 @@
+package com.pakal.cloud.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pakal.cloud.repository.BlogFormRepository;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import java.net.InetSocketAddress;
+import java.net.http.HttpResponse;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// SSE sobre HTTP con eventos de esta instancia (el servidor en memoria no tiene change streams)
+@Timeout(value = 30, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "blog-form.indexes.ensure-on-startup=false",
+    "blog-form.search.backfill-on-startup=false",
+    "blog-form.stats.reconcile-on-startup=false",
+    "blog-form.events.source=in-process"
+})
+class BlogFormEventsTests {
+
+    private static final String FORMS = "/api/blog-forms";
+
+    private static final MongoServer MONGO = new MongoServer(new MemoryBackend());
+    private static final InetSocketAddress MONGO_ADDRESS = MONGO.bind();
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri",
+                () -> "mongodb://" + MONGO_ADDRESS.getHostString() + ":" + MONGO_ADDRESS.getPort() + "/blog_form_events_test");
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        MONGO.shutdownNow();
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BlogFormRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private ApiClient api;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        api = new ApiClient(port);
+    }
+
+    @Test
+    void reconnectingWithLastEventIdReplaysMissedEvents() throws Exception {
+        Event first;
+        try (EventStream stream = open("")) {
+            String a = create("replay-a@example.com", "MX");
+            first = stream.next();
+            assertEquals("created", first.name());
+            assertEquals(a, first.data().get("id").textValue());
+        }
+
+        String b = create("replay-b@example.com", "MX");
+        String patched = first.data().get("id").textValue();
+        assertEquals(200, api.sendJson("PATCH", FORMS + "/" + patched, "{\"description\": \"missed\"}").statusCode());
+
+        try (EventStream stream = open("", "Last-Event-ID", first.id())) {
+            Event created = stream.next();
+            assertEquals("created", created.name());
+            assertEquals(b, created.data().get("id").textValue());
+            Event updated = stream.next();
+            assertEquals("updated", updated.name());
+            assertEquals(patched, updated.data().get("id").textValue());
+            assertEquals("missed", updated.data().get("form").get("description").textValue());
+        }
+    }
+
+    @Test
+    void unknownLastEventIdReceivesReset() throws Exception {
+        try (EventStream stream = open("?lastEventId=no-longer-known")) {
+            Event reset = stream.next();
+
+            assertEquals("reset", reset.name());
+            assertEquals("RESET", reset.data().get("type").textValue());
+
+            // Tras el RESET siguen llegando los eventos nuevos
+            String id = create("after-reset@example.com", "MX");
+            assertEquals(id, stream.next().data().get("id").textValue());
+        }
+    }
+
+    @Test
+    void countryFilterOnlyDeliversThatCountry() throws Exception {
+        try (EventStream stream = open("?country=ar")) {
+            create("filtered-mx@example.com", "MX");
+            String ar = create("filtered-ar@example.com", "AR");
+
+            Event event = stream.next();
+
+            assertEquals("created", event.name());
+            assertEquals(ar, event.data().get("id").textValue());
+            assertEquals("AR", event.data().get("country").textValue());
+        }
+    }
+
+    private String create(String email, String country) throws Exception {
+        HttpResponse<String> response = api.sendJson("POST", FORMS,
+                "{\"email\": \"" + email + "\", \"fullName\": \"Events User\", \"country\": \"" + country + "\"}");
+        assertEquals(201, response.statusCode(), response.body());
+        return objectMapper.readTree(response.body()).get("id").textValue();
+    }
+
+    // Las cabeceras llegan con el comentario inicial, enviado ya suscrito: lo publicado después se recibe
+    private EventStream open(String query, String... headers) throws Exception {
+        HttpResponse<Stream<String>> response = api.client().send(
+                api.request(FORMS + "/events" + query, headers).header("Accept", "text/event-stream").GET().build(),
+                HttpResponse.BodyHandlers.ofLines());
+        assertEquals(200, response.statusCode());
+        return new EventStream(response.body());
+    }
+
+    private record Event(String id, String name, JsonNode data) {
+    }
+
+    // Lee eventos con datos; los comentarios (connected, keepalive) se saltan
+    private final class EventStream implements AutoCloseable {
+
+        private final Stream<String> lines;
+        private final Iterator<String> iterator;
+
+        EventStream(Stream<String> lines) {
+            this.lines = lines;
+            this.iterator = lines.iterator();
+        }
+
+        Event next() throws Exception {
+            String id = null;
+            String name = null;
+            StringBuilder data = new StringBuilder();
+            while (iterator.hasNext()) {
+                String line = iterator.next();
+                if (line.isEmpty()) {
+                    if (data.length() > 0) {
+                        return new Event(id, name, objectMapper.readTree(data.toString()));
+                    }
+                    id = null;
+                    name = null;
+                } else if (line.startsWith("id:")) {
+                    id = line.substring(3).trim();
+                } else if (line.startsWith("event:")) {
+                    name = line.substring(6).trim();
+                } else if (line.startsWith("data:")) {
+                    data.append(line.substring(5));
+                }
+            }
+            throw new AssertionError("Event stream closed");
+        }
+
+        @Override
+        public void close() {
+            lines.close();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.pakal.cloud.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pakal.cloud.model.BlogForm;
+import com.pakal.cloud.repository.BlogFormRepository;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import java.net.InetSocketAddress;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Exportación en CSV (RFC 4180, sin fórmulas) y NDJSON leyendo de un cursor por lotes
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "blog-form.indexes.ensure-on-startup=false",
+    "blog-form.search.backfill-on-startup=false",
+    "blog-form.stats.reconcile-on-startup=false",
+    "blog-form.export.cursor-batch-size=2"
+})
+class BlogFormExportTests {
+
+    private static final MongoServer MONGO = new MongoServer(new MemoryBackend());
+    private static final InetSocketAddress MONGO_ADDRESS = MONGO.bind();
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 10, 0);
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri",
+                () -> "mongodb://" + MONGO_ADDRESS.getHostString() + ":" + MONGO_ADDRESS.getPort() + "/blog_form_export_test");
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        MONGO.shutdownNow();
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BlogFormRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ApiClient api;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        api = new ApiClient(port);
+    }
+
+    @Test
+    void csvQuotesFieldsAsInRfc4180() throws Exception {
+        BlogForm form = save("quote@example.com", "Doe, \"Jr\"", 0);
+        form.setDescription("first line\r\nsecond line");
+        repository.save(form);
+
+        HttpResponse<String> response = api.get("/api/blog-forms/export?format=csv&direction=ASC");
+
+        assertEquals(200, response.statusCode(), response.body());
+        assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith("text/csv"));
+        assertEquals("attachment; filename=\"blog-forms.csv\"",
+                response.headers().firstValue("Content-Disposition").orElse(""));
+        assertEquals("id,email,fullName,description,country,createdAt,updatedAt\r\n" + form.getId()
+                        + ",quote@example.com,\"Doe, \"\"Jr\"\"\",\"first line\r\nsecond line\",MX,"
+                        + START + "," + START + "\r\n",
+                response.body());
+    }
+
+    @Test
+    void csvNeutralisesFormulaPrefixes() throws Exception {
+        save("equals@example.com", "=HYPERLINK(\"http://x\")", 0);
+        save("plus@example.com", "+cmd", 1);
+        save("minus@example.com", "-2+3", 2);
+        save("at@example.com", "@SUM(A1)", 3);
+
+        HttpResponse<String> response = api.get("/api/blog-forms/export?format=csv&direction=ASC");
+
+        assertEquals(200, response.statusCode(), response.body());
+        List<String> names = new ArrayList<>();
+        for (String row : response.body().split("\r\n")) {
+            if (!row.startsWith("id,")) {
+                names.add(row.split(",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)")[2]);
+            }
+        }
+        assertEquals(List.of("\"'=HYPERLINK(\"\"http://x\"\")\"", "'+cmd", "'-2+3", "'@SUM(A1)"), names);
+    }
+
+    @Test
+    void ndjsonWritesOneFormPerLine() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            save("line" + i + "@example.com", "Line User " + i, i);
+        }
+
+        HttpResponse<String> response = api.get("/api/blog-forms/export?format=ndjson&direction=DESC");
+
+        assertEquals(200, response.statusCode(), response.body());
+        assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith("application/x-ndjson"));
+        assertTrue(response.body().endsWith("\n"));
+        String[] lines = response.body().split("\n");
+        assertEquals(3, lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            JsonNode form = objectMapper.readTree(lines[i]);
+            assertEquals("line" + (2 - i) + "@example.com", form.get("email").textValue());
+            // Los campos de búsqueda derivados no forman parte de la API
+            assertFalse(form.has("nameTokens"));
+        }
+    }
+
+    // Cinco formularios con lotes de dos: un find y dos getMore, nunca una página entera en memoria
+    @Test
+    void exportReadsTheCursorInBatches() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            save("batch" + i + "@example.com", "Batch User " + i, i);
+        }
+        long getMoresBefore = getMores();
+
+        HttpResponse<String> response = api.get("/api/blog-forms/export?format=ndjson");
+
+        assertEquals(200, response.statusCode(), response.body());
+        assertEquals(5, response.body().split("\n").length);
+        assertEquals(2, getMores() - getMoresBefore);
+    }
+
+    // Los parámetros se validan antes de las cabeceras: el 400 no llega como adjunto CSV
+    @Test
+    void invalidParametersAreNotSentAsAnAttachment() throws Exception {
+        for (String query : List.of("format=csv&direction=sideways", "format=xml")) {
+            HttpResponse<String> response = api.get("/api/blog-forms/export?" + query);
+
+            assertEquals(400, response.statusCode(), query + ": " + response.body());
+            assertTrue(response.headers().firstValue("Content-Disposition").isEmpty(), query);
+            assertFalse(response.headers().firstValue("Content-Type").orElse("").startsWith("text/csv"), query);
+        }
+    }
+
+    private BlogForm save(String email, String fullName, int minutes) {
+        BlogForm form = new BlogForm();
+        form.setEmail(email);
+        form.setFullName(fullName);
+        form.setCountry("MX");
+        form.setCreatedAt(START.plusMinutes(minutes));
+        form.setUpdatedAt(START.plusMinutes(minutes));
+        return repository.save(form);
+    }
+
+    private long getMores() {
+        return meterRegistry.find("mongodb.driver.commands").tag("command", "getMore").timers().stream()
+                .mapToLong(Timer::count)
+                .sum();
+    }
+}
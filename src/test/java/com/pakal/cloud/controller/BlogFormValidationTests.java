@@ -0,0 +1,79 @@
+package com.pakal.cloud.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import java.net.InetSocketAddress;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Mismos 400 en el modelo servlet y en el reactivo: un cuerpo inválido o ilegible no es un error del servidor
+abstract class BlogFormValidationTests {
+
+    private static final MongoServer MONGO = new MongoServer(new MemoryBackend());
+    private static final InetSocketAddress MONGO_ADDRESS = MONGO.bind();
+    private static final String INVALID = "{\"email\": \"not-an-email\", \"fullName\": \"ab\", \"country\": \"MX\"}";
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri",
+                () -> "mongodb://" + MONGO_ADDRESS.getHostString() + ":" + MONGO_ADDRESS.getPort() + "/blog_form_validation_test");
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        MONGO.shutdownNow();
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private ApiClient api;
+
+    @BeforeEach
+    void setUp() {
+        api = new ApiClient(port);
+    }
+
+    @Test
+    void invalidCreateReturnsFieldErrors() throws Exception {
+        assertFieldErrors(api.sendJson("POST", "/api/blog-forms", INVALID));
+    }
+
+    @Test
+    void invalidUpdateReturnsFieldErrors() throws Exception {
+        assertFieldErrors(api.sendJson("PUT", "/api/blog-forms/" + "0".repeat(24), INVALID));
+    }
+
+    @Test
+    void invalidPatchReturnsFieldErrors() throws Exception {
+        assertFieldErrors(api.sendJson("PATCH", "/api/blog-forms/" + "0".repeat(24), INVALID));
+    }
+
+    @Test
+    void unreadableBodyIsBadRequest() throws Exception {
+        HttpResponse<String> response = api.sendJson("POST", "/api/blog-forms", "{\"email\": ");
+
+        assertEquals(400, response.statusCode(), response.body());
+    }
+
+    private void assertFieldErrors(HttpResponse<String> response) throws Exception {
+        assertEquals(400, response.statusCode(), response.body());
+        JsonNode errors = objectMapper.readTree(response.body());
+        assertEquals("Invalid email format", errors.path("email").textValue(), response.body());
+        assertTrue(errors.has("fullName"), response.body());
+    }
+}
@@ -0,0 +1,40 @@
+package com.pakal.cloud.controller;
+
+import com.mongodb.client.internal.MongoClientImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+@ActiveProfiles("reactive")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "blog-form.indexes.ensure-on-startup=false",
+    "blog-form.search.backfill-on-startup=false",
+    "blog-form.stats.reconcile-on-startup=false"
+})
+class ReactiveBlogFormValidationTests extends BlogFormValidationTests {
+
+    @Autowired
+    private ApplicationContext context;
+
+    // El pool caliente es el del cliente reactivo; el bloqueante abre conexiones solo bajo demanda
+    @Test
+    void blockingMongoClientKeepsNoIdleConnections() {
+        assertEquals(1, context.getBeanNamesForType(com.mongodb.reactivestreams.client.MongoClient.class).length);
+        MongoClientImpl blocking = (MongoClientImpl) context.getBean(com.mongodb.client.MongoClient.class);
+        assertEquals(0, blocking.getSettings().getConnectionPoolSettings().getMinSize());
+        assertEquals(10, blocking.getSettings().getConnectionPoolSettings().getMaxSize());
+    }
+
+    // Tomcat también está en el classpath: el modo reactivo debe arrancar Reactor Netty
+    @Test
+    void reactiveModeRunsOnNetty() {
+        assertInstanceOf(NettyWebServer.class, ((ReactiveWebServerApplicationContext) context).getWebServer());
+    }
+}
@@ -0,0 +1,26 @@
+package com.pakal.cloud.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "blog-form.indexes.ensure-on-startup=false",
+    "blog-form.search.backfill-on-startup=false",
+    "blog-form.stats.reconcile-on-startup=false"
+})
+class ServletBlogFormValidationTests extends BlogFormValidationTests {
+
+    @Autowired
+    private ApplicationContext context;
+
+    // Un solo pool de conexiones: el cliente reactivo no se crea en el modelo servlet
+    @Test
+    void onlyTheBlockingMongoClientIsCreated() {
+        assertEquals(1, context.getBeanNamesForType(com.mongodb.client.MongoClient.class).length);
+        assertEquals(0, context.getBeanNamesForType(com.mongodb.reactivestreams.client.MongoClient.class).length);
+    }
+}
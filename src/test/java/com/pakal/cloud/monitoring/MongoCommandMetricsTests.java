@@ -0,0 +1,170 @@
+package com.pakal.cloud.monitoring;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.mongodb.MongoExecutionTimeoutException;
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Eventos sintéticos del driver: documentos por comando, comandos lentos y forma del filtro sin valores
+class MongoCommandMetricsTests {
+
+    private static final ConnectionDescription CONNECTION =
+            new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private SimpleMeterRegistry registry;
+    private MongoCommandMetrics metrics;
+    private ListAppender<ILoggingEvent> logs;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new MongoCommandMetrics(registry, Duration.ofMillis(100));
+        logs = new ListAppender<>();
+        logs.start();
+        ((Logger) LoggerFactory.getLogger(MongoCommandMetrics.class)).addAppender(logs);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ((Logger) LoggerFactory.getLogger(MongoCommandMetrics.class)).detachAppender(logs);
+    }
+
+    @Test
+    void findRecordsReturnedDocuments() {
+        metrics.commandStarted(started(1, "find", find("MX")));
+        metrics.commandSucceeded(succeeded(1, "find", cursor(3), FAST));
+
+        assertEquals(3.0, registry.get("blog.form.mongo.documents.returned")
+                .tag("command", "find").tag("collection", "blog_forms").summary().totalAmount());
+        assertTrue(registry.find("blog.form.mongo.documents.affected").meters().isEmpty());
+        assertTrue(registry.find("blog.form.mongo.slow").meters().isEmpty());
+        assertTrue(logs.list.isEmpty());
+    }
+
+    @Test
+    void writesRecordAffectedDocuments() {
+        BsonDocument update = new BsonDocument("update", new BsonString("blog_forms"))
+                .append("updates", new BsonArray(List.of(new BsonDocument("q", new BsonDocument("_id", new BsonString("a"))))));
+        metrics.commandStarted(started(2, "update", update));
+        metrics.commandSucceeded(succeeded(2, "update", new BsonDocument("n", new BsonInt32(1)), FAST));
+
+        assertEquals(1.0, registry.get("blog.form.mongo.documents.affected")
+                .tag("command", "update").summary().totalAmount());
+        assertTrue(registry.find("blog.form.mongo.documents.returned").meters().isEmpty());
+    }
+
+    // count devuelve un número, no documentos
+    @Test
+    void countRecordsNoDocuments() {
+        BsonDocument count = new BsonDocument("count", new BsonString("blog_forms"))
+                .append("query", new BsonDocument("country", new BsonString("MX")));
+        metrics.commandStarted(started(3, "count", count));
+        metrics.commandSucceeded(succeeded(3, "count", new BsonDocument("n", new BsonInt32(40)), FAST));
+
+        assertTrue(registry.getMeters().isEmpty());
+    }
+
+    @Test
+    void slowCommandLogsTheShapeCapturedAtStart() {
+        BsonDocument command = find("MX");
+        metrics.commandStarted(started(4, "find", command));
+        // El driver reutiliza el buffer del comando en cuanto lo envía
+        command.put("filter", new BsonDocument("email", new BsonString("other@example.com")));
+        metrics.commandSucceeded(succeeded(4, "find", cursor(1), SLOW));
+
+        assertEquals(1.0, registry.get("blog.form.mongo.slow").tag("command", "find").counter().count());
+        String message = logs.list.get(0).getFormattedMessage();
+        assertTrue(message.contains("\"filter\": {\"country\": \"?\"}"), message);
+        assertTrue(message.contains("\"sort\": {\"createdAt\": -1}"), message);
+        assertFalse(message.contains("MX"), message);
+        assertFalse(message.contains("other@example.com"), message);
+    }
+
+    @Test
+    void slowFailedCommandIsCountedAndLogged() {
+        metrics.commandStarted(started(5, "find", find("MX")));
+        metrics.commandFailed(new CommandFailedEvent(null, 1, 5, CONNECTION, "blog_form", "find", SLOW,
+                new MongoExecutionTimeoutException(50, "operation exceeded time limit")));
+
+        assertEquals(1.0, registry.get("blog.form.mongo.slow").tag("command", "find").counter().count());
+        String message = logs.list.get(0).getFormattedMessage();
+        assertTrue(message.contains("failed after 500 ms"), message);
+        assertTrue(message.contains("\"country\": \"?\""), message);
+    }
+
+    @Test
+    void fastFailedCommandIsForgotten() {
+        metrics.commandStarted(started(6, "find", find("MX")));
+        metrics.commandFailed(new CommandFailedEvent(null, 1, 6, CONNECTION, "blog_form", "find", FAST,
+                new IllegalStateException("boom")));
+        // Sin comando en curso para ese id: un éxito tardío no registra nada
+        metrics.commandSucceeded(succeeded(6, "find", cursor(2), SLOW));
+
+        assertTrue(registry.getMeters().isEmpty());
+        assertTrue(logs.list.isEmpty());
+    }
+
+    // Solo se conserva lo que describe la consulta: nada de un insert, el primer filtro de un update
+    @Test
+    void snapshotKeepsOnlyTheQuery() {
+        BsonDocument insert = new BsonDocument("insert", new BsonString("blog_forms"))
+                .append("documents", new BsonArray(List.of(new BsonDocument("email", new BsonString("a@example.com")))));
+        assertNull(MongoCommandMetrics.snapshot("insert", insert));
+
+        BsonDocument update = new BsonDocument("update", new BsonString("blog_forms"))
+                .append("updates", new BsonArray(List.of(
+                        new BsonDocument("q", new BsonDocument("_id", new BsonString("a"))),
+                        new BsonDocument("q", new BsonDocument("_id", new BsonString("b"))))));
+        BsonDocument snapshot = MongoCommandMetrics.snapshot("update", update);
+        assertEquals(1, snapshot.getArray("updates").size());
+        assertEquals("{\"q\": {\"_id\": \"?\"}}", MongoCommandMetrics.shape("update", snapshot).toJson());
+    }
+
+    private static BsonDocument find(String country) {
+        return new BsonDocument("find", new BsonString("blog_forms"))
+                .append("filter", new BsonDocument("country", new BsonString(country)))
+                .append("sort", new BsonDocument("createdAt", new BsonInt32(-1)));
+    }
+
+    private static BsonDocument cursor(int documents) {
+        BsonArray batch = new BsonArray();
+        for (int i = 0; i < documents; i++) {
+            batch.add(new BsonDocument("_id", new BsonInt32(i)));
+        }
+        return new BsonDocument("cursor", new BsonDocument("firstBatch", batch));
+    }
+
+    private static CommandStartedEvent started(int requestId, String commandName, BsonDocument command) {
+        return new CommandStartedEvent(null, 1, requestId, CONNECTION, "blog_form", commandName, command);
+    }
+
+    private static CommandSucceededEvent succeeded(int requestId, String commandName, BsonDocument response, long elapsed) {
+        return new CommandSucceededEvent(null, 1, requestId, CONNECTION, "blog_form", commandName, response, elapsed);
+    }
+}
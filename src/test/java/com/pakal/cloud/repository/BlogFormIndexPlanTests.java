@@ -0,0 +1,47 @@
+package com.pakal.cloud.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Requiere un mongod real (explain): MONGODB_TEST_URI=mongodb://localhost:27017/blog_form_test
+@SpringBootTest(properties = "blog-form.indexes.ensure-on-startup=false")
+@EnabledIfEnvironmentVariable(named = "MONGODB_TEST_URI", matches = ".+")
+class BlogFormIndexPlanTests {
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", () -> System.getenv("MONGODB_TEST_URI"));
+    }
+
+    @Autowired
+    private BlogFormIndexManager indexManager;
+
+    @BeforeEach
+    void ensureIndexes() {
+        indexManager.ensureIndexes();
+    }
+
+    @Test
+    void declaredIndexesExist() {
+        assertEquals(List.of(), indexManager.missingIndexes());
+    }
+
+    @Test
+    void noRepositoryQueryDoesACollectionScan() {
+        List<String> collectionScans = indexManager.explainQueryShapes().stream()
+                .filter(BlogFormIndexManager.QueryPlan::isCollectionScan)
+                .map(plan -> plan.getName() + " -> " + plan.getCommand())
+                .collect(Collectors.toList());
+        assertTrue(collectionScans.isEmpty(), "Queries without index: " + collectionScans);
+    }
+}
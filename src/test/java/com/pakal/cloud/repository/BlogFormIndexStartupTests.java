@@ -0,0 +1,105 @@
+package com.pakal.cloud.repository;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.IndexOptions;
+import com.pakal.cloud.FormApiApplication;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// El índice único de email existe antes de que la aplicación acepte tráfico; si no se puede crear, no arranca
+class BlogFormIndexStartupTests {
+
+    private MongoServer mongo;
+    private String mongoUri;
+    private MongoClient client;
+
+    @BeforeEach
+    void startMongo() {
+        mongo = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = mongo.bind();
+        mongoUri = "mongodb://" + address.getHostString() + ":" + address.getPort() + "/blog_form_index_startup_test";
+        client = MongoClients.create(mongoUri);
+    }
+
+    @AfterEach
+    void stopMongo() {
+        client.close();
+        mongo.shutdownNow();
+    }
+
+    @Test
+    void uniqueEmailIndexExistsWhenStartupReturns() {
+        try (ConfigurableApplicationContext ignored = start(mongoUri)) {
+            assertTrue(indexNames().contains(BlogFormIndexManager.EMAIL_UNIQUE_INDEX), indexNames().toString());
+        }
+    }
+
+    // Bases que ya tenían el índice único no parcial de versiones anteriores: se elimina, y volver a arrancar no falla
+    @Test
+    void replacedIndexesAreDroppedIdempotently() {
+        forms().createIndex(new Document("email", 1), new IndexOptions().name("email_unique").unique(true));
+        forms().createIndex(new Document("fullName", 1), new IndexOptions().name("live_fullName"));
+
+        try (ConfigurableApplicationContext ignored = start(mongoUri)) {
+            assertTrue(indexNames().contains(BlogFormIndexManager.EMAIL_UNIQUE_INDEX), indexNames().toString());
+            assertFalse(indexNames().contains("email_unique"), indexNames().toString());
+            assertFalse(indexNames().contains("live_fullName"), indexNames().toString());
+        }
+        try (ConfigurableApplicationContext ignored = start(mongoUri)) {
+            assertTrue(indexNames().contains(BlogFormIndexManager.EMAIL_UNIQUE_INDEX), indexNames().toString());
+        }
+    }
+
+    @Test
+    void startupFailsWhenLiveEmailsAreDuplicated() {
+        forms().insertMany(List.of(
+                new Document("email", "dup@example.com").append("isDeleted", false),
+                new Document("email", "dup@example.com").append("isDeleted", false)));
+
+        assertThrows(IllegalStateException.class, () -> start(mongoUri).close());
+    }
+
+    @Test
+    void startupFailsWhenMongoIsUnreachable() throws Exception {
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+
+        assertThrows(IllegalStateException.class,
+                () -> start("mongodb://localhost:" + closedPort + "/blog_form_index_startup_test").close());
+    }
+
+    private static ConfigurableApplicationContext start(String uri) {
+        return new SpringApplicationBuilder(FormApiApplication.class).run(
+                "--server.port=0",
+                "--spring.data.mongodb.uri=" + uri,
+                "--blog-form.mongo.server-selection-timeout=500ms",
+                "--blog-form.search.backfill-on-startup=false",
+                "--blog-form.stats.reconcile-on-startup=false");
+    }
+
+    private MongoCollection<Document> forms() {
+        return client.getDatabase("blog_form_index_startup_test").getCollection("blog_forms");
+    }
+
+    private List<String> indexNames() {
+        return forms().listIndexes().map(index -> index.getString("name")).into(new ArrayList<>());
+    }
+}
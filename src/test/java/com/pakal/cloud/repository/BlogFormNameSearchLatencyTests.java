@@ -0,0 +1,103 @@
+package com.pakal.cloud.repository;
+
+import com.pakal.cloud.dto.BlogFormFilter;
+import com.pakal.cloud.model.BlogForm;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Requiere un mongod real; el volumen se ajusta con NAME_SEARCH_DOCUMENTS (por defecto 1.000.000)
+@Slf4j
+@SpringBootTest(properties = {"blog-form.indexes.ensure-on-startup=false", "blog-form.search.backfill-on-startup=false"})
+@EnabledIfEnvironmentVariable(named = "MONGODB_TEST_URI", matches = ".+")
+class BlogFormNameSearchLatencyTests {
+
+    private static final String[] FIRST_NAMES = {"Juan", "María", "José", "Ana", "Luis", "Sofía", "Pedro", "Lucía"};
+    private static final String[] LAST_NAMES = {"Pérez", "García", "López", "Martínez", "Hernández", "Gómez", "Díaz", "Núñez"};
+    private static final String[] QUERIES = {"juan", "maria gar", "jose lop", "nunez", "sofia her"};
+    private static final int SAMPLES = 50;
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", () -> System.getenv("MONGODB_TEST_URI"));
+    }
+
+    @Autowired
+    private BlogFormRepository repository;
+
+    @Autowired
+    private BlogFormIndexManager indexManager;
+
+    @BeforeEach
+    void seed() {
+        int documents = Integer.parseInt(System.getenv().getOrDefault("NAME_SEARCH_DOCUMENTS", "1000000"));
+        if (repository.count() == documents) {
+            return;
+        }
+        repository.deleteAll();
+        indexManager.ensureIndexes();
+        LocalDateTime now = LocalDateTime.now();
+        List<BlogForm> batch = new ArrayList<>();
+        for (int i = 0; i < documents; i++) {
+            BlogForm form = new BlogForm();
+            form.setId(new ObjectId().toHexString());
+            form.setEmail("user" + i + "@example.com");
+            form.setFullName(FIRST_NAMES[i % FIRST_NAMES.length] + " " + LAST_NAMES[(i / FIRST_NAMES.length) % LAST_NAMES.length] + " " + i);
+            form.setCountry("MX");
+            form.setCreatedAt(now.minusSeconds(i));
+            form.setUpdatedAt(form.getCreatedAt());
+            batch.add(form);
+            if (batch.size() == 1000) {
+                assertEquals(List.of(), repository.insertBatch(batch, false));
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            assertEquals(List.of(), repository.insertBatch(batch, false));
+        }
+    }
+
+    @Test
+    void prefixSearchUsesTheTokenIndex() {
+        List<String> collectionScans = indexManager.explainQueryShapes().stream()
+                .filter(plan -> plan.getName().contains("fullName") && plan.isCollectionScan())
+                .map(BlogFormIndexManager.QueryPlan::getName)
+                .toList();
+        assertEquals(List.of(), collectionScans);
+    }
+
+    @Test
+    void prefixSearchLatency() {
+        PageRequest page = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt", "id"));
+        for (String query : QUERIES) {
+            BlogFormFilter filter = new BlogFormFilter(null, query, null, null);
+            long[] latencies = new long[SAMPLES];
+            for (int i = 0; i < SAMPLES; i++) {
+                long begin = System.nanoTime();
+                List<BlogForm> content = repository.findSliceByFilter(filter, null, page).getContent();
+                latencies[i] = System.nanoTime() - begin;
+                assertFalse(content.isEmpty(), "No results for " + query);
+                assertTrue(content.stream().allMatch(form -> form.getNameTokens().stream()
+                        .anyMatch(token -> token.startsWith(query.split(" ")[0]))));
+            }
+            Arrays.sort(latencies);
+            log.info("fullName search '{}': p50={}us p99={}us", query, latencies[SAMPLES / 2] / 1000, latencies[SAMPLES * 99 / 100] / 1000);
+        }
+    }
+}
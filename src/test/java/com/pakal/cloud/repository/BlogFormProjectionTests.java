@@ -0,0 +1,132 @@
+package com.pakal.cloud.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pakal.cloud.dto.BlogFormFilter;
+import com.pakal.cloud.dto.BlogFormSummary;
+import com.pakal.cloud.model.BlogForm;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import java.net.InetSocketAddress;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Compara el listado completo con la proyección fields=summary: bytes de JSON por página y latencia de consulta + serialización
+@Slf4j
+@SpringBootTest(properties = {"blog-form.indexes.ensure-on-startup=false", "blog-form.search.backfill-on-startup=false"})
+class BlogFormProjectionTests {
+
+    private static final int DOCUMENTS = 2000;
+    private static final int PAGE_SIZE = 100;
+    private static final int ITERATIONS = 200;
+    private static final List<String> SUMMARY = List.of("id", "fullName", "country", "createdAt");
+
+    private static final MongoServer MONGO = new MongoServer(new MemoryBackend());
+    private static final InetSocketAddress MONGO_ADDRESS = MONGO.bind();
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri",
+                () -> "mongodb://" + MONGO_ADDRESS.getHostString() + ":" + MONGO_ADDRESS.getPort() + "/blog_form_projection_test");
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        MONGO.shutdownNow();
+    }
+
+    @Autowired
+    private BlogFormRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void seed() {
+        if (repository.count() == DOCUMENTS) {
+            return;
+        }
+        repository.deleteAll();
+        LocalDateTime now = LocalDateTime.now();
+        String description = "x".repeat(500);
+        List<BlogForm> batch = new ArrayList<>();
+        for (int i = 0; i < DOCUMENTS; i++) {
+            BlogForm form = new BlogForm();
+            form.setId(new ObjectId().toHexString());
+            form.setEmail("user" + i + "@example.com");
+            form.setFullName("Projection User " + i);
+            form.setDescription(description);
+            form.setCountry("MX");
+            form.setCreatedAt(now.minusSeconds(i));
+            form.setUpdatedAt(form.getCreatedAt());
+            batch.add(form);
+        }
+        assertEquals(List.of(), repository.insertBatch(batch, false));
+    }
+
+    @Test
+    void summaryProjectionAgainstFullListing() throws Exception {
+        BlogFormFilter filter = new BlogFormFilter();
+        long[] full = new long[ITERATIONS];
+        long[] summary = new long[ITERATIONS];
+        int fullBytes = 0;
+        int summaryBytes = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            Pageable pageable = PageRequest.of(i % (DOCUMENTS / PAGE_SIZE), PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdAt", "id"));
+            long begin = System.nanoTime();
+            fullBytes = serialize(() -> repository.findByFilter(filter, pageable));
+            full[i] = System.nanoTime() - begin;
+
+            begin = System.nanoTime();
+            summaryBytes = serialize(() -> repository.findSummariesByFilter(filter, SUMMARY, pageable));
+            summary[i] = System.nanoTime() - begin;
+        }
+
+        log.info("listing of {} forms per page over {} iterations: full {} bytes {}, fields=summary {} bytes {}",
+                PAGE_SIZE, ITERATIONS, fullBytes, percentiles(full), summaryBytes, percentiles(summary));
+
+        assertTrue(summaryBytes * 3 < fullBytes, "summary payload should be well under a third of the full one");
+    }
+
+    @Test
+    void projectionOnlyReturnsRequestedFields() {
+        Page<BlogFormSummary> page = repository.findSummariesByFilter(new BlogFormFilter(), SUMMARY,
+                PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "createdAt", "id")));
+
+        BlogFormSummary summary = page.getContent().get(0);
+        assertEquals("Projection User 0", summary.getFullName());
+        assertEquals("MX", summary.getCountry());
+        assertNull(summary.getDescription());
+        assertNull(summary.getEmail());
+        assertEquals(DOCUMENTS, page.getTotalElements());
+    }
+
+    private int serialize(Callable<Page<?>> query) throws Exception {
+        return objectMapper.writeValueAsBytes(query.call()).length;
+    }
+
+    private static String percentiles(long[] latencies) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        return String.format("p50=%dus p99=%dus", sorted[sorted.length / 2] / 1000, sorted[sorted.length * 99 / 100] / 1000);
+    }
+}
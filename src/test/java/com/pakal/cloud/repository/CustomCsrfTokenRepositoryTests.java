@@ -0,0 +1,120 @@
+package com.pakal.cloud.repository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.security.web.csrf.DefaultCsrfToken;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Almacén en memoria: caducidad, límite con descarte FIFO, un solo registro por token y métricas
+class CustomCsrfTokenRepositoryTests {
+
+    private static final Duration NO_SWEEP = Duration.ofHours(1);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private CustomCsrfTokenRepository repository;
+
+    @AfterEach
+    void close() {
+        repository.close();
+    }
+
+    @Test
+    void tokenExpiresAfterTtl() throws InterruptedException {
+        repository = create(Duration.ofMillis(100), 10, NO_SWEEP);
+        String token = repository.generateToken().getToken();
+        assertNotNull(repository.loadToken(token));
+
+        Thread.sleep(150);
+
+        // Caducado aunque el barrido aún no lo haya retirado
+        assertNull(repository.loadToken(token));
+        assertEquals(1, repository.liveTokens());
+        repository.evictExpired();
+        assertEquals(0, repository.liveTokens());
+        assertEquals(0, repository.queuedTokens());
+        assertEquals(1.0, evictions("expired"));
+        assertEquals(0.0, registry.get("csrf.tokens.live").gauge().value());
+    }
+
+    @Test
+    void sweeperRemovesExpiredTokens() throws InterruptedException {
+        repository = create(Duration.ofMillis(20), 10, Duration.ofMillis(20));
+        for (int i = 0; i < 3; i++) {
+            repository.generateToken();
+        }
+
+        long deadline = System.currentTimeMillis() + 2000;
+        while (repository.liveTokens() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(0, repository.liveTokens());
+        assertEquals(3.0, evictions("expired"));
+    }
+
+    @Test
+    void capacityEvictsTheOldestTokensFirst() {
+        repository = create(Duration.ofMinutes(1), 3, NO_SWEEP);
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            tokens.add(repository.generateToken().getToken());
+        }
+
+        assertNull(repository.loadToken(tokens.get(0)));
+        assertNull(repository.loadToken(tokens.get(1)));
+        for (String token : tokens.subList(2, 5)) {
+            assertNotNull(repository.loadToken(token));
+        }
+        assertEquals(3, repository.liveTokens());
+        assertEquals(3, repository.queuedTokens());
+        assertEquals(2.0, evictions("capacity"));
+        assertEquals(0.0, evictions("expired"));
+        assertEquals(3.0, registry.get("csrf.tokens.live").gauge().value());
+    }
+
+    // Spring Security llama a saveToken con el token que acaba de generar: no debe quedar una segunda entrada
+    @Test
+    void savingAGeneratedTokenDoesNotStoreItTwice() {
+        repository = create(Duration.ofMinutes(1), 10, NO_SWEEP);
+        CsrfToken token = repository.generateToken();
+
+        repository.saveToken(token, null, null);
+
+        assertEquals(1, repository.liveTokens());
+        assertEquals(1, repository.queuedTokens());
+    }
+
+    @Test
+    void savingAnUnknownTokenStoresIt() {
+        repository = create(Duration.ofMinutes(1), 10, NO_SWEEP);
+        CsrfToken token = new DefaultCsrfToken(HeaderCsrfTokenRepository.HEADER_NAME,
+                HeaderCsrfTokenRepository.PARAMETER_NAME, "external-token");
+
+        repository.saveToken(token, null, null);
+        repository.saveToken(null, null, null);
+
+        assertNotNull(repository.loadToken("external-token"));
+        assertEquals(1, repository.queuedTokens());
+        assertNull(repository.loadToken(""));
+        assertNull(repository.loadToken((String) null));
+    }
+
+    private CustomCsrfTokenRepository create(Duration ttl, int maxTokens, Duration sweepInterval) {
+        CustomCsrfTokenRepository created = new CustomCsrfTokenRepository(ttl, maxTokens, sweepInterval);
+        created.bindTo(registry);
+        return created;
+    }
+
+    private double evictions(String reason) {
+        return registry.get("csrf.tokens.evictions").tag("reason", reason).functionCounter().count();
+    }
+}
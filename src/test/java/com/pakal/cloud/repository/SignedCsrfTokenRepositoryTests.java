@@ -0,0 +1,109 @@
+package com.pakal.cloud.repository;
+
+import com.pakal.cloud.FormApiApplication;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Dos instancias de la aplicación con el mismo secreto: un token emitido por una se acepta en la otra
+class SignedCsrfTokenRepositoryTests {
+
+    private static final String SECRET = "test-signing-secret-shared-by-both-replicas";
+    private static final String AUTHORIZATION = "Basic "
+            + Base64.getEncoder().encodeToString("user:password".getBytes(StandardCharsets.UTF_8));
+    private static final Pattern TOKEN = Pattern.compile("\"csrfToken\"\\s*:\\s*\"([^\"]+)\"");
+
+    private static MongoServer mongo;
+    private static ConfigurableApplicationContext replicaA;
+    private static ConfigurableApplicationContext replicaB;
+    private static final HttpClient CLIENT = HttpClient.newHttpClient();
+
+    @BeforeAll
+    static void startReplicas() {
+        mongo = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = mongo.bind();
+        String mongoUri = "mongodb://" + address.getHostString() + ":" + address.getPort() + "/blog_form_test";
+        replicaA = startReplica(mongoUri);
+        replicaB = startReplica(mongoUri);
+    }
+
+    @AfterAll
+    static void stopReplicas() {
+        replicaA.close();
+        replicaB.close();
+        mongo.shutdownNow();
+    }
+
+    @Test
+    void tokenIssuedByOneReplicaIsAcceptedByAnother() throws Exception {
+        String token = fetchToken(replicaA);
+
+        HttpResponse<String> response = createForm(replicaB, token, "replica@example.com");
+
+        assertEquals(201, response.statusCode(), response.body());
+    }
+
+    @Test
+    void tamperedTokenIsRejected() throws Exception {
+        String token = fetchToken(replicaA);
+        char last = token.charAt(token.length() - 1);
+        String tampered = token.substring(0, token.length() - 1) + (last == 'A' ? 'B' : 'A');
+
+        HttpResponse<String> response = createForm(replicaB, tampered, "tampered@example.com");
+
+        // El 403 del filtro CSRF se reenvía a /error, que sin sesión autenticada responde 401
+        assertTrue(response.statusCode() == 401 || response.statusCode() == 403, "status " + response.statusCode());
+    }
+
+    private static ConfigurableApplicationContext startReplica(String mongoUri) {
+        // Como argumentos: tienen prioridad sobre application.yml
+        return new SpringApplicationBuilder(FormApiApplication.class).run(
+                "--server.port=0",
+                "--spring.data.mongodb.uri=" + mongoUri,
+                "--blog-form.indexes.ensure-on-startup=false",
+                "--blog-form.csrf.mode=signed",
+                "--blog-form.csrf.signing-secret=" + SECRET);
+    }
+
+    private static String fetchToken(ConfigurableApplicationContext replica) throws Exception {
+        HttpResponse<String> response = CLIENT.send(HttpRequest.newBuilder(uri(replica, "/api/csrf"))
+                .header("Authorization", AUTHORIZATION)
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        Matcher matcher = TOKEN.matcher(response.body());
+        assertTrue(matcher.find(), response.body());
+        return matcher.group(1);
+    }
+
+    private static HttpResponse<String> createForm(ConfigurableApplicationContext replica, String token, String email)
+            throws Exception {
+        String body = "{\"email\":\"" + email + "\",\"fullName\":\"Replica User\",\"country\":\"MX\"}";
+        return CLIENT.send(HttpRequest.newBuilder(uri(replica, "/api/blog-forms"))
+                .header("Authorization", AUTHORIZATION)
+                .header("Content-Type", "application/json")
+                .header("X-XSRF-TOKEN", token)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static URI uri(ConfigurableApplicationContext replica, String path) {
+        return URI.create("http://localhost:" + replica.getEnvironment().getProperty("local.server.port") + path);
+    }
+}
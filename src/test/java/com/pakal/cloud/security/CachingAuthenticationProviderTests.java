@@ -0,0 +1,93 @@
+package com.pakal.cloud.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// El delegado cuenta sus llamadas: cada una sería un BCrypt completo en producción
+class CachingAuthenticationProviderTests {
+
+    private InMemoryUserDetailsManager users;
+    private AtomicInteger delegateCalls;
+    private SimpleMeterRegistry registry;
+    private CachingAuthenticationProvider provider;
+
+    @BeforeEach
+    @SuppressWarnings("deprecation")
+    void setUp() {
+        users = new InMemoryUserDetailsManager(User.withUsername("admin").password("secret").roles("ADMIN").build());
+        DaoAuthenticationProvider dao = new DaoAuthenticationProvider();
+        dao.setUserDetailsService(users);
+        dao.setPasswordEncoder(NoOpPasswordEncoder.getInstance());
+        delegateCalls = new AtomicInteger();
+        AuthenticationProvider counting = new AuthenticationProvider() {
+            @Override
+            public Authentication authenticate(Authentication authentication) {
+                delegateCalls.incrementAndGet();
+                return dao.authenticate(authentication);
+            }
+
+            @Override
+            public boolean supports(Class<?> authentication) {
+                return dao.supports(authentication);
+            }
+        };
+        registry = new SimpleMeterRegistry();
+        provider = new CachingAuthenticationProvider(counting, Duration.ofMinutes(1), 100).bindTo(registry);
+    }
+
+    @Test
+    void repeatedCredentialsSkipTheDelegate() {
+        Authentication first = provider.authenticate(credentials("admin", "secret"));
+        Authentication second = provider.authenticate(credentials("admin", "secret"));
+
+        assertEquals(1, delegateCalls.get());
+        assertTrue(second.isAuthenticated());
+        assertEquals("admin", second.getName());
+        assertEquals(first.getAuthorities(), second.getAuthorities());
+        // La contraseña no viaja en el token devuelto desde la caché
+        assertNull(second.getCredentials());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "authCredentials").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void failedAuthenticationIsNeverCached() {
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(credentials("admin", "wrong")));
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(credentials("admin", "wrong")));
+
+        assertEquals(2, delegateCalls.get());
+        assertEquals(0.0, registry.get("cache.size").tag("cache", "authCredentials").gauge().value());
+    }
+
+    // La clave es un HMAC de usuario y contraseña: una contraseña nueva no encuentra la entrada anterior
+    @Test
+    void changedPasswordMissesTheCache() {
+        provider.authenticate(credentials("admin", "secret"));
+        users.updateUser(User.withUsername("admin").password("rotated").roles("ADMIN").build());
+
+        Authentication result = provider.authenticate(credentials("admin", "rotated"));
+
+        assertTrue(result.isAuthenticated());
+        assertEquals(2, delegateCalls.get());
+    }
+
+    private static UsernamePasswordAuthenticationToken credentials(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+}
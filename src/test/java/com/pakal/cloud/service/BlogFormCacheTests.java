@@ -0,0 +1,165 @@
+package com.pakal.cloud.service;
+
+import com.pakal.cloud.config.CacheConfig;
+import com.pakal.cloud.dto.BlogFormDTO;
+import com.pakal.cloud.errors.ResourceNotFoundException;
+import com.pakal.cloud.model.BlogForm;
+import com.pakal.cloud.repository.BlogFormIndexManager;
+import com.pakal.cloud.repository.BlogFormRepository;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import java.net.InetSocketAddress;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Las escrituras directas en MongoDB no pasan por el servicio: solo se ven si la caché no responde.
+// Así un @CacheEvict que falte se nota como un dato obsoleto
+@SpringBootTest(properties = {
+    "blog-form.indexes.ensure-on-startup=false",
+    "blog-form.search.backfill-on-startup=false",
+    "blog-form.stats.reconcile-on-startup=false",
+    // Sin change stream: solo las escrituras de esta instancia invalidan la caché
+    "blog-form.events.source=in-process"
+})
+class BlogFormCacheTests {
+
+    private static final MongoServer MONGO = new MongoServer(new MemoryBackend());
+    private static final InetSocketAddress MONGO_ADDRESS = MONGO.bind();
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri",
+                () -> "mongodb://" + MONGO_ADDRESS.getHostString() + ":" + MONGO_ADDRESS.getPort() + "/blog_form_cache_test");
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        MONGO.shutdownNow();
+    }
+
+    @Autowired
+    private BlogFormService service;
+
+    @Autowired
+    private BlogFormRepository repository;
+
+    @Autowired
+    private BlogFormIndexManager indexManager;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private String id;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        indexManager.ensureIndexes();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        id = service.create(dto("cache@example.com", "initial")).getId();
+    }
+
+    @Test
+    void findByIdIsServedFromTheCache() {
+        service.findById(id);
+        changeDescriptionBehindTheService("changed in MongoDB");
+
+        assertEquals("initial", service.findById(id).getDescription());
+    }
+
+    @Test
+    void updateEvictsTheCachedForm() {
+        service.findById(id);
+
+        service.update(id, dto("cache@example.com", "updated"), null);
+
+        assertEquals("updated", service.findById(id).getDescription());
+    }
+
+    @Test
+    void patchEvictsTheCachedForm() {
+        service.findById(id);
+        BlogFormDTO patch = new BlogFormDTO();
+        patch.setDescription("patched");
+
+        service.patch(id, patch, null);
+
+        assertEquals("patched", service.findById(id).getDescription());
+    }
+
+    @Test
+    void deleteEvictsTheCachedFormAndPages() {
+        service.findById(id);
+        assertEquals(1, service.findAll(0, 10, "createdAt", "DESC").getTotalElements());
+
+        service.delete(id);
+
+        assertThrows(ResourceNotFoundException.class, () -> service.findById(id));
+        assertEquals(0, service.findAll(0, 10, "createdAt", "DESC").getTotalElements());
+    }
+
+    @Test
+    void restoreEvictsTheCachedFormAndPages() {
+        service.delete(id);
+        assertEquals(0, service.findAll(0, 10, "createdAt", "DESC").getTotalElements());
+        // Un formulario en caché con otro contenido: restore debe descartarlo
+        cacheManager.getCache(CacheConfig.BLOG_FORMS).put(id, repository.findById(id).orElseThrow());
+        changeDescriptionBehindTheService("changed while deleted");
+
+        service.restore(id);
+
+        assertEquals("changed while deleted", service.findById(id).getDescription());
+        assertEquals(1, service.findAll(0, 10, "createdAt", "DESC").getTotalElements());
+    }
+
+    @Test
+    void createEvictsCachedPages() {
+        assertEquals(1, service.findAll(0, 10, "createdAt", "DESC").getTotalElements());
+        repository.insert(BlogFormService.newForm(dto("behind@example.com", null)));
+        assertEquals(1, service.findAll(0, 10, "createdAt", "DESC").getTotalElements());
+
+        service.create(dto("second@example.com", null));
+
+        assertEquals(3, service.findAll(0, 10, "createdAt", "DESC").getTotalElements());
+    }
+
+    // Solo las primeras páginas se cachean: las demás siempre leen de MongoDB
+    @Test
+    void coldPagesAreNotCached() {
+        int page = CacheConfig.HOT_PAGES;
+        assertEquals(1, service.findAll(page, 10, "createdAt", "DESC").getTotalElements());
+        repository.insert(BlogFormService.newForm(dto("behind@example.com", null)));
+
+        assertEquals(2, service.findAll(page, 10, "createdAt", "DESC").getTotalElements());
+    }
+
+    private void changeDescriptionBehindTheService(String description) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("id").is(id)),
+                Update.update("description", description), BlogForm.class);
+    }
+
+    private static BlogFormDTO dto(String email, String description) {
+        BlogFormDTO dto = new BlogFormDTO();
+        dto.setEmail(email);
+        dto.setFullName("Cache User");
+        dto.setDescription(description);
+        dto.setCountry("MX");
+        return dto;
+    }
+}
@@ -0,0 +1,72 @@
+package com.pakal.cloud.service;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.UpdateDescription;
+import com.pakal.cloud.dto.BlogFormEvent;
+import com.pakal.cloud.model.BlogForm;
+import org.bson.BsonArray;
+import org.bson.BsonBoolean;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// Tipo de evento publicado para cada cambio del change stream
+class BlogFormChangeStreamWatcherTests {
+
+    @Test
+    void insertIsCreated() {
+        assertEquals(BlogFormEvent.Type.CREATED, BlogFormChangeStreamWatcher.type(change("insert", null), new BlogForm()));
+    }
+
+    @Test
+    void isDeletedFlagIsDeleteOrRestore() {
+        assertEquals(BlogFormEvent.Type.DELETED,
+                BlogFormChangeStreamWatcher.type(update(new BsonDocument("isDeleted", BsonBoolean.TRUE)), deleted()));
+        assertEquals(BlogFormEvent.Type.RESTORED,
+                BlogFormChangeStreamWatcher.type(update(new BsonDocument("isDeleted", BsonBoolean.FALSE)), new BlogForm()));
+    }
+
+    @Test
+    void visibleFieldsAreUpdated() {
+        BsonDocument fields = new BsonDocument("fullName", new BsonString("Ana Pérez"))
+                .append("fullNameNormalized", new BsonString("ana perez"))
+                .append("nameTokens", new BsonArray(List.of(new BsonString("ana"), new BsonString("perez"))));
+
+        assertEquals(BlogFormEvent.Type.UPDATED, BlogFormChangeStreamWatcher.type(update(fields), new BlogForm()));
+        assertEquals(BlogFormEvent.Type.UPDATED, BlogFormChangeStreamWatcher.type(change("replace", null), new BlogForm()));
+    }
+
+    // El backfill de la búsqueda solo rellena campos derivados: no es una modificación para los clientes
+    @Test
+    void derivedSearchFieldsAloneAreNotPublished() {
+        BsonDocument fields = new BsonDocument("fullNameNormalized", new BsonString("ana perez"))
+                .append("nameTokens", new BsonArray(List.of(new BsonString("ana"), new BsonString("perez"))));
+
+        assertNull(BlogFormChangeStreamWatcher.type(update(fields), new BlogForm()));
+    }
+
+    @Test
+    void changesToDeletedFormsAreNotPublished() {
+        assertNull(BlogFormChangeStreamWatcher.type(update(new BsonDocument("description", new BsonString("x"))), deleted()));
+    }
+
+    private static ChangeStreamDocument<Document> update(BsonDocument updatedFields) {
+        return change("update", new UpdateDescription(List.of(), updatedFields));
+    }
+
+    private static ChangeStreamDocument<Document> change(String operationType, UpdateDescription description) {
+        return new ChangeStreamDocument<>(operationType, new BsonDocument("_data", new BsonString("token")), null, null,
+                null, null, new BsonDocument("_id", new BsonString("id")), null, description, null, null, null, null);
+    }
+
+    private static BlogForm deleted() {
+        BlogForm form = new BlogForm();
+        form.setDeleted(true);
+        return form;
+    }
+}
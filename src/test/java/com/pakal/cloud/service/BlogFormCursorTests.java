@@ -0,0 +1,147 @@
+package com.pakal.cloud.service;
+
+import com.pakal.cloud.dto.BlogFormDTO;
+import com.pakal.cloud.dto.BlogFormFilter;
+import com.pakal.cloud.dto.CursorPage;
+import com.pakal.cloud.model.BlogForm;
+import com.pakal.cloud.repository.BlogFormRepository;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import java.net.InetSocketAddress;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Paginación por cursor con muchos formularios en el mismo instante: el desempate por _id no debe repetir ni saltar ninguno
+@SpringBootTest(properties = {
+    "blog-form.indexes.ensure-on-startup=false",
+    "blog-form.search.backfill-on-startup=false",
+    "blog-form.stats.reconcile-on-startup=false"
+})
+class BlogFormCursorTests {
+
+    private static final int FORMS = 24;
+    private static final int TIMESTAMPS = 3;
+
+    private static final MongoServer MONGO = new MongoServer(new MemoryBackend());
+    private static final InetSocketAddress MONGO_ADDRESS = MONGO.bind();
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri",
+                () -> "mongodb://" + MONGO_ADDRESS.getHostString() + ":" + MONGO_ADDRESS.getPort() + "/blog_form_cursor_test");
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        MONGO.shutdownNow();
+    }
+
+    @Autowired
+    private BlogFormService service;
+
+    @Autowired
+    private BlogFormRepository repository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private List<BlogForm> forms;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        forms = seed();
+    }
+
+    @Test
+    void descendingPagesVisitEveryFormOnce() {
+        List<String> expected = sorted(Comparator.comparing(BlogForm::getCreatedAt)
+                .thenComparing(BlogForm::getId).reversed());
+
+        assertEquals(expected, walk(5, "DESC"));
+    }
+
+    @Test
+    void ascendingPagesVisitEveryFormOnce() {
+        List<String> expected = sorted(Comparator.comparing(BlogForm::getCreatedAt).thenComparing(BlogForm::getId));
+
+        assertEquals(expected, walk(5, "ASC"));
+    }
+
+    // Con un total múltiplo del tamaño, la última página ya sabe que no hay más: no hace falta una página vacía
+    @Test
+    void lastFullPageHasNoNextCursor() {
+        List<CursorPage<BlogForm>> pages = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<BlogForm> page = service.findByCursor(new BlogFormFilter(), cursor, 4, "DESC");
+            pages.add(page);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(FORMS / 4, pages.size());
+        CursorPage<BlogForm> last = pages.get(pages.size() - 1);
+        assertEquals(4, last.getSize());
+        assertFalse(last.isHasNext());
+        assertNull(last.getNextCursor());
+        assertTrue(pages.subList(0, pages.size() - 1).stream().allMatch(CursorPage::isHasNext));
+    }
+
+    private List<String> walk(int size, String direction) {
+        List<String> visited = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<BlogForm> page = service.findByCursor(new BlogFormFilter(), cursor, size, direction);
+            page.getContent().forEach(form -> visited.add(form.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return visited;
+    }
+
+    private List<String> sorted(Comparator<BlogForm> order) {
+        return forms.stream().sorted(order).map(BlogForm::getId).toList();
+    }
+
+    // Ocho formularios por instante, con ids barajados para que el orden por _id no coincida con el de inserción
+    private List<BlogForm> seed() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < FORMS; i++) {
+            ids.add(new ObjectId().toHexString());
+        }
+        Collections.shuffle(ids, new Random(42));
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        List<BlogForm> seeded = new ArrayList<>();
+        for (int i = 0; i < FORMS; i++) {
+            BlogFormDTO dto = new BlogFormDTO();
+            dto.setEmail("cursor" + i + "@example.com");
+            dto.setFullName("Cursor User " + i);
+            dto.setCountry("MX");
+            BlogForm form = BlogFormService.newForm(dto);
+            form.setId(ids.get(i));
+            form.setCreatedAt(now.minusMinutes(i % TIMESTAMPS));
+            seeded.add(form);
+        }
+        assertEquals(List.of(), repository.insertBatch(seeded, false));
+        return seeded;
+    }
+}
@@ -0,0 +1,129 @@
+package com.pakal.cloud.service;
+
+import com.pakal.cloud.dto.BlogFormDTO;
+import com.pakal.cloud.dto.BlogFormFilter;
+import com.pakal.cloud.errors.InvalidRequestException;
+import com.pakal.cloud.model.BlogForm;
+import com.pakal.cloud.repository.BlogFormRepository;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import java.net.InetSocketAddress;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// País, nombre y rango de fechas combinados: cada criterio descarta por sí solo al menos un formulario
+@SpringBootTest(properties = {
+    "blog-form.indexes.ensure-on-startup=false",
+    "blog-form.search.backfill-on-startup=false",
+    "blog-form.stats.reconcile-on-startup=false"
+})
+class BlogFormFilterTests {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime END = START.plusDays(14);
+
+    private static final MongoServer MONGO = new MongoServer(new MemoryBackend());
+    private static final InetSocketAddress MONGO_ADDRESS = MONGO.bind();
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri",
+                () -> "mongodb://" + MONGO_ADDRESS.getHostString() + ":" + MONGO_ADDRESS.getPort() + "/blog_form_filter_test");
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        MONGO.shutdownNow();
+    }
+
+    @Autowired
+    private BlogFormService service;
+
+    @Autowired
+    private BlogFormRepository repository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        List<BlogForm> forms = new ArrayList<>();
+        forms.add(form("match@example.com", "Juan Pérez", "MX", START.plusDays(4), false));
+        // El orden de las palabras no importa y "juan" es prefijo de "juanita"
+        forms.add(form("reordered@example.com", "Pérez Juanita", "MX", START.plusDays(9), false));
+        // El extremo final del rango está incluido
+        forms.add(form("boundary@example.com", "Juana Perla", "MX", END, false));
+        forms.add(form("country@example.com", "Juan Pérez", "AR", START.plusDays(4), false));
+        forms.add(form("late@example.com", "Juan Pérez", "MX", END.plusMinutes(1), false));
+        forms.add(form("early@example.com", "Juan Pérez", "MX", START.minusMinutes(1), false));
+        // "per" aparece dentro de "esperanza" pero no al principio de ninguna palabra
+        forms.add(form("infix@example.com", "Juan Esperanza", "MX", START.plusDays(4), false));
+        // Solo una de las dos palabras buscadas
+        forms.add(form("partial@example.com", "Juan Gómez", "MX", START.plusDays(4), false));
+        forms.add(form("deleted@example.com", "Juan Pérez", "MX", START.plusDays(5), true));
+        assertEquals(List.of(), repository.insertBatch(forms, false));
+    }
+
+    @Test
+    void allCriteriaAreCombined() {
+        BlogFormFilter filter = new BlogFormFilter("MX", "juan per", START, END);
+
+        List<String> emails = service.findByFilters(filter, 0, 50, "createdAt", "ASC").getContent().stream()
+                .map(BlogForm::getEmail)
+                .toList();
+
+        assertEquals(List.of("match@example.com", "reordered@example.com", "boundary@example.com"), emails);
+    }
+
+    @Test
+    void cursorListingAppliesTheSameCriteria() {
+        BlogFormFilter filter = new BlogFormFilter("MX", "juan per", START, END);
+
+        List<String> emails = service.findByCursor(filter, null, 50, "ASC").getContent().stream()
+                .map(BlogForm::getEmail)
+                .toList();
+
+        assertEquals(List.of("match@example.com", "reordered@example.com", "boundary@example.com"), emails);
+    }
+
+    // La búsqueda se normaliza igual que el nombre guardado: mayúsculas, acentos y separadores no cuentan
+    @Test
+    void nameSearchIgnoresCaseAccentsAndSeparators() {
+        BlogFormFilter filter = new BlogFormFilter("MX", "  JUAN,  pér ", START, END);
+
+        assertEquals(3, service.findByFilters(filter, 0, 50, "createdAt", "ASC").getTotalElements());
+    }
+
+    @Test
+    void nameWithoutLettersOrDigitsIsRejected() {
+        BlogFormFilter filter = new BlogFormFilter("MX", "-- !", START, END);
+
+        assertThrows(InvalidRequestException.class,
+                () -> service.findByFilters(filter, 0, 50, "createdAt", "ASC"));
+    }
+
+    private static BlogForm form(String email, String fullName, String country, LocalDateTime createdAt, boolean deleted) {
+        BlogFormDTO dto = new BlogFormDTO();
+        dto.setEmail(email);
+        dto.setFullName(fullName);
+        dto.setCountry(country);
+        BlogForm form = BlogFormService.newForm(dto);
+        form.setCreatedAt(createdAt);
+        form.setDeleted(deleted);
+        return form;
+    }
+}
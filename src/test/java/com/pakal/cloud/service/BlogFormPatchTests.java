@@ -0,0 +1,186 @@
+package com.pakal.cloud.service;
+
+import com.pakal.cloud.dto.BlogFormDTO;
+import com.pakal.cloud.errors.PreconditionFailedException;
+import com.pakal.cloud.model.BlogForm;
+import com.pakal.cloud.repository.BlogFormIndexManager;
+import com.pakal.cloud.repository.BlogFormRepository;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import java.net.InetSocketAddress;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Compara la ruta anterior de PUT (lectura + save del documento completo) con el PATCH de un solo findAndModify
+@Slf4j
+@SpringBootTest(properties = "blog-form.indexes.ensure-on-startup=false")
+class BlogFormPatchTests {
+
+    private static final int ITERATIONS = 500;
+
+    private static final MongoServer MONGO = new MongoServer(new MemoryBackend());
+    private static final InetSocketAddress MONGO_ADDRESS = MONGO.bind();
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri",
+                () -> "mongodb://" + MONGO_ADDRESS.getHostString() + ":" + MONGO_ADDRESS.getPort() + "/blog_form_patch_test");
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        MONGO.shutdownNow();
+    }
+
+    @Autowired
+    private BlogFormService service;
+
+    @Autowired
+    private BlogFormRepository repository;
+
+    @Autowired
+    private BlogFormIndexManager indexManager;
+
+    private String id;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        indexManager.ensureIndexes();
+        BlogFormDTO dto = new BlogFormDTO();
+        dto.setEmail("patch@example.com");
+        dto.setFullName("Patch User");
+        dto.setDescription("initial");
+        dto.setCountry("MX");
+        id = service.create(dto).getId();
+    }
+
+    @Test
+    void patchLatencyAgainstReadAndSave() {
+        long[] readAndSave = new long[ITERATIONS];
+        long[] patch = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long begin = System.nanoTime();
+            BlogForm form = repository.findByIdAndIsDeletedFalse(id).orElseThrow();
+            form.setDescription("saved " + i);
+            form.setUpdatedAt(LocalDateTime.now());
+            repository.save(form);
+            readAndSave[i] = System.nanoTime() - begin;
+
+            begin = System.nanoTime();
+            service.patch(id, description("patched " + i), null);
+            patch[i] = System.nanoTime() - begin;
+        }
+
+        log.info("update latency over {} iterations: read+save {}, findAndModify {}",
+                ITERATIONS, percentiles(readAndSave), percentiles(patch));
+
+        BlogForm form = repository.findById(id).orElseThrow();
+        assertEquals("patched " + (ITERATIONS - 1), form.getDescription());
+        assertEquals("Patch User", form.getFullName());
+        assertEquals(2L * ITERATIONS, form.getVersion());
+    }
+
+    @Test
+    void concurrentPatchesOnDifferentFieldsKeepBothWrites() throws Exception {
+        AtomicInteger readAndSaveConflicts = new AtomicInteger();
+        run(i -> {
+            BlogForm form = repository.findByIdAndIsDeletedFalse(id).orElseThrow();
+            form.setDescription("saved " + i);
+            try {
+                repository.save(form);
+            } catch (OptimisticLockingFailureException e) {
+                readAndSaveConflicts.incrementAndGet();
+            }
+        }, i -> {
+            BlogForm form = repository.findByIdAndIsDeletedFalse(id).orElseThrow();
+            form.setCountry("S" + i);
+            try {
+                repository.save(form);
+            } catch (OptimisticLockingFailureException e) {
+                readAndSaveConflicts.incrementAndGet();
+            }
+        });
+        long versionBefore = repository.findById(id).orElseThrow().getVersion();
+
+        run(i -> service.patch(id, description("patched " + i), null), i -> service.patch(id, country("P" + i), null));
+
+        log.info("concurrent updates on different fields: read+save rejected {} of {} writes, findAndModify rejected 0",
+                readAndSaveConflicts.get(), 2 * ITERATIONS);
+        BlogForm form = repository.findById(id).orElseThrow();
+        assertEquals("patched " + (ITERATIONS - 1), form.getDescription());
+        assertEquals("P" + (ITERATIONS - 1), form.getCountry());
+        assertEquals(versionBefore + 2L * ITERATIONS, form.getVersion());
+    }
+
+    @Test
+    void staleIfMatchVersionIsRejected() {
+        service.patch(id, description("first"), 0L);
+
+        assertThrows(PreconditionFailedException.class, () -> service.patch(id, description("second"), 0L));
+        assertEquals("first", repository.findById(id).orElseThrow().getDescription());
+    }
+
+    // Dos escritores concurrentes, cada uno sobre su propio campo
+    private static void run(IntConsumer first, IntConsumer second) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CompletableFuture<Void> a = CompletableFuture.runAsync(() -> repeat(start, first), executor);
+            CompletableFuture<Void> b = CompletableFuture.runAsync(() -> repeat(start, second), executor);
+            start.countDown();
+            CompletableFuture.allOf(a, b).get(1, TimeUnit.MINUTES);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void repeat(CountDownLatch start, IntConsumer writer) {
+        try {
+            start.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        for (int i = 0; i < ITERATIONS; i++) {
+            writer.accept(i);
+        }
+    }
+
+    private static String percentiles(long[] latencies) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        return String.format("p50=%dus p99=%dus", sorted[sorted.length / 2] / 1000, sorted[sorted.length * 99 / 100] / 1000);
+    }
+
+    private static BlogFormDTO description(String description) {
+        BlogFormDTO dto = new BlogFormDTO();
+        dto.setDescription(description);
+        return dto;
+    }
+
+    private static BlogFormDTO country(String country) {
+        BlogFormDTO dto = new BlogFormDTO();
+        dto.setCountry(country);
+        return dto;
+    }
+}
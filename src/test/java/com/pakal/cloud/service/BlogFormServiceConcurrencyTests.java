@@ -0,0 +1,152 @@
+package com.pakal.cloud.service;
+
+import com.pakal.cloud.dto.BlogFormDTO;
+import com.pakal.cloud.errors.ResourceConflictException;
+import com.pakal.cloud.model.BlogForm;
+import com.pakal.cloud.repository.BlogFormIndexManager;
+import com.pakal.cloud.repository.BlogFormRepository;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Slf4j
+@SpringBootTest(properties = "blog-form.indexes.ensure-on-startup=false")
+class BlogFormServiceConcurrencyTests {
+
+    private static final int ATTEMPTS = 2000;
+    private static final int THREADS = 32;
+    private static final int ITERATIONS = 1000;
+
+    private static final MongoServer MONGO = new MongoServer(new MemoryBackend());
+    private static final InetSocketAddress MONGO_ADDRESS = MONGO.bind();
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri",
+                () -> "mongodb://" + MONGO_ADDRESS.getHostString() + ":" + MONGO_ADDRESS.getPort() + "/blog_form_test");
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        MONGO.shutdownNow();
+    }
+
+    @Autowired
+    private BlogFormService service;
+
+    @Autowired
+    private BlogFormRepository repository;
+
+    @Autowired
+    private BlogFormIndexManager indexManager;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        indexManager.ensureIndexes();
+    }
+
+    @Test
+    void concurrentCreatesWithSameEmailLetExactlyOneWin() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        long[] latencies = new long[ATTEMPTS];
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < ATTEMPTS; i++) {
+                int attempt = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    long begin = System.nanoTime();
+                    try {
+                        service.create(form("same@example.com"));
+                        created.incrementAndGet();
+                    } catch (ResourceConflictException e) {
+                        conflicts.incrementAndGet();
+                    } finally {
+                        latencies[attempt] = System.nanoTime() - begin;
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Arrays.sort(latencies);
+        log.info("create latency over {} attempts: p50={}us p99={}us max={}us",
+                ATTEMPTS, latencies[ATTEMPTS / 2] / 1000, latencies[ATTEMPTS * 99 / 100] / 1000, latencies[ATTEMPTS - 1] / 1000);
+
+        assertEquals(1, created.get());
+        assertEquals(ATTEMPTS - 1, conflicts.get());
+        assertEquals(1, repository.count());
+    }
+
+    // Ruta anterior de create (existsByEmail + save) frente al insert único, con emails distintos
+    @Test
+    void createLatencyAgainstExistsAndSave() {
+        long[] existsAndSave = new long[ITERATIONS];
+        long[] insert = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long begin = System.nanoTime();
+            String email = "saved" + i + "@example.com";
+            if (!mongoTemplate.exists(Query.query(Criteria.where("email").is(email).and("isDeleted").is(false)), BlogForm.class)) {
+                repository.save(BlogFormService.newForm(form(email)));
+            }
+            existsAndSave[i] = System.nanoTime() - begin;
+
+            begin = System.nanoTime();
+            service.create(form("inserted" + i + "@example.com"));
+            insert[i] = System.nanoTime() - begin;
+        }
+
+        log.info("create latency over {} iterations: exists+save {}, insert {}",
+                ITERATIONS, percentiles(existsAndSave), percentiles(insert));
+        assertEquals(2L * ITERATIONS, repository.count());
+    }
+
+    private static String percentiles(long[] latencies) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        return String.format("p50=%dus p99=%dus", sorted[sorted.length / 2] / 1000, sorted[sorted.length * 99 / 100] / 1000);
+    }
+
+    private static BlogFormDTO form(String email) {
+        BlogFormDTO dto = new BlogFormDTO();
+        dto.setEmail(email);
+        dto.setFullName("Concurrent User");
+        dto.setCountry("MX");
+        return dto;
+    }
+}
@@ -0,0 +1,195 @@
+package com.pakal.cloud.service;
+
+import com.pakal.cloud.dto.BlogFormDTO;
+import com.pakal.cloud.dto.BlogFormFilter;
+import com.pakal.cloud.dto.BlogFormSummary;
+import com.pakal.cloud.errors.ResourceNotFoundException;
+import com.pakal.cloud.model.BlogForm;
+import com.pakal.cloud.model.BlogFormDailyStats;
+import com.pakal.cloud.repository.BlogFormIndexManager;
+import com.pakal.cloud.repository.BlogFormRepository;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import java.io.ByteArrayOutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Baja lógica: el registro sigue en blog_forms hasta el TTL, pero ninguna lectura de la API lo ve
+@SpringBootTest(properties = {
+    "blog-form.indexes.ensure-on-startup=false",
+    "blog-form.search.backfill-on-startup=false",
+    "blog-form.stats.reconcile-on-startup=false"
+})
+class BlogFormSoftDeleteTests {
+
+    private static final MongoServer MONGO = new MongoServer(new MemoryBackend());
+    private static final InetSocketAddress MONGO_ADDRESS = MONGO.bind();
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri",
+                () -> "mongodb://" + MONGO_ADDRESS.getHostString() + ":" + MONGO_ADDRESS.getPort() + "/blog_form_soft_delete_test");
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        MONGO.shutdownNow();
+    }
+
+    @Autowired
+    private BlogFormService service;
+
+    @Autowired
+    private BlogFormExportService exportService;
+
+    @Autowired
+    private BlogFormStatsService statsService;
+
+    @Autowired
+    private BlogFormRepository repository;
+
+    @Autowired
+    private BlogFormIndexManager indexManager;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private List<String> ids;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        mongoTemplate.remove(new Query(), BlogFormDailyStats.class);
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        indexManager.ensureIndexes();
+        ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(service.create(form("deleted" + i + "@example.com")).getId());
+        }
+    }
+
+    @Test
+    void deletedFormIsHiddenFromEveryReadPath() throws Exception {
+        String id = ids.get(1);
+        // En caché antes de la baja: la baja debe invalidarla
+        service.findById(id);
+        service.findAll(0, 10, "createdAt", "DESC");
+
+        service.delete(id);
+
+        assertThrows(ResourceNotFoundException.class, () -> service.findById(id));
+        assertThrows(ResourceNotFoundException.class, () -> service.findValidators(id));
+        assertEquals(live(), visible());
+        assertEquals(2, statsService.find("country", null, null, null).getTotal());
+
+        BlogForm stored = mongoTemplate.findById(id, BlogForm.class);
+        assertNotNull(stored);
+        assertTrue(stored.isDeleted());
+        assertNotNull(stored.getDeletedAt());
+    }
+
+    @Test
+    void restoreBringsTheFormBack() throws Exception {
+        String id = ids.get(1);
+        service.delete(id);
+
+        BlogForm restored = service.restore(id);
+
+        assertFalse(restored.isDeleted());
+        assertNull(restored.getDeletedAt());
+        assertEquals(id, service.findById(id).getId());
+        assertEquals(ids, visible());
+        assertEquals(3, statsService.find("country", null, null, null).getTotal());
+    }
+
+    @Test
+    void deletedFormCannotBeDeletedOrChangedAgain() {
+        String id = ids.get(0);
+        service.delete(id);
+
+        assertThrows(ResourceNotFoundException.class, () -> service.delete(id));
+        assertThrows(ResourceNotFoundException.class, () -> service.patch(id, description("changed"), null));
+        assertThrows(ResourceNotFoundException.class, () -> service.restore(ids.get(1)));
+        assertEquals(2, statsService.find("country", null, null, null).getTotal());
+    }
+
+    // El servidor en memoria no aplica los filtros parciales: aquí solo se comprueba la declaración
+    @Test
+    void lifecycleIndexesAreDeclared() {
+        List<IndexInfo> indexes = mongoTemplate.indexOps(BlogForm.class).getIndexInfo();
+
+        IndexInfo ttl = index(indexes, "deleted_ttl");
+        assertEquals(Duration.ofDays(30), ttl.getExpireAfter().orElseThrow());
+        IndexInfo email = index(indexes, "live_email_unique");
+        assertTrue(email.isUnique());
+        assertTrue(email.getPartialFilterExpression().contains("isDeleted"));
+    }
+
+    private List<String> live() {
+        return ids.stream().filter(id -> !id.equals(ids.get(1))).toList();
+    }
+
+    // Ids devueltos por cada ruta de lectura; todas deben coincidir
+    private List<String> visible() throws Exception {
+        List<String> byOffset = service.findAll(0, 10, "createdAt", "ASC").getContent().stream().map(BlogForm::getId).toList();
+        BlogFormFilter byCountry = new BlogFormFilter("MX", null, null, null);
+        assertEquals(byOffset, service.findByFilters(byCountry, 0, 10, "createdAt", "ASC").getContent().stream()
+                .map(BlogForm::getId).toList());
+        assertEquals(byOffset, service.findByFilters(new BlogFormFilter(null, "soft", null, null), 0, 10, "createdAt", "ASC")
+                .getContent().stream().map(BlogForm::getId).toList());
+        assertEquals(byOffset, service.findByCursor(new BlogFormFilter(), null, 10, "ASC").getContent().stream()
+                .map(BlogForm::getId).toList());
+        assertEquals(byOffset, service.findSummaries(new BlogFormFilter(), "summary", 0, 10, "createdAt", "ASC").getContent()
+                .stream().map(BlogFormSummary::getId).toList());
+
+        ByteArrayOutputStream export = new ByteArrayOutputStream();
+        assertEquals(byOffset.size(), exportService.export(new BlogFormFilter(), Sort.Direction.ASC, BlogFormExportService.Format.CSV, export));
+        String csv = export.toString(StandardCharsets.UTF_8);
+        byOffset.forEach(id -> assertTrue(csv.contains(id)));
+        return byOffset;
+    }
+
+    private static IndexInfo index(List<IndexInfo> indexes, String name) {
+        return indexes.stream().filter(index -> index.getName().equals(name)).findFirst()
+                .orElseThrow(() -> new AssertionError("Missing index " + name));
+    }
+
+    private static BlogFormDTO form(String email) {
+        BlogFormDTO dto = new BlogFormDTO();
+        dto.setEmail(email);
+        dto.setFullName("Soft Delete User");
+        dto.setCountry("MX");
+        return dto;
+    }
+
+    private static BlogFormDTO description(String description) {
+        BlogFormDTO dto = new BlogFormDTO();
+        dto.setDescription(description);
+        return dto;
+    }
+}
@@ -0,0 +1,203 @@
+package com.pakal.cloud.service;
+
+import com.pakal.cloud.dto.BlogFormDTO;
+import com.pakal.cloud.dto.BlogFormStats;
+import com.pakal.cloud.model.BlogForm;
+import com.pakal.cloud.model.BlogFormDailyStats;
+import com.pakal.cloud.repository.BlogFormRepository;
+import com.pakal.cloud.repository.BlogFormStatsRepository;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import java.net.InetSocketAddress;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Lectura de estadísticas desde los agregados frente a agregar blog_forms en cada petición
+@Slf4j
+@SpringBootTest(properties = {
+    "blog-form.indexes.ensure-on-startup=false",
+    "blog-form.search.backfill-on-startup=false",
+    "blog-form.stats.reconcile-on-startup=false"
+})
+class BlogFormStatsTests {
+
+    private static final int FORMS = 5000;
+    private static final int DAYS = 30;
+    private static final String[] COUNTRIES = {"MX", "AR", "CO", "CL", "PE"};
+    private static final int ITERATIONS = 100;
+
+    private static final MongoServer MONGO = new MongoServer(new MemoryBackend());
+    private static final InetSocketAddress MONGO_ADDRESS = MONGO.bind();
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri",
+                () -> "mongodb://" + MONGO_ADDRESS.getHostString() + ":" + MONGO_ADDRESS.getPort() + "/blog_form_stats_test");
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        MONGO.shutdownNow();
+    }
+
+    @Autowired
+    private BlogFormService service;
+
+    @Autowired
+    private BlogFormStatsService statsService;
+
+    @Autowired
+    private BlogFormStatsRepository statsRepository;
+
+    @Autowired
+    private BlogFormRepository repository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        mongoTemplate.remove(new Query(), BlogFormDailyStats.class);
+    }
+
+    @Test
+    void rollupsFollowCreateDeleteAndRestore() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            ids.add(service.create(form(i)).getId());
+        }
+        service.delete(ids.get(0));
+        service.delete(ids.get(1));
+        service.restore(ids.get(1));
+
+        BlogFormStats byCountry = statsService.find("country", null, null, null);
+        assertEquals(19, byCountry.getTotal());
+        assertEquals(statsRepository.countFromForms(), statsService.find("country,day", null, null, null).getBuckets());
+
+        // La reconciliación no cambia unos agregados correctos
+        statsRepository.rebuild();
+        assertEquals(byCountry, statsService.find("country", null, null, null));
+    }
+
+    @Test
+    void countryChangesMoveTheForm() {
+        String id = service.create(form(0)).getId();
+        BlogFormDTO other = form(0);
+        other.setCountry("AR");
+
+        BlogForm updated = service.update(id, other, null);
+        assertEquals("AR", updated.getCountry());
+        assertEquals(1L, updated.getVersion());
+        assertEquals(Map.of("AR", 1L), countByCountry());
+
+        service.patch(id, country("CL"), null);
+        assertEquals(Map.of("CL", 1L), countByCountry());
+
+        // Sin cambio de país (o sin escribirlo) los buckets no se tocan
+        service.patch(id, country("CL"), null);
+        BlogFormDTO description = new BlogFormDTO();
+        description.setDescription("changed");
+        service.patch(id, description, null);
+        assertEquals(Map.of("CL", 1L), countByCountry());
+        assertEquals(statsRepository.countFromForms(), statsService.find("country,day", null, null, null).getBuckets());
+    }
+
+    // La respuesta se construye con el documento anterior y los valores escritos: debe coincidir con lo guardado
+    @Test
+    void countryWriteReturnsTheStoredForm() {
+        String id = service.create(form(0)).getId();
+        BlogFormDTO other = form(1);
+        other.setDescription("moved");
+
+        BlogForm updated = service.update(id, other, 0L);
+        assertEquals(repository.findById(id).orElseThrow(), updated);
+        assertEquals(1L, updated.getVersion());
+
+        BlogFormDTO patch = country("CL");
+        patch.setFullName("Renamed User");
+        BlogForm patched = service.patch(id, patch, 1L);
+        assertEquals(repository.findById(id).orElseThrow(), patched);
+        assertEquals(2L, patched.getVersion());
+        assertEquals("moved", patched.getDescription());
+    }
+
+    @Test
+    void rollupReadsAgainstAggregatingForms() {
+        seed();
+        statsRepository.rebuild();
+
+        long[] fromForms = measure(() -> statsRepository.countFromForms());
+        long[] fromRollups = measure(() -> statsService.find("country,day", null, null, null));
+
+        log.info("stats over {} forms ({} buckets): aggregating blog_forms {}, reading rollups {}",
+                FORMS, COUNTRIES.length * DAYS, percentiles(fromForms), percentiles(fromRollups));
+        assertEquals(statsRepository.countFromForms(), statsService.find("country,day", null, null, null).getBuckets());
+        assertEquals(FORMS, statsService.find("country", null, null, null).getTotal());
+    }
+
+    // Documentos repartidos en varios días: se insertan directamente, como los anteriores a los agregados
+    private void seed() {
+        List<BlogForm> forms = new ArrayList<>(FORMS);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < FORMS; i++) {
+            BlogForm form = BlogFormService.newForm(form(i));
+            form.setCreatedAt(now.minusDays(i % DAYS));
+            forms.add(form);
+        }
+        repository.insertBatch(forms, false);
+    }
+
+    private static long[] measure(Supplier<?> read) {
+        long[] latencies = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long begin = System.nanoTime();
+            read.get();
+            latencies[i] = System.nanoTime() - begin;
+        }
+        return latencies;
+    }
+
+    private static String percentiles(long[] latencies) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        return String.format("p50=%dus p99=%dus", sorted[sorted.length / 2] / 1000, sorted[sorted.length * 99 / 100] / 1000);
+    }
+
+    // Los buckets a cero no se devuelven
+    private Map<String, Long> countByCountry() {
+        return statsService.find("country", null, null, null).getBuckets().stream()
+                .collect(Collectors.toMap(BlogFormStats.Bucket::getCountry, BlogFormStats.Bucket::getCount));
+    }
+
+    private static BlogFormDTO country(String country) {
+        BlogFormDTO dto = new BlogFormDTO();
+        dto.setCountry(country);
+        return dto;
+    }
+
+    private static BlogFormDTO form(int i) {
+        BlogFormDTO dto = new BlogFormDTO();
+        dto.setEmail("stats" + i + "@example.com");
+        dto.setFullName("Stats User " + i);
+        dto.setCountry(COUNTRIES[i % COUNTRIES.length]);
+        return dto;
+    }
+}